@@ -1,18 +1,31 @@
 package etu.simonzo.competition.competitions;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.fixtures.Fixture;
 import etu.simonzo.competition.match.Match;
 import etu.simonzo.competition.match.MatchOutcome;
+import etu.simonzo.competition.observer.dispatch.EventDispatcher;
+import etu.simonzo.competition.observer.dispatch.SynchronousEventDispatcher;
 import etu.simonzo.competition.observer.event.CompetitionEndEvent;
 import etu.simonzo.competition.observer.event.CompetitionStartEvent;
 import etu.simonzo.competition.observer.event.GroupsFormedEvent;
 import etu.simonzo.competition.observer.event.MatchEvent;
 import etu.simonzo.competition.observer.event.QualifiedCompetitorsSelectedEvent;
+import etu.simonzo.competition.observer.event.RoundStartedEvent;
 import etu.simonzo.competition.observer.event.TournamentPhaseStartedEvent;
 import etu.simonzo.competition.observer.listener.CompetitionListener;
 import etu.simonzo.competition.ranking.RankingHandler;
@@ -42,7 +55,8 @@ import etu.simonzo.competition.ranking.RankingHandler;
  *   <li>when the competition ends</li>
  *   <li>when a match is played</li>
  *   <li>and <strong>potentially</strong> when some intermediate event happens
- *   in the middle of the competition</li>
+ *   in the middle of the competition (groups formed, tournament phase or
+ *   round started, ...)</li>
  * </ul>
  */
 public abstract class Competition<T extends Competitor> {
@@ -53,6 +67,8 @@ public abstract class Competition<T extends Competitor> {
         this.rankingHandler = handler;
         this.listeners = new ArrayList<>();
         this.identifier = id;
+        this.eventDispatcher = SynchronousEventDispatcher.getInstance();
+        this.maxInFlight = 0;
     }
 
     /**
@@ -61,13 +77,32 @@ public abstract class Competition<T extends Competitor> {
      * play against which competitor ?)  Matches between competitors are played.
      * The final ranking ({@link Competition#ranking()} of each competitor can
      * be provided after the call to this method.
-     * <strong>This method should not be called more than once. Else the
-     * behaviour is undefined</strong>
+     * Once every match is played, this method waits until every event has
+     * been delivered to the listeners (see
+     * {@link Competition#setEventDispatcher}) before returning.
+     * <strong>This method should not be called more than once, unless
+     * {@link Competition#reset()} is called in between. Else the behaviour is
+     * undefined</strong>
      */
     public void play() {
         fireCompetitionStarted();
         this.play(this.competitors);
         fireCompetitionEnded(ranking());
+        this.eventDispatcher.awaitDrained();
+    }
+
+    /**
+     * Forget the matches played by a previous call to
+     * {@link Competition#play()}, so that this competition can be played again
+     * from its beginning, between the same competitors, without being
+     * constructed anew (eg. to play it many times in a simulation). Listeners
+     * and settings are kept. The ranking handler is cleared (see
+     * {@link RankingHandler#clear()}).
+     * @throws UnsupportedOperationException if the ranking handler of this
+     * competition cannot be cleared
+     */
+    public void reset() {
+        this.rankingHandler.clear();
     }
 
     /**
@@ -108,6 +143,24 @@ public abstract class Competition<T extends Competitor> {
         return this.match;
     }
 
+    /**
+     * Play a batch of independent matches with the match "rule" of this
+     * competition (see {@link Match#playAll}), without notifying listeners
+     * nor updating the ranking.
+     * @param fixtures matches to play
+     * @return the outcomes of the matches, in the order of the list
+     * @throws IllegalStateException if the match "rule" does not give exactly
+     * one outcome by match
+     */
+    protected MatchOutcome[] playBatch(List<Fixture<T>> fixtures) {
+        MatchOutcome[] outcomes = this.match.playAll(fixtures);
+        if (outcomes.length != fixtures.size()) {
+            throw new IllegalStateException("Expected " + fixtures.size()
+                                            + " outcomes, got " + outcomes.length);
+        }
+        return outcomes;
+    }
+
     /**
      * Return the list of competitors involved in the competition, and
      * registered on instanciation
@@ -118,13 +171,177 @@ public abstract class Competition<T extends Competitor> {
     }
 
     /**
-     * Return the ranking handler instance associated with this competition
+     * Return the ranking handler instance associated with this competition,
+     * so that what it computes besides the ranking (eg. the rankings under
+     * other point schemes of a {@link
+     * etu.simonzo.competition.ranking.MultiSchemeRankingHandler}) can be read.
+     * Results must not be added to it from outside the competition. A
+     * {@link Master} does not use its own handler: its leagues and its
+     * tournament have their own.
      * @return Ranking handler used to rank competitors
      */
-    protected RankingHandler<T> getRankingHandler() {
+    public RankingHandler<T> getRankingHandler() {
         return this.rankingHandler;
     }
 
+    /**
+     * Set the executor used to play matches concurrently. Competitions which
+     * support concurrent play use it to spread their matches across several
+     * threads, the others simply ignore it. When an executor is set, the match
+     * "rule" must be safe to call from several threads at once. Listeners are
+     * still notified from the thread which called {@link Competition#play()},
+     * in the same order as in a sequential run.
+     * By default, no executor is set and every match is played on the thread
+     * which called {@link Competition#play()}.
+     * <strong>This method should be called before
+     * {@link Competition#play()}</strong>
+     * @param executor the executor used to play matches, or <code>null</code>
+     * to play them sequentially
+     */
+    public void setExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Return the executor used to play matches concurrently
+     * @return the executor used to play matches, or <code>null</code> if
+     * matches are played sequentially
+     */
+    protected ExecutorService getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * Set the number of independent matches kept in flight, for match "rules"
+     * which play matches asynchronously (see {@link Match#playAsync}).
+     * Competitions which support pipelined play start that many matches
+     * without waiting for their outcomes, and start a new one each time the
+     * oldest one is over; the others simply ignore it. Outcomes are still
+     * recorded, and listeners notified, in the same order as in a sequential
+     * run, so the final ranking does not depend on the order in which matches
+     * end. Pipelined play takes precedence over the executor (see
+     * {@link Competition#setExecutor}), which is then not used to play
+     * matches.
+     * By default, no match is kept in flight: matches are played with
+     * {@link Match#playAll}.
+     * <strong>This method should be called before
+     * {@link Competition#play()}</strong>
+     * @param maxInFlight maximum number of matches in flight, or
+     * <code>0</code> not to play matches asynchronously
+     * @throws IllegalArgumentException iff <code>maxInFlight</code> is
+     * negative
+     */
+    public void setMaxInFlight(int maxInFlight) {
+        if (maxInFlight < 0) {
+            throw new IllegalArgumentException("maxInFlight is negative");
+        }
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Return the number of independent matches kept in flight
+     * @return the maximum number of matches in flight, or <code>0</code> if
+     * matches are not played asynchronously
+     */
+    protected int getMaxInFlight() {
+        return this.maxInFlight;
+    }
+
+    /**
+     * Play independent matches asynchronously, keeping at most
+     * {@link Competition#getMaxInFlight()} of them in flight, and give their
+     * outcomes to <code>record</code> on the calling thread, in the order of
+     * the fixtures. This method returns once every outcome is recorded. If a
+     * match fails, the matches still in flight are cancelled (as far as the
+     * match "rule" allows it) and the failure is rethrown.
+     * @param fixtures matches to play, which do not depend on each other
+     * @param record what to do with the outcome of each match
+     * @throws IllegalStateException if the current thread is interrupted while
+     * waiting for an outcome
+     */
+    protected void playPipelined(Iterator<Fixture<T>> fixtures,
+                                 BiConsumer<Fixture<T>, MatchOutcome> record) {
+        int window = Math.max(1, this.maxInFlight);
+        Deque<Fixture<T>> started = new ArrayDeque<>();
+        Deque<CompletableFuture<MatchOutcome>> inFlight = new ArrayDeque<>();
+        try {
+            while (fixtures.hasNext() || !inFlight.isEmpty()) {
+                while (fixtures.hasNext() && inFlight.size() < window) {
+                    Fixture<T> fixture = fixtures.next();
+                    started.add(fixture);
+                    inFlight.add(this.match.playAsync(fixture.getCompetitor1(),
+                                                      fixture.getCompetitor2()));
+                }
+                MatchOutcome outcome = await(inFlight.poll());
+                record.accept(started.poll(), outcome);
+            }
+        } finally {
+            for (CompletableFuture<MatchOutcome> future : inFlight) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Set the dispatcher which delivers the events of this competition to its
+     * listeners. By default, events are delivered synchronously, by the thread
+     * which emits them (see {@link SynchronousEventDispatcher}). With an
+     * {@link etu.simonzo.competition.observer.dispatch.AsyncEventDispatcher},
+     * listeners are called from another thread, so that slow listeners do not
+     * slow down the matches; match events may then be discarded, depending on
+     * the overflow policy of the dispatcher, but the other events never are.
+     * <strong>This method should be called before
+     * {@link Competition#play()}</strong>
+     * @param eventDispatcher the dispatcher which delivers events
+     * @throws IllegalArgumentException iff <code>eventDispatcher</code> is
+     * <code>null</code>
+     */
+    public void setEventDispatcher(EventDispatcher eventDispatcher) {
+        if (eventDispatcher == null) {
+            throw new IllegalArgumentException("eventDispatcher is null");
+        }
+        this.eventDispatcher = eventDispatcher;
+    }
+
+    /**
+     * Return the dispatcher which delivers the events of this competition to
+     * its listeners
+     * @return the dispatcher which delivers events
+     */
+    protected EventDispatcher getEventDispatcher() {
+        return this.eventDispatcher;
+    }
+
+    /**
+     * Wait for the given task to complete and return its result. An unchecked
+     * exception thrown by the task is rethrown as is, so that a concurrent run
+     * fails the same way as a sequential one. This method is shared with
+     * whatever plays competitions concurrently (eg.
+     * {@link etu.simonzo.competition.simulation.MonteCarloSimulation}).
+     * @param <V> type of the result of the task
+     * @param future the task to wait for
+     * @return the result of the task
+     * @throws IllegalStateException if the current thread is interrupted while
+     * waiting, or if the task failed with a checked exception
+     */
+    public static <V> V await(Future<V> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for matches", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
     /**
      * Add a listener that will observe this competition's "state change".
      * @param listener the listener that will be notified
@@ -174,9 +391,7 @@ public abstract class Competition<T extends Competitor> {
     protected void fireMatchPlayed(T c1, T c2, MatchOutcome outcome) {
        List<CompetitionListener<T>> listenersCopy = List.copyOf(this.listeners);
        MatchEvent<T> event = new MatchEvent<>(this, c1, c2, outcome);
-       for (CompetitionListener<T> l: listenersCopy) {
-           l.matchPlayed(event);
-       }
+       this.dispatch(listenersCopy, l -> l.matchPlayed(event), true);
     }
 
     /**
@@ -189,9 +404,7 @@ public abstract class Competition<T extends Competitor> {
         List<CompetitionListener<T>> listenersCopy = List.copyOf(this.listeners);
         CompetitionStartEvent<T> event =
                 new CompetitionStartEvent<>(this, this.identifier, this.getCompetitors());
-        for (CompetitionListener<T> l: listenersCopy) {
-            l.competitionStarted(event);
-        }
+        this.dispatch(listenersCopy, l -> l.competitionStarted(event), false);
     }
 
     /**
@@ -206,9 +419,7 @@ public abstract class Competition<T extends Competitor> {
         List<CompetitionListener<T>> listenersCopy = List.copyOf(this.listeners);
         CompetitionEndEvent<T> event =
                 new CompetitionEndEvent<>(this, this.identifier, scores);
-        for (CompetitionListener<T> l: listenersCopy) {
-            l.competitionEnded(event);
-        }
+        this.dispatch(listenersCopy, l -> l.competitionEnded(event), false);
     }
 
     /**
@@ -224,9 +435,7 @@ public abstract class Competition<T extends Competitor> {
         List<CompetitionListener<T>> listenersCopy = List.copyOf(this.listeners);
         GroupsFormedEvent<T> event =
                 new GroupsFormedEvent<>(this, groups);
-        for (CompetitionListener<T> l: listenersCopy) {
-            l.groupsFormed(event);
-        }
+        this.dispatch(listenersCopy, l -> l.groupsFormed(event), false);
     }
 
     /**
@@ -243,9 +452,7 @@ public abstract class Competition<T extends Competitor> {
         List<CompetitionListener<T>> listenersCopy = List.copyOf(this.listeners);
         QualifiedCompetitorsSelectedEvent<T> event =
                 new QualifiedCompetitorsSelectedEvent<>(this, qualified, scores);
-        for (CompetitionListener<T> l: listenersCopy) {
-            l.qualifiedCompetitorsSelected(event);
-        }
+        this.dispatch(listenersCopy, l -> l.qualifiedCompetitorsSelected(event), false);
     }
 
     /**
@@ -264,9 +471,43 @@ public abstract class Competition<T extends Competitor> {
         List<CompetitionListener<T>> listenersCopy = List.copyOf(this.listeners);
         TournamentPhaseStartedEvent<T> event =
                 new TournamentPhaseStartedEvent<>(this, phase);
-        for (CompetitionListener<T> l: listenersCopy) {
-            l.tournamentPhaseStarted(event);
-        }
+        this.dispatch(listenersCopy, l -> l.tournamentPhaseStarted(event), false);
+    }
+
+    /**
+     * Create and spread a
+     * {@link etu.simonzo.competition.observer.event.RoundStartedEvent}
+     * to every listeners of this competition. That event represents the
+     * information that a round of this competition started, i.e matches
+     * concerning that round will be soon played.
+     * @param round the number of the round, from <code>1</code> to
+     * <code>nbRounds</code>
+     * @param nbRounds the total number of rounds of this competition
+     */
+    protected void fireRoundStartedEvent(int round, int nbRounds) {
+        List<CompetitionListener<T>> listenersCopy = List.copyOf(this.listeners);
+        RoundStartedEvent<T> event =
+                new RoundStartedEvent<>(this, round, nbRounds);
+        this.dispatch(listenersCopy, l -> l.roundStarted(event), false);
+    }
+
+    /**
+     * Hand the delivery of an event to the listeners over to the event
+     * dispatcher of this competition.
+     * @param listeners the listeners to notify, copied when the event was
+     * emitted
+     * @param delivery the call to make on each listener
+     * @param discardable whether the delivery may be discarded by the
+     * dispatcher
+     */
+    private void dispatch(List<CompetitionListener<T>> listeners,
+                          Consumer<CompetitionListener<T>> delivery,
+                          boolean discardable) {
+        this.eventDispatcher.dispatch(() -> {
+            for (CompetitionListener<T> l: listeners) {
+                delivery.accept(l);
+            }
+        }, discardable);
     }
 
     /** Match rule used for each confrontation of competitors */
@@ -287,4 +528,19 @@ public abstract class Competition<T extends Competitor> {
      * An identifier of this competition. (should be unique)
      */
     protected String identifier;
+
+    /**
+     * Executor used to play matches concurrently, <code>null</code> if
+     * matches are played sequentially
+     */
+    private ExecutorService executor;
+
+    /** Dispatcher delivering the events of this competition to its listeners */
+    private EventDispatcher eventDispatcher;
+
+    /**
+     * Maximum number of matches played asynchronously at the same time,
+     * <code>0</code> if matches are not played asynchronously
+     */
+    private int maxInFlight;
 }
@@ -1,26 +1,62 @@
 package etu.simonzo.competition.competitions;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
 
 import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.fixtures.Fixture;
+import etu.simonzo.competition.fixtures.FixtureSource;
+import etu.simonzo.competition.fixtures.RoundBasedFixtureSource;
 import etu.simonzo.competition.match.Match;
 import etu.simonzo.competition.match.MatchOutcome;
-import etu.simonzo.competition.ranking.SimpleRankingHandler;
+import etu.simonzo.competition.ranking.HeadToHeadIndex;
+import etu.simonzo.competition.ranking.IndexedRankingHandler;
+import etu.simonzo.competition.ranking.RankingHandler;
+import etu.simonzo.competition.ranking.RankingHandlerFactory;
 import etu.simonzo.competition.ranking.SimpleResult;
+import etu.simonzo.competition.strategies.retention.KeepAllRetentionStrategy;
+import etu.simonzo.competition.strategies.retention.RetentionStrategy;
+import etu.simonzo.competition.strategies.schedule.RoundTripSchedulingStrategy;
+import etu.simonzo.competition.strategies.schedule.SchedulingStrategy;
 
 /**
  * A competition in which every competitor faces each opponent twice. At the end
  * of the competition, the competitor with the most victories wins. The class
  * is parameterized by a sub-type of the Competitor class, because the Match
- * singleton used depends on the type of Competitor
+ * singleton used depends on the type of Competitor. The order in which matches
+ * are played is given by a {@link SchedulingStrategy}.
  * @param <T> A Competitor sub-type
  */
 public class League<T extends Competitor> extends Competition<T> {
+    /**
+     * Number of consecutive fixtures of the schedule played by one task, when
+     * an executor is used
+     */
+    private static final int CHUNK_SIZE = 1024;
+
+    /** Number of threads expected to play matches, when an executor is used */
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Maximum number of chunks of the schedule played concurrently but not yet
+     * recorded, when an executor is used
+     */
+    private static final int MAX_PENDING_CHUNKS = 4 * PARALLELISM;
+
+    /** Strategy which determines the order in which matches are played */
+    private SchedulingStrategy schedule;
+
     /**
      * Construct a league defined by a match singleton and a list of
      * competitors. The match object is used the determine the outcome of every
      * game. The number of points associated to match outcomes are used to
-     * construct the ranking after the competition is played
+     * construct the ranking after the competition is played. Matches are
+     * scheduled by a {@link RoundTripSchedulingStrategy}.
      * @param match Match singleton which determines games outcomes
      * @param competitors List of competitors
      * @param id an string identifier for this competition. Should be unique, otherwise,
@@ -34,33 +70,261 @@ public class League<T extends Competitor> extends Competition<T> {
                   List<T> competitors,
                   String id,
                   int victoryPoints, int defeatPoints, int tiePoints) {
+        this(match, competitors, id, new RoundTripSchedulingStrategy(),
+             victoryPoints, defeatPoints, tiePoints);
+    }
+
+    /**
+     * Construct a league defined by a match singleton, a list of competitors
+     * and a scheduling strategy. The match object is used the determine the
+     * outcome of every game. The scheduling strategy determines the order in
+     * which games are played. The number of points associated to match
+     * outcomes are used to construct the ranking after the competition is
+     * played
+     * @param match Match singleton which determines games outcomes
+     * @param competitors List of competitors
+     * @param id an string identifier for this competition. Should be unique, otherwise,
+     * undefined behavior may occurs
+     * @param schedule Strategy which determines the order of the matches. It
+     * must schedule each competitor against each opponent twice.
+     * @param victoryPoints Number of points awarded for a victory
+     * @param defeatPoints Number of points awarded for a defeat
+     * @param tiePoints Number of points awarded to each competitor in case of a
+     * tie
+     */
+    public League(Match<T> match,
+                  List<T> competitors,
+                  String id,
+                  SchedulingStrategy schedule,
+                  int victoryPoints, int defeatPoints, int tiePoints) {
+        this(match, competitors, id, schedule, new KeepAllRetentionStrategy(),
+             victoryPoints, defeatPoints, tiePoints);
+    }
+
+    /**
+     * Construct a league defined by a match singleton, a list of competitors,
+     * a scheduling strategy and a retention strategy. The match object is used
+     * the determine the outcome of every game. The scheduling strategy
+     * determines the order in which games are played. The retention strategy
+     * determines which results are kept by the ranking handler of the league:
+     * a league of <code>n</code> competitors plays <code>n * (n - 1)</code>
+     * matches, whose results may not fit in memory. The number of points
+     * associated to match outcomes are used to construct the ranking after the
+     * competition is played
+     * @param match Match singleton which determines games outcomes
+     * @param competitors List of competitors
+     * @param id an string identifier for this competition. Should be unique, otherwise,
+     * undefined behavior may occurs
+     * @param schedule Strategy which determines the order of the matches. It
+     * must schedule each competitor against each opponent twice.
+     * @param retention Strategy which determines which results are kept
+     * @param victoryPoints Number of points awarded for a victory
+     * @param defeatPoints Number of points awarded for a defeat
+     * @param tiePoints Number of points awarded to each competitor in case of a
+     * tie
+     */
+    public League(Match<T> match,
+                  List<T> competitors,
+                  String id,
+                  SchedulingStrategy schedule,
+                  RetentionStrategy retention,
+                  int victoryPoints, int defeatPoints, int tiePoints) {
+        this(match, competitors, id, schedule, RankingHandlerFactory.indexed(retention),
+             victoryPoints, defeatPoints, tiePoints);
+    }
+
+    /**
+     * Construct a league defined by a match singleton, a list of competitors,
+     * a scheduling strategy and a factory of ranking handlers. The match
+     * object is used the determine the outcome of every game. The scheduling
+     * strategy determines the order in which games are played. The factory
+     * builds the ranking handler of the league (eg.
+     * {@link RankingHandlerFactory#leaderboard()} keeps the standings sorted
+     * while the league is played). The number of points associated to match
+     * outcomes are given to the ranking handler
+     * @param match Match singleton which determines games outcomes
+     * @param competitors List of competitors
+     * @param id an string identifier for this competition. Should be unique, otherwise,
+     * undefined behavior may occurs
+     * @param schedule Strategy which determines the order of the matches. It
+     * must schedule each competitor against each opponent twice.
+     * @param handlers Factory building the ranking handler of the league
+     * @param victoryPoints Number of points awarded for a victory
+     * @param defeatPoints Number of points awarded for a defeat
+     * @param tiePoints Number of points awarded to each competitor in case of a
+     * tie
+     */
+    public League(Match<T> match,
+                  List<T> competitors,
+                  String id,
+                  SchedulingStrategy schedule,
+                  RankingHandlerFactory<T> handlers,
+                  int victoryPoints, int defeatPoints, int tiePoints) {
         super(match,
               competitors,
-              new SimpleRankingHandler<T>(competitors, victoryPoints, defeatPoints, tiePoints),
+              handlers.create(competitors, victoryPoints, defeatPoints, tiePoints),
               id);
+        this.schedule = schedule;
+    }
+
+    /**
+     * Start recording the outcomes of the matches between each pair of
+     * competitors, as the league is played, so that ties in the ranking can
+     * be broken by head-to-head results. It must be called before the league
+     * is played (or after it is reset); calling it again returns the same
+     * record.
+     * @return the record of the matches between the competitors, filled as
+     * the matches of the league are played
+     * @throws IllegalStateException if the ranking handler of the league
+     * cannot record head-to-head outcomes (ie. it is not an
+     * {@link IndexedRankingHandler}), or if matches were already played
+     */
+    public HeadToHeadIndex<T> trackHeadToHead() {
+        RankingHandler<T> handler = this.getRankingHandler();
+        if (!(handler instanceof IndexedRankingHandler)) {
+            throw new IllegalStateException("The ranking handler cannot record head-to-head outcomes");
+        }
+        return ((IndexedRankingHandler<T>) handler).trackHeadToHead();
     }
 
     /**
      * Play the matches between the competitors. Matches are organized in a
      * round trip fashion, where each competitor meets with every other
      * competitor twice. If the list has <code>n</code> elements, then
-     * <code>n * (n - 1)</code> matches are played. The competitors are paired
-     * using the following rule : given 3 competitors A, B, C and the list
+     * <code>n * (n - 1)</code> matches are played. Matches are played in the
+     * order of the schedule given by the scheduling strategy of this league.
+     * With the default strategy, given 3 competitors A, B, C and the list
      * [A, B, C], then the played matches are (A, B), (A, C), (B, A), (B, C),
      * (C, A), (C, B)
+     * If the schedule is split into rounds (see
+     * {@link RoundBasedFixtureSource}), a
+     * {@link etu.simonzo.competition.observer.event.RoundStartedEvent} is
+     * emitted before the matches of each round.
+     * If an executor was set (see {@link Competition#setExecutor}), matches
+     * are played concurrently, but the final ranking and the order in which
+     * listeners are notified are the same as in a sequential run. With a
+     * schedule split into rounds, only the matches of the same round are played
+     * concurrently: a round is over before the next one starts. The same goes
+     * for matches kept in flight (see {@link Competition#setMaxInFlight}): every
+     * fixture of the league (or of a round) is independent, so any of them may
+     * be in flight at the same time.
      * @param competitors List of competitors enlisted to play
      */
     protected void play(List<T> competitors) {
-        int i = 0;
-        for (T c1 : competitors) {
-            int j = 0;
-            for (T c2 : competitors) {
-                if (i != j) {
-                    this.playMatch(c1, c2);
+        FixtureSource<T> fixtures = this.schedule.schedule(competitors);
+        if (fixtures instanceof RoundBasedFixtureSource) {
+            RoundBasedFixtureSource<T> rounds = (RoundBasedFixtureSource<T>) fixtures;
+            int nbRounds = rounds.getNbRounds();
+            for (int round = 0; round < nbRounds; round++) {
+                fireRoundStartedEvent(round + 1, nbRounds);
+                this.playFixtures(fixtures, rounds.getRoundStart(round),
+                                  rounds.getRoundStart(round + 1));
+            }
+        } else {
+            this.playFixtures(fixtures, 0, fixtures.size());
+        }
+    }
+
+    /**
+     * Play the fixtures of the given schedule, from position <code>from</code>
+     * (inclusive) to position <code>to</code> (exclusive), in order. The range
+     * is cut in chunks of at most {@link League#CHUNK_SIZE} consecutive
+     * fixtures, each one given at once to the match "rule" (see
+     * {@link Match#playAll}), then recorded. If an executor was set, they are
+     * played concurrently (see {@link League#playConcurrently}). If matches
+     * are kept in flight (see {@link Competition#setMaxInFlight}), they are
+     * started asynchronously instead, and recorded in order as they end.
+     * @param fixtures the schedule to play
+     * @param from position of the first fixture to play
+     * @param to position following the last fixture to play
+     */
+    private void playFixtures(FixtureSource<T> fixtures, long from, long to) {
+        if (this.getMaxInFlight() > 0) {
+            this.playPipelined(LongStream.range(from, to).mapToObj(fixtures::get).iterator(),
+                               (fixture, outcome) -> this.recordMatch(
+                                   fixture.getCompetitor1(), fixture.getCompetitor2(), outcome));
+            return;
+        }
+        if (this.getExecutor() != null) {
+            this.playConcurrently(fixtures, from, to, this.getExecutor());
+            return;
+        }
+        for (long start = from; start < to; start += CHUNK_SIZE) {
+            this.recordChunk(fixtures, start,
+                             this.playChunk(fixtures, start, Math.min(to, start + CHUNK_SIZE)));
+        }
+    }
+
+    /**
+     * Play the fixtures of the given schedule, from position <code>from</code>
+     * (inclusive) to position <code>to</code> (exclusive), in the same order as
+     * {@link League#playFixtures}, but spread them across the given executor.
+     * The range is cut in chunks of at most {@link League#CHUNK_SIZE}
+     * consecutive fixtures, small enough so that every thread gets some work,
+     * and each task plays one chunk. Chunks are then recorded on the calling
+     * thread one after the other, in the order of the schedule: listeners
+     * receive the match events in that order, and the ranking is updated in
+     * that order. So, for a deterministic match, the final ranking is
+     * identical to the one of a sequential run. At most
+     * {@link League#MAX_PENDING_CHUNKS} chunks are waiting to be recorded at
+     * the same time, which bounds the memory used to hold outcomes. This
+     * method returns once every fixture of the range is recorded, so a round
+     * played with this method is over before the next one starts.
+     * @param fixtures the schedule to play
+     * @param from position of the first fixture to play
+     * @param to position following the last fixture to play
+     * @param executor executor used to play the chunks
+     */
+    private void playConcurrently(FixtureSource<T> fixtures, long from, long to,
+                                  ExecutorService executor) {
+        long chunkSize = Math.max(1, Math.min(CHUNK_SIZE, (to - from + PARALLELISM - 1) / PARALLELISM));
+        Deque<Future<MatchOutcome[]>> pending = new ArrayDeque<>();
+        long submitted = from;
+        try {
+            for (long start = from; start < to; start += chunkSize) {
+                while (submitted < to && pending.size() < MAX_PENDING_CHUNKS) {
+                    final long chunkFrom = submitted;
+                    final long chunkTo = Math.min(to, chunkFrom + chunkSize);
+                    pending.add(executor.submit(() -> this.playChunk(fixtures, chunkFrom, chunkTo)));
+                    submitted = chunkTo;
                 }
-                j++;
+                this.recordChunk(fixtures, start, await(pending.poll()));
+            }
+        } finally {
+            for (Future<MatchOutcome[]> future : pending) {
+                future.cancel(true);
             }
-            i++;
+        }
+    }
+
+    /**
+     * Play the fixtures of a chunk of the schedule as one batch, without
+     * notifying listeners nor updating the ranking. This method may be called
+     * from any thread.
+     * @param fixtures the schedule
+     * @param from position of the first fixture of the chunk
+     * @param to position following the last fixture of the chunk
+     * @return the outcomes of the chunk, in the order of the schedule
+     */
+    private MatchOutcome[] playChunk(FixtureSource<T> fixtures, long from, long to) {
+        List<Fixture<T>> chunk = new ArrayList<>((int) (to - from));
+        for (long i = from; i < to; i++) {
+            chunk.add(fixtures.get(i));
+        }
+        return this.playBatch(chunk);
+    }
+
+    /**
+     * Record the outcomes of a chunk of the schedule, as returned by
+     * {@link League#playChunk}.
+     * @param fixtures the schedule
+     * @param from position of the first fixture of the chunk
+     * @param outcomes the outcomes of the chunk, in the order of the schedule
+     */
+    private void recordChunk(FixtureSource<T> fixtures, long from, MatchOutcome[] outcomes) {
+        for (int k = 0; k < outcomes.length; k++) {
+            Fixture<T> fixture = fixtures.get(from + k);
+            this.recordMatch(fixture.getCompetitor1(), fixture.getCompetitor2(), outcomes[k]);
         }
     }
 
@@ -69,6 +333,17 @@ public class League<T extends Competitor> extends Competition<T> {
      */
     protected void playMatch(T c1, T c2) {
         MatchOutcome outcome = this.getMatch().playWith(c1, c2);
+        this.recordMatch(c1, c2, outcome);
+    }
+
+    /**
+     * Notify listeners that a match was played, then take its outcome into
+     * account in the ranking.
+     * @param c1 First competitor
+     * @param c2 Second competitor
+     * @param outcome outcome of the match between the competitors
+     */
+    private void recordMatch(T c1, T c2, MatchOutcome outcome) {
         fireMatchPlayed(c1, c2, outcome);
         this.updateRanking(c1, c2, outcome);
     }
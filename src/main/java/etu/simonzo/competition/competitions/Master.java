@@ -1,13 +1,18 @@
 package etu.simonzo.competition.competitions;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import etu.simonzo.competition.competitors.Competitor;
 import etu.simonzo.competition.match.Match;
 import etu.simonzo.competition.observer.listener.CompetitionListener;
-import etu.simonzo.competition.ranking.SimpleRankingHandler;
+import etu.simonzo.competition.observer.listener.EventRecorder;
+import etu.simonzo.competition.ranking.IndexedRankingHandler;
+import etu.simonzo.competition.ranking.RankingHandlerFactory;
 import etu.simonzo.competition.strategies.filter.FilteringStrategy;
 import etu.simonzo.competition.strategies.group.GroupingStrategy;
+import etu.simonzo.competition.strategies.schedule.RoundTripSchedulingStrategy;
 import etu.simonzo.competition.strategies.sort.SortingStrategy;
 
 /**
@@ -67,6 +72,26 @@ import etu.simonzo.competition.strategies.sort.SortingStrategy;
  *   for each phase.
  *   </li>
  * </ul>
+ *
+ * <p>
+ * If an executor was set (see {@link Competition#setExecutor}), the leagues of
+ * the group phase are played concurrently on it, since groups share no state.
+ * The events of each league are then delivered to the listeners group after
+ * group, in the order of the groups, from the thread which called
+ * {@link Competition#play()}. So listeners receive exactly the same sequence
+ * of events as in a sequential run: the
+ * {@link etu.simonzo.competition.observer.event.GroupsFormedEvent} first, then
+ * all the events of the first group (starting with its
+ * {@link etu.simonzo.competition.observer.event.CompetitionStartEvent}), then
+ * all the events of the second group, and so on. The tournament phase is
+ * played sequentially.
+ * </p>
+ *
+ * <p>
+ * The event dispatcher of a master (see
+ * {@link Competition#setEventDispatcher}) also delivers the events of its
+ * leagues and of its tournament, so that listeners receive them in order.
+ * </p>
  * @param <T> Sub-type of Competitor
  */
 public class Master<T extends Competitor> extends Competition<T> {
@@ -94,11 +119,42 @@ public class Master<T extends Competitor> extends Competition<T> {
     public Master(Match<T> match, List<T> competitors, String id,
                   GroupingStrategy gstrat, FilteringStrategy fstrat, SortingStrategy sstrat,
                   int victoryPoints, int defeatPoints, int tiePoints) {
+        this(match, competitors, id, gstrat, fstrat, sstrat, RankingHandlerFactory.indexed(),
+             victoryPoints, defeatPoints, tiePoints);
+    }
+
+    /**
+     * Create a master defined by an instance of match, a list of competitors,
+     * a grouping strategy, a filtering strategy, a sorting strategy and a
+     * factory of ranking handlers. The factory builds the ranking handler of
+     * each league of the first phase, and of the tournament of the second
+     * phase.
+     * @param match Match object used to determine the outcome of matches
+     * @param competitors List of competitors enlisted to play in the master
+     * @param id an string identifier for this competition. Should be unique, otherwise,
+     * undefined behavior may occurs
+     * @param gstrat Strategy which determines how competitors are split into
+     * groups for the first phase of the master
+     * @param fstrat Strategy which determines which competitors are qualified
+     * to enter the tournament phase following the group phase
+     * @param sstrat Strategy which determines the order in which qualified
+     * competitors are enlisted in the tournament phase
+     * @param handlers Factory building the ranking handlers of the phases
+     * @param victoryPoints Number of points awarded for a victory
+     * @param defeatPoints Number of points awarded for a defeat
+     * @param tiePoints Number of points awarded to each competitor in case of a
+     * tie
+     */
+    public Master(Match<T> match, List<T> competitors, String id,
+                  GroupingStrategy gstrat, FilteringStrategy fstrat, SortingStrategy sstrat,
+                  RankingHandlerFactory<T> handlers,
+                  int victoryPoints, int defeatPoints, int tiePoints) {
         super(match, competitors,
               // this ranking handler is unused, because points are handled by
               // the sub-phases of the master
-              new SimpleRankingHandler<T>(competitors, victoryPoints, defeatPoints, tiePoints),
+              new IndexedRankingHandler<T>(competitors, victoryPoints, defeatPoints, tiePoints),
               id);
+        this.handlers = handlers;
         this.gstrat = gstrat;
         this.fstrat = fstrat;
         this.sstrat = sstrat;
@@ -137,6 +193,18 @@ public class Master<T extends Competitor> extends Competition<T> {
         throw new UnsupportedOperationException("Master#playMatch is unsupported");
     }
 
+    /**
+     * Forget the leagues and the tournament played by a previous call to
+     * {@link Competition#play()}. They are created anew by the next one.
+     * {@link etu.simonzo.competition.competitions.Competition#reset}
+     */
+    public void reset() {
+        super.reset();
+        this.leagues = null;
+        this.tournament = null;
+        this.groupCounter = 0;
+    }
+
     /**
      * Return the ranking of the tournament phase of the master.
      * <strong>This method should only be called after a call to
@@ -186,13 +254,22 @@ public class Master<T extends Competitor> extends Competition<T> {
         // Create leagues
         for (List<T> group : groups) {
             League<T> league = new League<>(
-                this.getMatch(), group, generateGroupId(), this.victoryPoints, this.defeatPoints, this.tiePoints);
+                this.getMatch(), group, generateGroupId(), new RoundTripSchedulingStrategy(),
+                this.handlers, this.victoryPoints, this.defeatPoints, this.tiePoints);
+            league.setMaxInFlight(getMaxInFlight());
             this.leagues.add(league);
         }
-        subscribeListenersToLeagues();
         // Play all matches in each league
-        for (League<T> league : this.leagues) {
-            league.play();
+        if (this.getExecutor() != null) {
+            this.playLeaguesConcurrently(this.getExecutor());
+        } else {
+            for (League<T> league : this.leagues) {
+                league.setEventDispatcher(getEventDispatcher());
+            }
+            subscribeListenersToLeagues();
+            for (League<T> league : this.leagues) {
+                league.play();
+            }
         }
         // Collect rankings
         Collection<Map<T, Integer>> rankings = new ArrayList<>();
@@ -202,6 +279,35 @@ public class Master<T extends Competitor> extends Competition<T> {
         return rankings;
     }
 
+    /**
+     * Play every league of the <code>leagues</code> attribute as a task of the
+     * given executor. Each league is observed by its own recorder instead of
+     * the listeners of this master; once a league is over, its recorded events
+     * are replayed to the listeners of this master, in the order of the
+     * leagues, through the event dispatcher of this master.
+     * @param executor executor used to play the leagues
+     */
+    private void playLeaguesConcurrently(ExecutorService executor) {
+        List<Future<EventRecorder<T>>> pending = new ArrayList<>();
+        for (League<T> league : this.leagues) {
+            pending.add(executor.submit(() -> {
+                EventRecorder<T> recorder = new EventRecorder<>();
+                league.addCompetitionListener(recorder);
+                league.play();
+                return recorder;
+            }));
+        }
+        try {
+            for (Future<EventRecorder<T>> future : pending) {
+                await(future).replayTo(List.copyOf(getListeners()), getEventDispatcher());
+            }
+        } finally {
+            for (Future<EventRecorder<T>> future : pending) {
+                future.cancel(true);
+            }
+        }
+    }
+
     private int groupCounter = 0;
     /**
      * Generate an unique identifier for a league for each call
@@ -245,8 +351,10 @@ public class Master<T extends Competitor> extends Competition<T> {
     private void playSecondPhase(List<T> qualifiedCompetitors) {
         String id = String.format("%s-> Tournament", this.identifier);
         this.tournament = new Tournament<T>(
-            this.getMatch(), qualifiedCompetitors, id,
+            this.getMatch(), qualifiedCompetitors, id, this.handlers,
             this.victoryPoints, this.defeatPoints, this.tiePoints);
+        this.tournament.setEventDispatcher(getEventDispatcher());
+        this.tournament.setMaxInFlight(getMaxInFlight());
         subscribeListenersToTournament();
         this.tournament.play();
     }
@@ -268,6 +376,9 @@ public class Master<T extends Competitor> extends Competition<T> {
     /** Tournament corresponding to the second phase */
     private Tournament<T> tournament;
 
+    /** Factory building the ranking handlers of the leagues and tournament */
+    private RankingHandlerFactory<T> handlers;
+
     /** Strategy to split competitors into groups */
     private GroupingStrategy gstrat;
 
@@ -0,0 +1,282 @@
+package etu.simonzo.competition.competitions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.fixtures.Fixture;
+import etu.simonzo.competition.match.Match;
+import etu.simonzo.competition.match.MatchOutcome;
+import etu.simonzo.competition.ranking.RankingHandlerFactory;
+import etu.simonzo.competition.ranking.SimpleResult;
+import etu.simonzo.competition.util.LongHashSet;
+
+/**
+ * A competition played in a fixed number of rounds, following the Swiss
+ * system. In each round, every competitor plays at most one match, against an
+ * opponent with a score as close as possible to its own, and which it has not
+ * met yet. So, far fewer matches than in a {@link League} are needed to rank
+ * many competitors. At the end of the competition, the competitor with the
+ * most points wins.
+ * A {@link etu.simonzo.competition.observer.event.RoundStartedEvent} is
+ * emitted before the matches of each round.
+ * @param <T> A Competitor sub-type
+ */
+public class SwissSystem<T extends Competitor> extends Competition<T> {
+
+    /** Number of rounds played */
+    private int nbRounds;
+
+    /**
+     * Construct a Swiss-system competition defined by a match singleton, a
+     * list of competitors and a number of rounds. The match object is used the
+     * determine the outcome of every game. The number of points associated to
+     * match outcomes are used to pair competitors between rounds, and to
+     * construct the ranking after the competition is played.
+     * @param match Match singleton which determines games outcomes
+     * @param competitors List of competitors. Their order in the list is their
+     * seed: it breaks ties between competitors with the same score when
+     * pairing them.
+     * @param id an string identifier for this competition. Should be unique, otherwise,
+     * undefined behavior may occurs
+     * @param nbRounds Number of rounds to play
+     * @param victoryPoints Number of points awarded for a victory
+     * @param defeatPoints Number of points awarded for a defeat
+     * @param tiePoints Number of points awarded to each competitor in case of a
+     * tie
+     * @throws IllegalArgumentException iff <code>nbRounds</code> is not
+     * positive
+     */
+    public SwissSystem(Match<T> match,
+                       List<T> competitors,
+                       String id,
+                       int nbRounds,
+                       int victoryPoints, int defeatPoints, int tiePoints) {
+        this(match, competitors, id, nbRounds, RankingHandlerFactory.indexed(),
+             victoryPoints, defeatPoints, tiePoints);
+    }
+
+    /**
+     * Construct a Swiss-system competition defined by a match singleton, a
+     * list of competitors, a number of rounds and a factory of ranking
+     * handlers. The factory builds the ranking handler of the competition,
+     * which is given the number of points associated to match outcomes, and
+     * whose scores are used to pair competitors between rounds.
+     * @param match Match singleton which determines games outcomes
+     * @param competitors List of competitors. Their order in the list is their
+     * seed: it breaks ties between competitors with the same score when
+     * pairing them.
+     * @param id an string identifier for this competition. Should be unique, otherwise,
+     * undefined behavior may occurs
+     * @param nbRounds Number of rounds to play
+     * @param handlers Factory building the ranking handler of the competition
+     * @param victoryPoints Number of points awarded for a victory
+     * @param defeatPoints Number of points awarded for a defeat
+     * @param tiePoints Number of points awarded to each competitor in case of a
+     * tie
+     * @throws IllegalArgumentException iff <code>nbRounds</code> is not
+     * positive
+     */
+    public SwissSystem(Match<T> match,
+                       List<T> competitors,
+                       String id,
+                       int nbRounds,
+                       RankingHandlerFactory<T> handlers,
+                       int victoryPoints, int defeatPoints, int tiePoints) {
+        super(match,
+              competitors,
+              handlers.create(competitors, victoryPoints, defeatPoints, tiePoints),
+              id);
+        if (nbRounds <= 0) {
+            throw new IllegalArgumentException("nbRounds must be positive");
+        }
+        this.nbRounds = nbRounds;
+    }
+
+    /**
+     * Play the rounds of the competition. Before each round, competitors are
+     * sorted by decreasing score, ties being broken by their position in the
+     * list. Then, from the top of this order, each competitor which is not
+     * paired yet is paired with the next unpaired competitor in the order that
+     * it has not met yet. So competitors are paired inside their score group,
+     * and the ones left over float down to the next group. If the last two
+     * unpaired competitors have already met, they exchange opponents with a
+     * pair formed earlier in the round when this avoids a rematch; otherwise,
+     * the rematch is played. The competitor ranked higher plays as the first
+     * competitor of the match. The matches of a round are given at once to
+     * the match "rule" (see {@link Match#playAll}), or kept in flight if
+     * {@link Competition#setMaxInFlight} was called.
+     * With an odd number of competitors, the lowest ranked competitor which has
+     * not been left out yet does not play in the round (it gets a bye), and
+     * earns no points. A competitor gets a second bye only once every
+     * competitor got one.
+     * Sorting dominates the cost of pairing, so each round costs about
+     * <code>O(n log n)</code> operations: opponents already met are looked up
+     * in a hash set of primitive values, and the scan for an opponent usually
+     * stops after a few candidates.
+     * @param competitors List of competitors enlisted to play
+     */
+    protected void play(List<T> competitors) {
+        int n = competitors.size();
+        LongHashSet met = new LongHashSet(this.nbRounds * (n / 2));
+        boolean[] hadBye = new boolean[n];
+        int nbByes = 0;
+        for (int round = 0; round < this.nbRounds; round++) {
+            fireRoundStartedEvent(round + 1, this.nbRounds);
+            int[] order = this.sortByScore(competitors);
+            int[] next = new int[n + 1];
+            int[] previous = new int[n + 1];
+            for (int k = 0; k <= n; k++) {
+                next[k] = (k + 1) % (n + 1);
+                previous[k] = (k + n) % (n + 1);
+            }
+            if (n % 2 == 1) {
+                if (nbByes == n) {
+                    Arrays.fill(hadBye, false);
+                    nbByes = 0;
+                }
+                int bye = n - 1;
+                while (hadBye[order[bye]]) {
+                    bye--;
+                }
+                hadBye[order[bye]] = true;
+                nbByes++;
+                unlink(next, previous, bye);
+            }
+            int[][] pairs = new int[n / 2][];
+            int nbPairs = 0;
+            while (next[n] != n) {
+                int first = next[n];
+                unlink(next, previous, first);
+                int second = next[n];
+                while (second != n && met.contains(pairKey(order[first], order[second]))) {
+                    second = next[second];
+                }
+                if (second == n) {
+                    second = next[n];
+                    unlink(next, previous, second);
+                    pairs[nbPairs] = repair(pairs, nbPairs, first, second, order, met);
+                } else {
+                    unlink(next, previous, second);
+                    pairs[nbPairs] = new int[] {first, second};
+                }
+                nbPairs++;
+            }
+            List<Fixture<T>> fixtures = new ArrayList<>(pairs.length);
+            for (int[] pair : pairs) {
+                int first = Math.min(pair[0], pair[1]);
+                int second = Math.max(pair[0], pair[1]);
+                met.add(pairKey(order[first], order[second]));
+                fixtures.add(new Fixture<>(competitors.get(order[first]),
+                                           competitors.get(order[second])));
+            }
+            if (this.getMaxInFlight() > 0) {
+                this.playPipelined(fixtures.iterator(), (fixture, outcome) -> this.recordMatch(
+                                       fixture.getCompetitor1(), fixture.getCompetitor2(), outcome));
+            } else {
+                MatchOutcome[] outcomes = this.playBatch(fixtures);
+                for (int k = 0; k < outcomes.length; k++) {
+                    this.recordMatch(fixtures.get(k).getCompetitor1(),
+                                     fixtures.get(k).getCompetitor2(), outcomes[k]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Try to avoid a rematch between two competitors which are the last ones
+     * left unpaired, by exchanging opponents with a pair already formed in the
+     * round, the most recent one first. If no exchange avoids every rematch,
+     * the pairs formed so far are left unchanged and the rematch is played.
+     * @param pairs pairs of positions formed so far in the round
+     * @param nbPairs number of pairs formed so far in the round
+     * @param first position of a competitor left unpaired
+     * @param second position of the other competitor left unpaired, which has
+     * already met <code>first</code>
+     * @param order positions in the list of the competitors, in sorted order
+     * @param met keys of the matches already played
+     * @return the last pair of the round
+     */
+    private static int[] repair(int[][] pairs, int nbPairs, int first, int second,
+                                int[] order, LongHashSet met) {
+        for (int p = nbPairs - 1; p >= 0; p--) {
+            for (int side = 0; side < 2; side++) {
+                int x = pairs[p][side];
+                int y = pairs[p][1 - side];
+                if (!met.contains(pairKey(order[first], order[x]))
+                    && !met.contains(pairKey(order[second], order[y]))) {
+                    pairs[p] = new int[] {x, first};
+                    return new int[] {y, second};
+                }
+            }
+        }
+        return new int[] {first, second};
+    }
+
+    /**
+     * Sort the competitors by decreasing score, then by increasing position in
+     * the list. Scores and positions are packed together in primitive keys, so
+     * that sorting does not box nor compare competitors.
+     * @param competitors List of competitors enlisted to play
+     * @return the positions in the list of the competitors, in sorted order
+     */
+    private int[] sortByScore(List<T> competitors) {
+        Map<T, Integer> scores = this.getRankingHandler().getRanking();
+        int n = competitors.size();
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            long score = scores.get(competitors.get(i));
+            keys[i] = (score << 32) | (Integer.MAX_VALUE - i);
+        }
+        Arrays.sort(keys);
+        int[] order = new int[n];
+        for (int k = 0; k < n; k++) {
+            order[k] = Integer.MAX_VALUE - (int) keys[n - 1 - k];
+        }
+        return order;
+    }
+
+    /**
+     * Remove a position from the circular doubly linked list of unpaired
+     * positions, whose head is the sentinel <code>next.length - 1</code>.
+     * @param next following position of each position
+     * @param previous preceding position of each position
+     * @param position position to remove
+     */
+    private static void unlink(int[] next, int[] previous, int position) {
+        next[previous[position]] = next[position];
+        previous[next[position]] = previous[position];
+    }
+
+    /**
+     * Give the key of a match between two competitors in the set of matches
+     * already played, whatever the order of the competitors.
+     * @param i position in the list of a competitor
+     * @param j position in the list of the other competitor
+     * @return key of the pair of competitors
+     */
+    private static long pairKey(int i, int j) {
+        return ((long) Math.min(i, j) << 32) | Math.max(i, j);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected void playMatch(T c1, T c2) {
+        this.recordMatch(c1, c2, this.getMatch().playWith(c1, c2));
+    }
+
+    /**
+     * Notify listeners that a match was played, then take its outcome into
+     * account in the ranking.
+     * @param c1 First competitor
+     * @param c2 Second competitor
+     * @param outcome outcome of the match between the competitors
+     */
+    private void recordMatch(T c1, T c2, MatchOutcome outcome) {
+        fireMatchPlayed(c1, c2, outcome);
+        this.getRankingHandler().addResult(new SimpleResult<T>(c1, c2, outcome));
+    }
+}
@@ -1,14 +1,17 @@
 package etu.simonzo.competition.competitions;
 
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.IntStream;
 
 import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.fixtures.Fixture;
 import etu.simonzo.competition.match.Match;
 import etu.simonzo.competition.match.MatchOutcome;
-import etu.simonzo.competition.ranking.SimpleRankingHandler;
+import etu.simonzo.competition.ranking.RankingHandlerFactory;
 import etu.simonzo.competition.ranking.SimpleResult;
 
 /**
@@ -22,9 +25,16 @@ import etu.simonzo.competition.ranking.SimpleResult;
  */
 public class Tournament<T extends Competitor> extends Competition<T> {
     /**
-     * the number of points the winner of a match gets
+     * Default number of competitors under which a subtree of the bracket is
+     * played as a single task, when an executor is used
      */
-    private int victoryPoints;
+    public static final int DEFAULT_LEAF_SIZE = 256;
+
+    /**
+     * Number of competitors under which a subtree of the bracket is played as
+     * a single task, when an executor is used
+     */
+    private int leafSize;
 
     /**
      * Construct a tournament defined by a match singleton and a list of
@@ -46,13 +56,40 @@ public class Tournament<T extends Competitor> extends Competition<T> {
     public Tournament(Match<T> match, List<T> competitors, String id,
                       int victoryPoints, int defeatPoints, int tiePoints)
         throws IllegalArgumentException {
+        this(match, competitors, id, RankingHandlerFactory.indexed(),
+             victoryPoints, defeatPoints, tiePoints);
+    }
+
+    /**
+     * Construct a tournament defined by a match singleton, a list of
+     * competitors and a factory of ranking handlers. The match object is used
+     * the determine the outcome of every game. The factory builds the ranking
+     * handler of the tournament, which is given the number of points
+     * associated to match outcomes
+     * @param match Match singleton which determines games outcomes
+     * @param competitors List of competitors. The length of this list must be
+     * a power of two
+     * @param id an string identifier for this competition. Should be unique, otherwise,
+     * undefined behavior may occurs
+     * @param handlers Factory building the ranking handler of the tournament
+     * @param victoryPoints Number of points awarded for a victory
+     * @param defeatPoints Number of points awarded for a defeat
+     * @param tiePoints Number of points awarded to each competitor in case of a
+     * tie
+     * @throws IllegalArgumentException iff the number of competitors is not a
+     * power of two
+     */
+    public Tournament(Match<T> match, List<T> competitors, String id,
+                      RankingHandlerFactory<T> handlers,
+                      int victoryPoints, int defeatPoints, int tiePoints)
+        throws IllegalArgumentException {
 
         super(match, competitors,
-              new SimpleRankingHandler<T>(competitors, victoryPoints, defeatPoints, tiePoints), id);
+              handlers.create(competitors, victoryPoints, defeatPoints, tiePoints), id);
         if(! isPowerOfTwo(competitors.size())) {
             throw new IllegalArgumentException("competitors'size should be a power of two");
         }
-        this.victoryPoints = victoryPoints;
+        this.leafSize = DEFAULT_LEAF_SIZE;
     }
 
     /**
@@ -66,119 +103,223 @@ public class Tournament<T extends Competitor> extends Competition<T> {
      * the tournament is then represented by the following list :
      * [winner(A, B), winner(C, D)].
      *
-     * How it works ? It plays matches in the initial round (..., eighth final,
-     * quarter-final, semi-final, final). The set of competitors which advance
-     * to the next round is those who have won <code>z</code> times in total
-     * since the beginning of the tournament, with <code> z = 1 </code> here.
-     * In the next round "r", the required number of victory to advance to the
-     * next round (of "r") is <code>z + 1</code>. And so on and so on ... until
-     * the competition is over (when the final round has been played).
+     * How it works ? The bracket is kept in a flat array of indices in the
+     * list of competitors, laid out as a complete binary tree: the
+     * <code>n</code> leaves (cells <code>n</code> to <code>2n - 1</code>) hold
+     * the competitors in the order of the list, and each inner cell
+     * <code>k</code> receives the winner of the match between the winners of
+     * cells <code>2k</code> and <code>2k + 1</code>. A round is a level of
+     * that tree: the first round fills cells <code>n/2</code> to
+     * <code>n - 1</code>, the next one cells <code>n/4</code> to
+     * <code>n/2 - 1</code>, and so on until cell <code>1</code> holds the winner
+     * of the final. The winner of each match is taken from its outcome, so the
+     * whole tournament is played in <code>O(n)</code>.
+     *
+     * If an executor was set (see {@link Competition#setExecutor}), the two
+     * halves of each part of the bracket are played as independent tasks, down
+     * to subtrees of {@link Tournament#setLeafSize leaf size} competitors which
+     * are played sequentially, and the match of a cell is played as soon as
+     * its two halves are over. So no round waits for the whole previous round
+     * to be over. Once the final is played, listeners are notified and the
+     * ranking is updated on the calling thread, round after round, in the same
+     * order as in a sequential run: each phase is announced once, before any
+     * match of that phase is reported.
+     *
+     * If matches are kept in flight (see {@link Competition#setMaxInFlight}),
+     * the matches of a round, which are independent, are started
+     * asynchronously, and recorded in the order of the bracket as they end.
+     * A round is over before the next one starts.
      *
      * Let's give an example:
      * Let's have the list of participant of the tournament: [A, B, C, D, E, F, G, H]
      * <ol>
      *  <li>the initial round here is the quarter-final, and played match are
-     * (A, B), (C, D) (E, F) and (G, H), the number of victories required to
-     * advance to the next round (which is the semi-final)  is 1
+     * (A, B), (C, D) (E, F) and (G, H)
      *  </li>
-     *  <li>in the quarter final, the played matches are (winner of A vs B,
-     * winner of C vs D), (winner of E vs F, winner of G vs H) and the number of
-     * victories required to advance to the next round (which is the final) is 2
+     *  <li>in the semi-final, the played matches are (winner of A vs B,
+     * winner of C vs D), (winner of E vs F, winner of G vs H)
      *  </li>
-     *  <li>...</li>
-     *  <li>At the end, the winner of the tournament is the competitor which has
-     * won 3 times in total since the beginning of the competition
+     *  <li>in the final, the winners of the two semi-finals play against each
+     * other, and the winner of that match wins the tournament
      *  </li>
      * </ol>
      *
      * @param competitors List of competitors enlisted to play. Its length must
      * be a power of two
+     * @throws IllegalStateException if a match ends with a tie, since nobody
+     * could advance to the next round
      */
     protected void play(List<T> competitors) {
-        this.play(competitors, 0, 1);
+        List<T> players = new ArrayList<>(competitors);
+        int n = players.size();
+        int[] bracket = new int[2 * n];
+        for (int i = 0; i < n; i++) {
+            bracket[n + i] = i;
+        }
+        MatchOutcome[] outcomes = new MatchOutcome[n];
+        // Pipelined play takes precedence over the executor, as in League
+        if (this.getMaxInFlight() > 0) {
+            for (int first = n / 2; first >= 1; first /= 2) {
+                fireTournamentPhaseStartedEvent(first);
+                this.playCellsPipelined(players, bracket, outcomes, first, 2 * first);
+            }
+            return;
+        }
+        if (this.getExecutor() != null && n > 1) {
+            await(this.playSubtree(players, bracket, outcomes, 1, n, this.getExecutor()));
+            for (int first = n / 2; first >= 1; first /= 2) {
+                fireTournamentPhaseStartedEvent(first);
+                for (int node = first; node < 2 * first; node++) {
+                    this.recordNode(players, bracket, outcomes, node);
+                }
+            }
+            return;
+        }
+        for (int first = n / 2; first >= 1; first /= 2) {
+            fireTournamentPhaseStartedEvent(first);
+            this.playCells(players, bracket, outcomes, first, 2 * first);
+            for (int node = first; node < 2 * first; node++) {
+                this.recordNode(players, bracket, outcomes, node);
+            }
+        }
     }
 
     /**
-     * Play the matches between competitors until a final winner is determined.
-     * How it works ? It plays matches in the initial round (a round is ...,
-     * eighth final, quarter-final, semi-final, final). The set of competitors
-     * which advance to the next round is those who have won
-     * <code>nbVictory + winRequiredInEachStep</code> in total since the
-     * beginning of the tournament. Then play the matches between competitors
-     * who made to the next round. And so on, and so on until the tournament is
-     * over (when the final round has been played).
-     *
-     * Let's give an example:
-     * Let's have the list of competitors: [A, B, C, D, E, F, G, H] with
-     * <code>nbVictory=3, winRequiredInEachStep=1</code> for example
-     * <ol>
-     *  <li>the initial round here is the quarter-final, and played match are
-     * (A, B), (C, D) (E, F) and (G, H), the number of victories required to
-     * advance to the next round (which is the semi-final) is 4
-     * (<code>nbVictory + winRequiredInEachStep</code>).
-     *  </li>
-     *  <li>in the semi-final, the played matches are (winner of A vs B, winner
-     * of C vs D), (winner of E vs F, winner of G vs H) and the number of
-     * victories required to advance to the next round (which is the final) is 5
-     * (<code>nbVictory + winRequiredInEachStep + 1</code>)
-     *  </li>
-     *  <li> in the final, the played match is ((winner of A vs B) vs (winner of
-     * C vs D)) , (winner of(winner of E vs F) vs (winner of G vs H)). This next
-     * round is special because there are only 2 competitors left so there is not
-     * a next round anymore and the winner of the competition is determined.
-     * Let's note that the total number of victories of the final's winner is
-     * then 6 (<code>nbVictory + winRequiredInEachStep + 1 + 1</code>).
-     *  </li>
-     * </ol>
-     * This methods is used an helper for {@link Tournament#play(List)}.
-     *
-     * @param competitors competitors that will play against each other.
-     * @param nbVictory total number of victory (since the beginning of the
-     * tournament) of the competitors that are playing in the initial round
-     * @param winRequiredInEachStep number of wins a competitor need to get in
-     * the initial round to advance to the next round
+     * Set the number of competitors under which a subtree of the bracket is
+     * played as a single task, when an executor is used (see
+     * {@link Competition#setExecutor}). Smaller values give more
+     * parallelism, larger values less scheduling overhead. The default value
+     * is {@link Tournament#DEFAULT_LEAF_SIZE}.
+     * @param leafSize number of competitors of the subtrees played
+     * sequentially
+     * @throws IllegalArgumentException iff <code>leafSize</code> is not
+     * strictly positive
      */
-    private void play(List<T> competitors, int nbVictory, int winRequiredInEachStep) {
-        int n = competitors.size();
-        if (n == 1) {
-            // there is nothing to do
-            // the winner is the only competitor in the list
+    public void setLeafSize(int leafSize) {
+        if (leafSize <= 0) {
+            throw new IllegalArgumentException("leafSize is not strictly positive");
         }
-        else {
-            fireTournamentPhaseStartedEvent(n / 2);
-            Iterator<T> competitorsIterator = competitors.iterator();
-            for (int i = 0; i < n / 2; i++) {
-                T c1, c2;
-                c1 = competitorsIterator.next();
-                c2 = competitorsIterator.next();
-                this.playMatch(c1, c2);
-            }
-
-            // filtering the competitors which won in this round
-            Map<T, Integer> currentRanking = this.getRankingHandler().getRanking();
+        this.leafSize = leafSize;
+    }
 
-            List<T> victoriousCompetitors = new LinkedList<>();
-            for (T competitor: this.getCompetitors()) {
-                if(
-                    currentRanking.get(competitor) ==
-                    (nbVictory + winRequiredInEachStep) * this.victoryPoints
-                ) {
-                    victoriousCompetitors.add(competitor);
-                }
-            }
+    /**
+     * Play all the matches of the subtree rooted at the given cell of the
+     * bracket, as tasks of the given executor. If the subtree is small enough,
+     * it is played as a single task. Else its two halves are played as
+     * independent subtrees, and the match of the root cell is played once
+     * both are over. Listeners are not notified, and the ranking is not
+     * updated.
+     * @param players List of competitors enlisted to play
+     * @param bracket the bracket, as described in {@link Tournament#play(List)}
+     * @param outcomes outcome of the match of each cell of the bracket
+     * @param node index of the root cell of the subtree
+     * @param leaves number of competitors in the subtree
+     * @param executor executor used to play the subtree
+     * @return a future completed once every match of the subtree is played
+     */
+    private CompletableFuture<Void> playSubtree(List<T> players, int[] bracket,
+                                                MatchOutcome[] outcomes, int node,
+                                                int leaves, ExecutorService executor) {
+        if (leaves <= this.leafSize) {
+            return CompletableFuture.runAsync(() -> {
+                    for (int width = leaves / 2; width >= 1; width /= 2) {
+                        this.playCells(players, bracket, outcomes,
+                                       node * width, (node + 1) * width);
+                    }
+                }, executor);
+        }
+        CompletableFuture<Void> left =
+            this.playSubtree(players, bracket, outcomes, 2 * node, leaves / 2, executor);
+        CompletableFuture<Void> right =
+            this.playSubtree(players, bracket, outcomes, 2 * node + 1, leaves / 2, executor);
+        return left.thenAcceptBothAsync(
+            right, (l, r) -> this.playCells(players, bracket, outcomes, node, node + 1), executor);
+    }
 
-            // play the next round
-            this.play(victoriousCompetitors,
-                      nbVictory + winRequiredInEachStep,
-                      winRequiredInEachStep);
+    /**
+     * Play the matches of consecutive cells of the same level of the bracket,
+     * i.e the matches between the winners of their children cells, as one
+     * batch (see {@link Match#playAll}), and put the winners in these cells.
+     * Listeners are not notified, and the ranking is not updated.
+     * @param players List of competitors enlisted to play
+     * @param bracket the bracket, as described in {@link Tournament#play(List)}
+     * @param outcomes outcome of the match of each cell of the bracket
+     * @param from index of the first cell whose match is played
+     * @param to index following the last cell whose match is played
+     * @throws IllegalStateException if a match ends with a tie
+     */
+    private void playCells(List<T> players, int[] bracket, MatchOutcome[] outcomes,
+                           int from, int to) {
+        List<Fixture<T>> fixtures = new ArrayList<>(to - from);
+        for (int node = from; node < to; node++) {
+            fixtures.add(new Fixture<>(players.get(bracket[2 * node]),
+                                       players.get(bracket[2 * node + 1])));
+        }
+        MatchOutcome[] played = this.playBatch(fixtures);
+        for (int node = from; node < to; node++) {
+            MatchOutcome outcome = played[node - from];
+            outcomes[node] = outcome;
+            bracket[node] = winnerOf(bracket[2 * node], bracket[2 * node + 1], outcome);
         }
     }
 
+    /**
+     * Play the matches of consecutive cells of the same level of the bracket
+     * asynchronously, keeping several of them in flight (see
+     * {@link Competition#setMaxInFlight}), put the winners in these cells,
+     * and record each match in the order of the cells.
+     * @param players List of competitors enlisted to play
+     * @param bracket the bracket, as described in {@link Tournament#play(List)}
+     * @param outcomes outcome of the match of each cell of the bracket
+     * @param from index of the first cell whose match is played
+     * @param to index following the last cell whose match is played
+     * @throws IllegalStateException if a match ends with a tie
+     */
+    private void playCellsPipelined(List<T> players, int[] bracket, MatchOutcome[] outcomes,
+                                    int from, int to) {
+        Iterator<Fixture<T>> fixtures = IntStream.range(from, to)
+            .mapToObj(node -> new Fixture<>(players.get(bracket[2 * node]),
+                                            players.get(bracket[2 * node + 1])))
+            .iterator();
+        int[] next = {from};
+        this.playPipelined(fixtures, (fixture, outcome) -> {
+                int node = next[0]++;
+                outcomes[node] = outcome;
+                bracket[node] = winnerOf(bracket[2 * node], bracket[2 * node + 1], outcome);
+                this.recordNode(players, bracket, outcomes, node);
+            });
+    }
+
+    /**
+     * Notify listeners of the match of the given cell of the bracket, and
+     * take its outcome into account in the ranking.
+     * @param players List of competitors enlisted to play
+     * @param bracket the bracket, as described in {@link Tournament#play(List)}
+     * @param outcomes outcome of the match of each cell of the bracket
+     * @param node index of the cell whose match is recorded
+     */
+    private void recordNode(List<T> players, int[] bracket, MatchOutcome[] outcomes, int node) {
+        this.recordMatch(players.get(bracket[2 * node]),
+                         players.get(bracket[2 * node + 1]),
+                         outcomes[node]);
+    }
+
     /**
      * {@inheritDoc}
      */
     protected void playMatch(T c1, T c2) {
         MatchOutcome outcome = this.getMatch().playWith(c1, c2);
+        this.recordMatch(c1, c2, outcome);
+    }
+
+    /**
+     * Notify listeners that a match was played, then take its outcome into
+     * account in the ranking.
+     * @param c1 First competitor
+     * @param c2 Second competitor
+     * @param outcome outcome of the match between the competitors
+     */
+    private void recordMatch(T c1, T c2, MatchOutcome outcome) {
         fireMatchPlayed(c1, c2, outcome);
         this.updateRanking(c1, c2, outcome);
     }
@@ -197,6 +338,26 @@ public class Tournament<T extends Competitor> extends Competition<T> {
             new SimpleResult<T>(competitor1, competitor2, outcome));
     }
 
+    /**
+     * Give the winner of a match, given the outcome of that match.
+     * @param i1 index of the first competitor of the match
+     * @param i2 index of the second competitor of the match
+     * @param outcome outcome of the match
+     * @return <code>i1</code> if the first competitor won, <code>i2</code> if
+     * the second one won
+     * @throws IllegalStateException if the match ended with a tie
+     */
+    private static int winnerOf(int i1, int i2, MatchOutcome outcome) {
+        switch (outcome) {
+        case FIRST_PLAYER_WIN:
+            return i1;
+        case SECOND_PLAYER_WIN:
+            return i2;
+        default:
+            throw new IllegalStateException("A match of a tournament cannot end with a tie");
+        }
+    }
+
     /**
      * @param n the number to check if is a power of two
      * @return true iff <code>n</code> is a power of two
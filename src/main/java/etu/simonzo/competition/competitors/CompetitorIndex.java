@@ -0,0 +1,82 @@
+package etu.simonzo.competition.competitors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gives each competitor of a list a dense index, from <code>0</code> to the
+ * number of distinct competitors (exclusive), in the order of their first
+ * occurrence in the list. Data about the competitors can then be kept in
+ * arrays instead of maps. Competitors are looked up with their
+ * <code>equals</code> and <code>hashCode</code> methods (ie. by identity,
+ * for the Competitor class).
+ * An index cannot be modified once built, so it can be shared between
+ * threads.
+ * @param <T> A Competitor sub-type
+ */
+public class CompetitorIndex<T extends Competitor> {
+
+    /**
+     * Build the index of the given competitors. Duplicates get the index of
+     * their first occurrence.
+     * @param competitors List of competitors to index
+     */
+    public CompetitorIndex(List<T> competitors) {
+        this.indices = new HashMap<>();
+        List<T> distinct = new ArrayList<>();
+        for (T competitor : competitors) {
+            if (!this.indices.containsKey(competitor)) {
+                this.indices.put(competitor, distinct.size());
+                distinct.add(competitor);
+            }
+        }
+        this.competitors = Collections.unmodifiableList(distinct);
+    }
+
+    /**
+     * Return the index of a competitor
+     * @param competitor a competitor, which may not be indexed
+     * @return the index of the competitor, or <code>-1</code> if it is not
+     * indexed
+     */
+    public int indexOf(Object competitor) {
+        Integer index = this.indices.get(competitor);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Return the competitor of the given index
+     * @param index index of a competitor
+     * @return the competitor of the given index
+     * @throws IndexOutOfBoundsException iff the index is negative or not lower
+     * than the number of indexed competitors
+     */
+    public T get(int index) {
+        return this.competitors.get(index);
+    }
+
+    /**
+     * Return the number of indexed competitors
+     * @return Number of distinct competitors
+     */
+    public int size() {
+        return this.competitors.size();
+    }
+
+    /**
+     * Return the indexed competitors, in the order of their index
+     * @return an unmodifiable list of the distinct competitors
+     */
+    public List<T> getCompetitors() {
+        return this.competitors;
+    }
+
+    /** Index of each competitor */
+    private Map<T, Integer> indices;
+
+    /** Competitor of each index */
+    private List<T> competitors;
+}
@@ -0,0 +1,104 @@
+package etu.simonzo.competition.fixtures;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import etu.simonzo.competition.competitors.Competitor;
+
+/**
+ * Schedule in which every competitor faces each opponent twice, split into
+ * rounds using the circle method. Competitors are placed on <code>m</code>
+ * slots, where <code>m</code> is the number of competitors rounded up to an
+ * even number (the extra slot, if any, is a "bye": its opponent does not play
+ * during the round). The last slot is fixed, and the other ones rotate by one
+ * position at each round, which pairs every competitor with every opponent
+ * once in <code>m - 1</code> rounds. That first leg is followed by a second
+ * leg of <code>m - 1</code> rounds with the same pairings, where the "first"
+ * and "second" competitors are swapped.
+ *
+ * So, with <code>n</code> competitors, the schedule has
+ * <code>n * (n - 1)</code> fixtures split into <code>2 * (m - 1)</code>
+ * rounds of <code>n / 2</code> fixtures, and each competitor plays at most
+ * once in each round. The fixture at a given position is computed from that
+ * position in constant time.
+ * @param <T> Sub-type of Competitor
+ */
+public class CircleMethodFixtureSource<T extends Competitor> implements RoundBasedFixtureSource<T> {
+
+    /**
+     * Create the circle method schedule between the given competitors
+     * @param competitors List of competitors to schedule
+     */
+    public CircleMethodFixtureSource(List<T> competitors) {
+        this.competitors = new ArrayList<>(competitors);
+        int n = this.competitors.size();
+        this.slots = n % 2 == 0 ? n : n + 1;
+        this.matchesPerRound = n / 2;
+        this.nbRounds = n < 2 ? 0 : 2 * (this.slots - 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long size() {
+        return (long) this.nbRounds * this.matchesPerRound;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getNbRounds() {
+        return this.nbRounds;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getRoundStart(int round) {
+        if (round < 0 || round > this.nbRounds) {
+            throw new IndexOutOfBoundsException("No round " + round);
+        }
+        return (long) round * this.matchesPerRound;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Fixture<T> get(long index) {
+        if (index < 0 || index >= this.size()) {
+            throw new IndexOutOfBoundsException("No fixture at position " + index);
+        }
+        int rotating = this.slots - 1;
+        int round = (int) (index / this.matchesPerRound);
+        int leg = round / rotating;
+        int r = round % rotating;
+        // the pairing of the bye slot, if any, is not part of the schedule
+        int pairing = (int) (index % this.matchesPerRound) + (this.slots - this.competitors.size());
+        int first, second;
+        if (pairing == 0) {
+            first = r % 2 == 0 ? rotating : r;
+            second = r % 2 == 0 ? r : rotating;
+        } else {
+            first = (r + pairing) % rotating;
+            second = (r - pairing + rotating) % rotating;
+        }
+        if (leg == 1) {
+            int tmp = first;
+            first = second;
+            second = tmp;
+        }
+        return new Fixture<>(this.competitors.get(first), this.competitors.get(second));
+    }
+
+    /** Competitors to schedule */
+    private List<T> competitors;
+
+    /** Number of slots of the circle, including the bye slot if any */
+    private int slots;
+
+    /** Number of fixtures in each round */
+    private int matchesPerRound;
+
+    /** Number of rounds of the schedule */
+    private int nbRounds;
+}
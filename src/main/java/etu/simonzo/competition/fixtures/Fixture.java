@@ -0,0 +1,48 @@
+package etu.simonzo.competition.fixtures;
+
+import etu.simonzo.competition.competitors.Competitor;
+
+/**
+ * Represents a match to be played between two competitors, before it is
+ * played: a fixture tells which competitor will confront which competitor,
+ * but not the outcome of the confrontation (see
+ * {@link etu.simonzo.competition.ranking.Result} for that).
+ * As for results, one competitor is called "first" and the other one
+ * "second", and that order is kept when the match is played.
+ * @param <T> Sub-type of Competitor
+ */
+public class Fixture<T extends Competitor> {
+    /** First competitor */
+    protected T competitor1;
+
+    /** Second competitor */
+    protected T competitor2;
+
+    /**
+     * Create a fixture where <code>c1</code> will confront <code>c2</code>
+     * @param c1 competitor which will confront <code>c2</code>. This
+     * competitor will be identified as the "first".
+     * @param c2 competitor which will confront <code>c1</code>. This
+     * competitor will be identified as the "second".
+     */
+    public Fixture(T c1, T c2) {
+        this.competitor1 = c1;
+        this.competitor2 = c2;
+    }
+
+    /**
+     * gives the "first" competitor of this fixture
+     * @return the "first" competitor of this fixture
+     */
+    public T getCompetitor1() {
+        return this.competitor1;
+    }
+
+    /**
+     * gives the "second" competitor of this fixture
+     * @return the "second" competitor of this fixture
+     */
+    public T getCompetitor2() {
+        return this.competitor2;
+    }
+}
@@ -0,0 +1,71 @@
+package etu.simonzo.competition.fixtures;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import etu.simonzo.competition.competitors.Competitor;
+
+/**
+ * Represents the schedule of a competition: the ordered sequence of all the
+ * fixtures (matches to be played) between its competitors. Fixtures are
+ * identified by their position in the schedule, from <code>0</code> to
+ * <code>size() - 1</code>, and are generated on demand: a source never needs
+ * to hold the whole schedule in memory. So a schedule can be enumerated,
+ * counted, partitioned or streamed without being played.
+ *
+ * The iterator and the spliterator of a source follow the order of the
+ * schedule. The spliterator knows its exact size, and splits evenly, so that
+ * parallel streams share the fixtures fairly between threads.
+ * @param <T> Sub-type of Competitor
+ */
+public interface FixtureSource<T extends Competitor> extends Iterable<Fixture<T>> {
+    /**
+     * Gives the number of fixtures in the schedule
+     * @return the number of fixtures in the schedule
+     */
+    public long size();
+
+    /**
+     * Gives the fixture at the given position in the schedule
+     * @param index the position of the fixture in the schedule
+     * @return the fixture at the given position
+     * @throws IndexOutOfBoundsException iff <code>index</code> is negative or
+     * not less than {@link FixtureSource#size()}
+     */
+    public Fixture<T> get(long index);
+
+    /**
+     * Gives a spliterator over the fixtures of the schedule, in order.
+     * @return a sized, ordered, evenly splittable spliterator
+     */
+    default Spliterator<Fixture<T>> spliterator() {
+        return new FixtureSpliterator<>(this, 0, this.size());
+    }
+
+    /**
+     * Gives an iterator over the fixtures of the schedule, in order.
+     * @return an iterator over the fixtures of the schedule
+     */
+    default Iterator<Fixture<T>> iterator() {
+        return Spliterators.iterator(this.spliterator());
+    }
+
+    /**
+     * Gives a sequential stream of the fixtures of the schedule, in order.
+     * @return a stream of the fixtures of the schedule
+     */
+    default Stream<Fixture<T>> stream() {
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
+    /**
+     * Gives a parallel stream of the fixtures of the schedule.
+     * @return a parallel stream of the fixtures of the schedule
+     */
+    default Stream<Fixture<T>> parallelStream() {
+        return StreamSupport.stream(this.spliterator(), true);
+    }
+}
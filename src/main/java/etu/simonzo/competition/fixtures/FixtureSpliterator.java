@@ -0,0 +1,90 @@
+package etu.simonzo.competition.fixtures;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import etu.simonzo.competition.competitors.Competitor;
+
+/**
+ * Spliterator over a range of positions of a {@link FixtureSource}. Fixtures
+ * are generated one at a time with {@link FixtureSource#get(long)}, so the
+ * range is never materialized. Splitting cuts the range in two halves, so the
+ * sizes of all the spliterators are always exactly known.
+ * @param <T> Sub-type of Competitor
+ */
+class FixtureSpliterator<T extends Competitor> implements Spliterator<Fixture<T>> {
+
+    /**
+     * Create a spliterator over the fixtures of <code>source</code> at the
+     * positions <code>from</code> (inclusive) to <code>to</code> (exclusive)
+     * @param source the schedule whose fixtures are traversed
+     * @param from position of the first fixture to traverse
+     * @param to position following the last fixture to traverse
+     */
+    FixtureSpliterator(FixtureSource<T> source, long from, long to) {
+        this.source = source;
+        this.next = from;
+        this.end = to;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean tryAdvance(Consumer<? super Fixture<T>> action) {
+        if (this.next >= this.end) {
+            return false;
+        }
+        action.accept(this.source.get(this.next++));
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void forEachRemaining(Consumer<? super Fixture<T>> action) {
+        long end = this.end;
+        for (long i = this.next; i < end; i++) {
+            action.accept(this.source.get(i));
+        }
+        this.next = end;
+    }
+
+    /**
+     * Give the first half of the remaining fixtures to a new spliterator, and
+     * keep the second half.
+     * @return a spliterator over the first half of the remaining fixtures, or
+     * <code>null</code> if there are less than two remaining fixtures
+     */
+    public Spliterator<Fixture<T>> trySplit() {
+        long middle = this.next + (this.end - this.next) / 2;
+        if (middle == this.next) {
+            return null;
+        }
+        Spliterator<Fixture<T>> prefix = new FixtureSpliterator<>(this.source, this.next, middle);
+        this.next = middle;
+        return prefix;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long estimateSize() {
+        return this.end - this.next;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+
+    /** The schedule whose fixtures are traversed */
+    private final FixtureSource<T> source;
+
+    /** Position of the next fixture to traverse */
+    private long next;
+
+    /** Position following the last fixture to traverse */
+    private final long end;
+}
@@ -0,0 +1,32 @@
+package etu.simonzo.competition.fixtures;
+
+import etu.simonzo.competition.competitors.Competitor;
+
+/**
+ * Represents a schedule split into consecutive rounds. A round is a range of
+ * consecutive positions of the schedule in which each competitor plays at
+ * most once. So the matches of a round do not depend on each other, and may
+ * be played at the same time. Rounds are numbered from <code>0</code> to
+ * <code>getNbRounds() - 1</code>; round <code>r</code> covers the positions
+ * from <code>getRoundStart(r)</code> (inclusive) to
+ * <code>getRoundStart(r + 1)</code> (exclusive).
+ * @param <T> Sub-type of Competitor
+ */
+public interface RoundBasedFixtureSource<T extends Competitor> extends FixtureSource<T> {
+    /**
+     * Gives the number of rounds of the schedule
+     * @return the number of rounds of the schedule
+     */
+    public int getNbRounds();
+
+    /**
+     * Gives the position of the first fixture of a round. For convenience,
+     * <code>getRoundStart(getNbRounds())</code> is the size of the schedule.
+     * @param round the number of the round, from <code>0</code> to
+     * <code>getNbRounds()</code>
+     * @return the position of the first fixture of the round
+     * @throws IndexOutOfBoundsException iff <code>round</code> is negative or
+     * greater than {@link RoundBasedFixtureSource#getNbRounds()}
+     */
+    public long getRoundStart(int round);
+}
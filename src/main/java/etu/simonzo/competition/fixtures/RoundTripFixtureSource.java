@@ -0,0 +1,58 @@
+package etu.simonzo.competition.fixtures;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import etu.simonzo.competition.competitors.Competitor;
+
+/**
+ * Schedule in which every competitor faces each opponent twice, once as the
+ * "first" competitor and once as the "second" one. If the list has
+ * <code>n</code> elements, the schedule has <code>n * (n - 1)</code>
+ * fixtures. They are ordered using the following rule : given 3 competitors
+ * A, B, C and the list [A, B, C], then the fixtures are (A, B), (A, C),
+ * (B, A), (B, C), (C, A), (C, B). The fixture at a given position is computed
+ * from that position in constant time.
+ * @param <T> Sub-type of Competitor
+ */
+public class RoundTripFixtureSource<T extends Competitor> implements FixtureSource<T> {
+
+    /**
+     * Create the round trip schedule between the given competitors
+     * @param competitors List of competitors to schedule
+     */
+    public RoundTripFixtureSource(List<T> competitors) {
+        this.competitors = new ArrayList<>(competitors);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long size() {
+        long n = this.competitors.size();
+        return n * (n - 1);
+    }
+
+    /**
+     * Gives the fixture at the given position in the schedule. The position
+     * <code>index</code> corresponds to the <code>index / (n - 1)</code>-th
+     * competitor confronting its <code>index % (n - 1)</code>-th opponent, in
+     * the order of the list of competitors.
+     * {@inheritDoc}
+     */
+    public Fixture<T> get(long index) {
+        if (index < 0 || index >= this.size()) {
+            throw new IndexOutOfBoundsException("No fixture at position " + index);
+        }
+        int opponents = this.competitors.size() - 1;
+        int i = (int) (index / opponents);
+        int j = (int) (index % opponents);
+        if (j >= i) {
+            j++;
+        }
+        return new Fixture<>(this.competitors.get(i), this.competitors.get(j));
+    }
+
+    /** Competitors to schedule */
+    private List<T> competitors;
+}
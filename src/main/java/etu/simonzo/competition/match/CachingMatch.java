@@ -0,0 +1,412 @@
+package etu.simonzo.competition.match;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import etu.simonzo.competition.competitors.Competitor;
+
+/**
+ * A match "rule" which remembers the outcomes of another one, for matches
+ * whose outcome only depends on the competitors and is expensive to compute.
+ * Outcomes are kept by ordered pair of competitors (compared with their
+ * <code>equals</code> method, ie. by identity for the Competitor class): when
+ * the same competitors play again in the same order, the remembered outcome
+ * is returned without playing the match. Optionally, the outcome of the
+ * mirrored pairing is used too: the outcome of (B, A) is deduced from the
+ * outcome of (A, B).
+ * <p>
+ * At most a given number of outcomes are remembered; when the cache is full,
+ * an {@link EvictionPolicy} decides which outcome is forgotten.
+ * </p>
+ * <p>
+ * A caching match may be played by several threads at once. Matches are
+ * played outside of the lock guarding the cache, so that slow matches do not
+ * block each other: two threads missing the same pairing at the same time
+ * both play it.
+ * </p>
+ * @param <T> A Competitor sub-type
+ */
+public class CachingMatch<T extends Competitor> implements Match<T> {
+
+    /**
+     * Create a cache of the outcomes of a match, forgetting the least
+     * recently used outcomes, which does not use mirrored pairings
+     * @param match match whose outcomes are kept
+     * @param maximumSize maximum number of outcomes kept
+     * @throws IllegalArgumentException iff <code>maximumSize</code> is not
+     * positive
+     */
+    public CachingMatch(Match<T> match, int maximumSize) {
+        this(match, maximumSize, EvictionPolicy.LRU, false);
+    }
+
+    /**
+     * Create a cache of the outcomes of a match
+     * @param match match whose outcomes are kept
+     * @param maximumSize maximum number of outcomes kept
+     * @param policy decides which outcome is forgotten when the cache is full
+     * @param mirrored whether the outcome of a pairing may be deduced from the
+     * outcome of the same competitors in the other order
+     * @throws IllegalArgumentException iff <code>maximumSize</code> is not
+     * positive
+     */
+    public CachingMatch(Match<T> match, int maximumSize, EvictionPolicy policy, boolean mirrored) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        this.match = match;
+        this.mirrored = mirrored;
+        if (policy == EvictionPolicy.TINY_LFU && maximumSize > 1) {
+            this.windowCapacity = Math.max(1, maximumSize / 100);
+            this.sketch = new FrequencySketch(maximumSize);
+        } else {
+            this.windowCapacity = 0;
+            this.sketch = null;
+        }
+        this.mainCapacity = maximumSize - this.windowCapacity;
+        this.window = new LinkedHashMap<>(16, 0.75f, true);
+        this.main = new LinkedHashMap<>(16, 0.75f, true);
+        this.lock = new ReentrantLock();
+        this.nbHits = 0;
+        this.nbMisses = 0;
+        this.nbEvictions = 0;
+    }
+
+    /**
+     * Return the remembered outcome of the match between the competitors, or
+     * play it and remember its outcome
+     * {@link etu.simonzo.competition.match.Match#playWith}
+     */
+    public MatchOutcome playWith(T competitor1, T competitor2) {
+        Pairing key = new Pairing(competitor1, competitor2);
+        this.lock.lock();
+        try {
+            MatchOutcome outcome = this.lookUp(key);
+            if (outcome == null && this.mirrored) {
+                outcome = mirror(this.lookUp(new Pairing(competitor2, competitor1)));
+            }
+            if (outcome != null) {
+                this.nbHits++;
+                return outcome;
+            }
+            this.nbMisses++;
+        } finally {
+            this.lock.unlock();
+        }
+        MatchOutcome outcome = this.match.playWith(competitor1, competitor2);
+        this.lock.lock();
+        try {
+            this.store(key, outcome);
+        } finally {
+            this.lock.unlock();
+        }
+        return outcome;
+    }
+
+    /**
+     * Return the number of matches whose outcome was remembered
+     * @return Number of cache hits
+     */
+    public long getNbHits() {
+        this.lock.lock();
+        try {
+            return this.nbHits;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Return the number of matches which had to be played
+     * @return Number of cache misses
+     */
+    public long getNbMisses() {
+        this.lock.lock();
+        try {
+            return this.nbMisses;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Return the number of outcomes forgotten because the cache was full
+     * @return Number of evicted outcomes
+     */
+    public long getNbEvictions() {
+        this.lock.lock();
+        try {
+            return this.nbEvictions;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Return the number of outcomes currently remembered
+     * @return Number of outcomes in the cache
+     */
+    public int size() {
+        this.lock.lock();
+        try {
+            return this.window.size() + this.main.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Forget every outcome. Counters are not reset.
+     */
+    public void clear() {
+        this.lock.lock();
+        try {
+            this.window.clear();
+            this.main.clear();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Return the remembered outcome of a pairing, and count the lookup. The
+     * lock must be held.
+     * @param key an ordered pair of competitors
+     * @return the outcome of the pairing, or null if it is not remembered
+     */
+    private MatchOutcome lookUp(Pairing key) {
+        if (this.sketch != null) {
+            this.sketch.increment(key.hashCode());
+        }
+        MatchOutcome outcome = this.window.get(key);
+        return outcome != null ? outcome : this.main.get(key);
+    }
+
+    /**
+     * Remember the outcome of a pairing, forgetting another one if the cache
+     * is full. The lock must be held.
+     * @param key an ordered pair of competitors
+     * @param outcome the outcome of the pairing
+     */
+    private void store(Pairing key, MatchOutcome outcome) {
+        if (this.window.containsKey(key) || this.main.containsKey(key)) {
+            return;
+        }
+        if (this.sketch == null) {
+            this.main.put(key, outcome);
+            if (this.main.size() > this.mainCapacity) {
+                removeEldest(this.main);
+                this.nbEvictions++;
+            }
+            return;
+        }
+        this.window.put(key, outcome);
+        if (this.window.size() <= this.windowCapacity) {
+            return;
+        }
+        Map.Entry<Pairing, MatchOutcome> candidate = removeEldest(this.window);
+        if (this.main.size() < this.mainCapacity) {
+            this.main.put(candidate.getKey(), candidate.getValue());
+            return;
+        }
+        Pairing victim = this.main.keySet().iterator().next();
+        if (this.sketch.frequency(candidate.getKey().hashCode())
+            > this.sketch.frequency(victim.hashCode())) {
+            this.main.remove(victim);
+            this.main.put(candidate.getKey(), candidate.getValue());
+        }
+        this.nbEvictions++;
+    }
+
+    /**
+     * Remove the least recently used entry of a map in access order
+     * @param map a non-empty map in access order
+     * @return the removed entry
+     */
+    private static Map.Entry<Pairing, MatchOutcome> removeEldest(Map<Pairing, MatchOutcome> map) {
+        Iterator<Map.Entry<Pairing, MatchOutcome>> entries = map.entrySet().iterator();
+        Map.Entry<Pairing, MatchOutcome> eldest = entries.next();
+        Map.Entry<Pairing, MatchOutcome> removed = Map.entry(eldest.getKey(), eldest.getValue());
+        entries.remove();
+        return removed;
+    }
+
+    /**
+     * Give the outcome of a match when the competitors are swapped
+     * @param outcome outcome of a match, or null
+     * @return the outcome of the mirrored match, or null
+     */
+    private static MatchOutcome mirror(MatchOutcome outcome) {
+        if (outcome == MatchOutcome.FIRST_PLAYER_WIN) {
+            return MatchOutcome.SECOND_PLAYER_WIN;
+        }
+        if (outcome == MatchOutcome.SECOND_PLAYER_WIN) {
+            return MatchOutcome.FIRST_PLAYER_WIN;
+        }
+        return outcome;
+    }
+
+    /** Match whose outcomes are kept */
+    private Match<T> match;
+
+    /** Whether outcomes of mirrored pairings are used */
+    private boolean mirrored;
+
+    /** Maximum number of outcomes in the recency window */
+    private int windowCapacity;
+
+    /** Maximum number of outcomes in the main part of the cache */
+    private int mainCapacity;
+
+    /**
+     * Outcomes recently played, in access order (only used by the
+     * {@link EvictionPolicy#TINY_LFU} policy)
+     */
+    private LinkedHashMap<Pairing, MatchOutcome> window;
+
+    /** Outcomes kept, in access order */
+    private LinkedHashMap<Pairing, MatchOutcome> main;
+
+    /** Approximate numbers of recent lookups of pairings, or null */
+    private FrequencySketch sketch;
+
+    /** Lock guarding the outcomes and the counters */
+    private ReentrantLock lock;
+
+    /** Number of cache hits */
+    private long nbHits;
+
+    /** Number of cache misses */
+    private long nbMisses;
+
+    /** Number of evicted outcomes */
+    private long nbEvictions;
+
+    /**
+     * An ordered pair of competitors, used as a key of the cache
+     */
+    private static class Pairing {
+
+        /**
+         * Create a pair of competitors
+         * @param first first competitor
+         * @param second second competitor
+         */
+        Pairing(Competitor first, Competitor second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean equals(Object o) {
+            if (!(o instanceof Pairing)) {
+                return false;
+            }
+            Pairing other = (Pairing) o;
+            return this.first.equals(other.first) && this.second.equals(other.second);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public int hashCode() {
+            return 31 * this.first.hashCode() + this.second.hashCode();
+        }
+
+        /** First competitor */
+        private final Competitor first;
+
+        /** Second competitor */
+        private final Competitor second;
+    }
+
+    /**
+     * Approximate count of the recent lookups of each key, in a fixed amount
+     * of memory (a count-min sketch): each key increments four small counters,
+     * chosen by hashing the key, and its count is the lowest of them. Counters
+     * are halved periodically, so that old lookups count less than recent ones.
+     */
+    private static class FrequencySketch {
+
+        /** Largest value of a counter */
+        private static final int MAX_COUNT = 15;
+
+        /** Number of counters incremented by each lookup */
+        private static final int DEPTH = 4;
+
+        /**
+         * Largest number of counters: larger caches share counters between
+         * more keys, which only makes frequencies less accurate
+         */
+        private static final int MAX_WIDTH = 1 << 24;
+
+        /**
+         * Create a sketch sized for a cache of the given size
+         * @param maximumSize maximum number of outcomes of the cache
+         */
+        FrequencySketch(int maximumSize) {
+            // About 16 counters by outcome, rounded up to a power of two
+            long wanted = Long.highestOneBit(Math.max(16L, maximumSize) * 16 - 1) * 2;
+            this.counters = new byte[(int) Math.min(MAX_WIDTH, wanted)];
+            this.nbAdditions = 0;
+            this.resetPeriod = 10L * maximumSize;
+        }
+
+        /**
+         * Count a lookup of a key
+         * @param hash hash code of the key
+         */
+        void increment(int hash) {
+            for (int d = 0; d < DEPTH; d++) {
+                int slot = this.slotOf(hash, d);
+                if (this.counters[slot] < MAX_COUNT) {
+                    this.counters[slot]++;
+                }
+            }
+            if (++this.nbAdditions == this.resetPeriod) {
+                for (int i = 0; i < this.counters.length; i++) {
+                    this.counters[i] >>= 1;
+                }
+                this.nbAdditions /= 2;
+            }
+        }
+
+        /**
+         * Give the approximate number of recent lookups of a key
+         * @param hash hash code of the key
+         * @return estimated number of lookups, at most {@link #MAX_COUNT}
+         */
+        int frequency(int hash) {
+            int frequency = MAX_COUNT;
+            for (int d = 0; d < DEPTH; d++) {
+                frequency = Math.min(frequency, this.counters[this.slotOf(hash, d)]);
+            }
+            return frequency;
+        }
+
+        /**
+         * Give the counter of a key in a row of the sketch
+         * @param hash hash code of the key
+         * @param d number of the row
+         * @return index of the counter
+         */
+        private int slotOf(int hash, int d) {
+            long h = (hash + d * 0x9e3779b97f4a7c15L) * 0xbf58476d1ce4e5b9L;
+            h ^= h >>> 31;
+            return (int) h & (this.counters.length - 1);
+        }
+
+        /** Counters of the sketch, whose number is a power of two */
+        private byte[] counters;
+
+        /** Number of lookups counted since the counters were last halved */
+        private long nbAdditions;
+
+        /** Number of lookups after which the counters are halved */
+        private long resetPeriod;
+    }
+}
@@ -0,0 +1,263 @@
+package etu.simonzo.competition.match;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import etu.simonzo.competition.competitors.Competitor;
+
+/**
+ * A match "rule" which gives another one a limited time to play each match,
+ * so that a match which hangs does not stall the whole competition. Matches
+ * are played on threads owned by this decorator, while the calling thread
+ * waits for them up to a deadline. A match which is not over in time is
+ * interrupted, and handled according to a {@link TimeoutPolicy}.
+ * <p>
+ * At most a given number of matches are played by the decorated match at
+ * once (a bulkhead): other calls wait for a free place, and a call which
+ * cannot get one before the deadline times out too. A match which ignores
+ * interruption keeps its place until it actually ends, while a match given up
+ * before its thread started it gives its place back at once.
+ * </p>
+ * <p>
+ * Timeouts, fallback outcomes, retries and aborts are counted. A deadline
+ * match may be played by several threads at once. It should be closed once
+ * it is not used anymore, to stop its threads.
+ * </p>
+ * @param <T> Sub-type of Competitor
+ */
+public class DeadlineMatch<T extends Competitor> implements Match<T>, AutoCloseable {
+
+    /**
+     * Create a decorator which aborts the competition when a match is not
+     * over in time
+     * @param match match to play
+     * @param timeoutMillis time given to each match, in milliseconds
+     * @param maxConcurrent maximum number of matches played at once
+     * @throws IllegalArgumentException iff the timeout or the maximum number
+     * of matches is not positive
+     */
+    public DeadlineMatch(Match<T> match, long timeoutMillis, int maxConcurrent) {
+        this(match, timeoutMillis, maxConcurrent, TimeoutPolicy.ABORT, null, 0);
+    }
+
+    /**
+     * Create a decorator giving a limited time to each match
+     * @param match match to play
+     * @param timeoutMillis time given to each match, in milliseconds
+     * @param maxConcurrent maximum number of matches played at once
+     * @param policy what to do when a match is not over in time
+     * @param fallback outcome returned instead of the outcome of a match not
+     * over in time, with the {@link TimeoutPolicy#FALLBACK} policy
+     * @param maxRetries number of times a match is played again, with the
+     * {@link TimeoutPolicy#RETRY} policy
+     * @throws IllegalArgumentException iff the timeout or the maximum number
+     * of matches is not positive, the number of retries is negative, or the
+     * fallback outcome is null with the {@link TimeoutPolicy#FALLBACK} policy
+     */
+    public DeadlineMatch(Match<T> match, long timeoutMillis, int maxConcurrent,
+                         TimeoutPolicy policy, MatchOutcome fallback, int maxRetries) {
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("timeoutMillis must be positive");
+        }
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("maxConcurrent must be positive");
+        }
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries must not be negative");
+        }
+        if (policy == TimeoutPolicy.FALLBACK && fallback == null) {
+            throw new IllegalArgumentException("A fallback outcome is required");
+        }
+        this.match = match;
+        this.timeoutMillis = timeoutMillis;
+        this.policy = policy;
+        this.fallback = fallback;
+        this.maxRetries = policy == TimeoutPolicy.RETRY ? maxRetries : 0;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.executor = Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "deadline-match");
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.nbTimeouts = new AtomicLong();
+        this.nbFallbacks = new AtomicLong();
+        this.nbRetries = new AtomicLong();
+        this.nbAborts = new AtomicLong();
+    }
+
+    /**
+     * Play the match with the decorated match, waiting for it until its
+     * deadline. Exceptions thrown by the decorated match are rethrown as is.
+     * {@link etu.simonzo.competition.match.Match#playWith}
+     * @throws IllegalStateException if the match is not over in time and the
+     * policy aborts, if this match is closed, or if the current thread is
+     * interrupted while waiting
+     */
+    public MatchOutcome playWith(T c1, T c2) {
+        for (int attempt = 0;; attempt++) {
+            MatchOutcome outcome = this.attempt(c1, c2);
+            if (outcome != null) {
+                return outcome;
+            }
+            this.nbTimeouts.incrementAndGet();
+            if (this.policy == TimeoutPolicy.FALLBACK) {
+                this.nbFallbacks.incrementAndGet();
+                return this.fallback;
+            }
+            if (attempt >= this.maxRetries) {
+                this.nbAborts.incrementAndGet();
+                throw new IllegalStateException(
+                    "Match between " + c1.getName() + " and " + c2.getName()
+                    + " not over after " + this.timeoutMillis + " ms",
+                    new TimeoutException());
+            }
+            this.nbRetries.incrementAndGet();
+        }
+    }
+
+    /**
+     * Return the number of matches which were not over in time, counting
+     * each attempt of a retried match
+     * @return Number of timeouts
+     */
+    public long getNbTimeouts() {
+        return this.nbTimeouts.get();
+    }
+
+    /**
+     * Return the number of times the fallback outcome was returned
+     * @return Number of fallback outcomes
+     */
+    public long getNbFallbacks() {
+        return this.nbFallbacks.get();
+    }
+
+    /**
+     * Return the number of times a match was played again
+     * @return Number of retries
+     */
+    public long getNbRetries() {
+        return this.nbRetries.get();
+    }
+
+    /**
+     * Return the number of matches which aborted their competition
+     * @return Number of aborts
+     */
+    public long getNbAborts() {
+        return this.nbAborts.get();
+    }
+
+    /**
+     * Return the number of matches which could start right now, that is the
+     * maximum number of matches played at once minus the matches holding a
+     * place in the bulkhead
+     * @return Number of free places
+     */
+    public int getNbFreePlaces() {
+        return this.bulkhead.availablePermits();
+    }
+
+    /**
+     * Interrupt the matches being played, and stop the threads of this
+     * decorator. Matches cannot be played anymore.
+     */
+    public void close() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Play the match once, within the deadline
+     * @param c1 first competitor
+     * @param c2 second competitor
+     * @return the outcome of the match, or null if it is not over in time
+     * @throws IllegalStateException if this match is closed, or if the
+     * current thread is interrupted while waiting
+     */
+    private MatchOutcome attempt(T c1, T c2) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.timeoutMillis);
+        Future<MatchOutcome> future = null;
+        // Taken by whichever comes first of the task starting the match and
+        // the caller giving it up, which then releases its place
+        AtomicBoolean claimed = new AtomicBoolean();
+        try {
+            if (!this.bulkhead.tryAcquire(this.timeoutMillis, TimeUnit.MILLISECONDS)) {
+                return null;
+            }
+            try {
+                future = this.executor.submit(() -> {
+                        if (!claimed.compareAndSet(false, true)) {
+                            return null;
+                        }
+                        try {
+                            return this.match.playWith(c1, c2);
+                        } finally {
+                            this.bulkhead.release();
+                        }
+                    });
+            } catch (RuntimeException e) {
+                this.bulkhead.release();
+                throw new IllegalStateException("Match is closed", e);
+            }
+            return future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a match", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            if (claimed.compareAndSet(false, true)) {
+                this.bulkhead.release();
+            }
+            return null;
+        }
+    }
+
+    /** Match to play */
+    private Match<T> match;
+
+    /** Time given to each match, in milliseconds */
+    private long timeoutMillis;
+
+    /** What to do when a match is not over in time */
+    private TimeoutPolicy policy;
+
+    /** Outcome of the matches not over in time, with the fallback policy */
+    private MatchOutcome fallback;
+
+    /** Number of times a match is played again before aborting */
+    private int maxRetries;
+
+    /** Places left for matches played at once */
+    private Semaphore bulkhead;
+
+    /** Threads playing the matches */
+    private ExecutorService executor;
+
+    /** Number of timeouts */
+    private AtomicLong nbTimeouts;
+
+    /** Number of fallback outcomes */
+    private AtomicLong nbFallbacks;
+
+    /** Number of retries */
+    private AtomicLong nbRetries;
+
+    /** Number of aborts */
+    private AtomicLong nbAborts;
+}
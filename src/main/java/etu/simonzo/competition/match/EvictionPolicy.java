@@ -0,0 +1,18 @@
+package etu.simonzo.competition.match;
+
+/**
+ * Which outcome a {@link CachingMatch} forgets when it is full and a new
+ * outcome must be kept.
+ */
+public enum EvictionPolicy {
+    /** Forget the outcome which was played or looked up the longest ago */
+    LRU,
+    /**
+     * Keep new outcomes in a small recency window first; an outcome leaving
+     * the window replaces the least recently used outcome of the rest of the
+     * cache only if its pairing was looked up more often, according to an
+     * approximate count of recent lookups. Pairings played only once then do
+     * not evict pairings played again and again.
+     */
+    TINY_LFU
+}
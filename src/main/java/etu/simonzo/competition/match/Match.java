@@ -1,8 +1,11 @@
 package etu.simonzo.competition.match;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.fixtures.Fixture;
 
 /**
  * An interface which defines a method which should designate the winner
@@ -22,6 +25,50 @@ public interface Match<T extends Competitor> {
      */
     public MatchOutcome playWith(T competitor1, T competitor2);
 
+    /**
+     * Perform a batch of independent matches, and return their outcomes.
+     * Competitions give whole rounds or blocks of fixtures to this method, so
+     * that implementations which can share some work between matches (eg. a
+     * rating model evaluating many pairs at once, or an external engine
+     * receiving many pairs in one request) override it to play the batch at
+     * once. By default, each match is played by
+     * {@link Match#playWith(Competitor, Competitor)}, in the order of the list.
+     * @param fixtures matches to perform, which do not depend on each other
+     * @return a new array of the outcomes of the matches, in the order of the
+     * list: the outcome of <code>fixtures.get(k)</code> is at position
+     * <code>k</code>
+     */
+    default MatchOutcome[] playAll(List<Fixture<T>> fixtures) {
+        MatchOutcome[] outcomes = new MatchOutcome[fixtures.size()];
+        for (int k = 0; k < outcomes.length; k++) {
+            Fixture<T> fixture = fixtures.get(k);
+            outcomes[k] = playWith(fixture.getCompetitor1(), fixture.getCompetitor2());
+        }
+        return outcomes;
+    }
+
+    /**
+     * Start the match between the competitors, without waiting for its
+     * outcome. Competitions keeping several matches in flight (see
+     * {@link etu.simonzo.competition.competitions.Competition#setMaxInFlight})
+     * call this method, so that implementations waiting for something else
+     * (eg. an engine running in another process) override it to return at
+     * once, and complete the future once the outcome is known. By default,
+     * the match is played by {@link Match#playWith(Competitor, Competitor)}
+     * before this method returns.
+     * @param competitor1 First competitor
+     * @param competitor2 Second competitor
+     * @return a future completed with the outcome of the match, or completed
+     * exceptionally if the match failed
+     */
+    default CompletableFuture<MatchOutcome> playAsync(T competitor1, T competitor2) {
+        try {
+            return CompletableFuture.completedFuture(playWith(competitor1, competitor2));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Perform the match between the competitors and if there is a winner, give it.
      * @param competitor1 First competitor
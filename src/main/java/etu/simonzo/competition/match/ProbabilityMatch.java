@@ -0,0 +1,327 @@
+package etu.simonzo.competition.match;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.competitors.CompetitorIndex;
+
+/**
+ * A match "rule" where outcomes are drawn at random, but with probabilities
+ * which depend on the competitors, so that the skill of competitors can be
+ * modelled. The probabilities are given either:
+ * <ul>
+ *  <li>by a matrix giving, for each ordered pair of competitors, the
+ *  probability that the first one wins and the probability of a tie;</li>
+ *  <li>or by a strength for each competitor, following the Bradley-Terry
+ *  model: a competitor of strength <code>s1</code> beats a competitor of
+ *  strength <code>s2</code> with probability <code>s1 / (s1 + s2)</code>,
+ *  once ties (of a fixed probability) are left aside. Elo ratings are
+ *  converted to such strengths by {@link ProbabilityMatch#fromElo}.</li>
+ * </ul>
+ * <p>
+ * Competitors are given a dense index on construction (see
+ * {@link CompetitorIndex}), and the probabilities are kept in arrays of
+ * primitive values indexed by competitor. Drawing an outcome then takes a
+ * constant time, without allocating anything:
+ * {@link ProbabilityMatch#playIndices(int, int)} draws it directly from the
+ * indices of the competitors, and
+ * {@link ProbabilityMatch#playWith(Competitor, Competitor)} looks the
+ * indices up first.
+ * </p>
+ * <p>
+ * Like {@link RandomMatch}, an unseeded match draws from a generator owned by
+ * the calling thread, and a seeded match is counter-based: the outcome of a
+ * match is a function of the seed, of the indices of the two competitors, in
+ * order, and of the number of times these two competitors already played
+ * each other in this order with this match "rule", so that it does not depend
+ * on the order in which matches are played, and a rematch gets its own
+ * outcome. Independent streams are derived with
+ * {@link ProbabilityMatch#split(long)}.
+ * </p>
+ * @param <T> Sub-type of Competitor
+ */
+public class ProbabilityMatch<T extends Competitor> implements Match<T> {
+
+    /** Increment of the SplitMix64 generator, used to derive streams */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /** Largest gap tolerated between the sum of probabilities and 1 */
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Create a match "rule" driven by a matrix of probabilities
+     * @param competitors List of the competitors who may play
+     * @param winProbabilities <code>winProbabilities[i][j]</code> is the
+     * probability that competitor <code>i</code> of the list wins when it
+     * plays first against competitor <code>j</code>
+     * @param tieProbabilities <code>tieProbabilities[i][j]</code> is the
+     * probability of a tie when competitor <code>i</code> of the list plays
+     * first against competitor <code>j</code>
+     * @throws IllegalArgumentException if the list contains duplicates, if a
+     * matrix is not a square matrix of the size of the list, or if a
+     * probability is not between 0 and 1, or if the probability of a win and
+     * of a tie add up to more than 1
+     */
+    public ProbabilityMatch(List<T> competitors, double[][] winProbabilities,
+                            double[][] tieProbabilities) {
+        this(indexOf(competitors), null, 0, null, false, 0);
+        int n = this.index.size();
+        checkSquare(winProbabilities, n);
+        checkSquare(tieProbabilities, n);
+        this.bounds = new double[2 * n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double win = winProbabilities[i][j];
+                double tie = tieProbabilities[i][j];
+                if (!(win >= 0 && tie >= 0 && win + tie <= 1 + EPSILON)) {
+                    throw new IllegalArgumentException(
+                        "Invalid probabilities for (" + i + ", " + j + ")");
+                }
+                this.bounds[2 * (i * n + j)] = win;
+                this.bounds[2 * (i * n + j) + 1] = win + tie;
+            }
+        }
+    }
+
+    /**
+     * Create a match "rule" following the Bradley-Terry model
+     * @param competitors List of the competitors who may play
+     * @param strengths <code>strengths[i]</code> is the strength of
+     * competitor <code>i</code> of the list
+     * @param tieProbability probability of a tie, whoever plays
+     * @throws IllegalArgumentException if the list contains duplicates, if
+     * there is not one strength by competitor, if a strength is not a
+     * strictly positive finite number, or if the probability of a tie is not
+     * between 0 and 1
+     */
+    public ProbabilityMatch(List<T> competitors, double[] strengths, double tieProbability) {
+        this(indexOf(competitors), null, tieProbability, strengths.clone(), false, 0);
+        if (strengths.length != this.index.size()) {
+            throw new IllegalArgumentException("Expected one strength by competitor");
+        }
+        for (double strength : strengths) {
+            if (!(strength > 0 && strength < Double.POSITIVE_INFINITY)) {
+                throw new IllegalArgumentException("Invalid strength " + strength);
+            }
+        }
+        if (!(tieProbability >= 0 && tieProbability <= 1)) {
+            throw new IllegalArgumentException("Invalid tie probability " + tieProbability);
+        }
+    }
+
+    /**
+     * Create a match "rule" following the Elo model: a competitor rated 400
+     * points more than its opponent is 10 times more likely to win than to
+     * lose.
+     * @param <T> Sub-type of Competitor
+     * @param competitors List of the competitors who may play
+     * @param ratings <code>ratings[i]</code> is the Elo rating of competitor
+     * <code>i</code> of the list
+     * @param tieProbability probability of a tie, whoever plays
+     * @return the match "rule"
+     * @throws IllegalArgumentException if the list contains duplicates, if
+     * there is not one rating by competitor, if a rating is not finite, or if
+     * the probability of a tie is not between 0 and 1
+     */
+    public static <T extends Competitor> ProbabilityMatch<T> fromElo(
+        List<T> competitors, double[] ratings, double tieProbability) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (double rating : ratings) {
+            max = Math.max(max, rating);
+        }
+        double[] strengths = new double[ratings.length];
+        for (int i = 0; i < ratings.length; i++) {
+            // Ratings are shifted so that the strongest competitor has a
+            // strength of 1, which keeps strengths from overflowing
+            strengths[i] = Math.pow(10, (ratings[i] - max) / 400);
+        }
+        return new ProbabilityMatch<>(competitors, strengths, tieProbability);
+    }
+
+    /**
+     * Create a match "rule" sharing the probabilities of another one
+     * @param index Dense index of the competitors
+     * @param bounds Bounds of the outcomes of each ordered pair, or null
+     * @param tieProbability Probability of a tie under the Bradley-Terry model
+     * @param strengths Strength of each competitor, or null
+     * @param seeded Whether outcomes are derived from the seed
+     * @param seed Seed from which outcomes are derived
+     */
+    private ProbabilityMatch(CompetitorIndex<T> index, double[] bounds, double tieProbability,
+                             double[] strengths, boolean seeded, long seed) {
+        this.index = index;
+        this.bounds = bounds;
+        this.tieProbability = tieProbability;
+        this.strengths = strengths;
+        this.seeded = seeded;
+        this.seed = seed;
+        this.rematches = seeded ? new RematchCounter() : null;
+    }
+
+    /**
+     * Derive a match "rule" with the same probabilities, whose outcomes are
+     * reproducible: two matches derived with the same seed give the same
+     * outcome to the n-th match played between the same competitors, in the
+     * same order
+     * @param seed seed from which outcomes are derived
+     * @return a seeded match "rule", sharing the probabilities of this one
+     */
+    public ProbabilityMatch<T> withSeed(long seed) {
+        return new ProbabilityMatch<>(this.index, this.bounds, this.tieProbability,
+                                      this.strengths, true, seed);
+    }
+
+    /**
+     * Derive a match "rule" with the same probabilities, whose outcomes are
+     * independent from the outcomes of this one. Splitting the same seeded
+     * match with the same stream number always gives the same outcomes; the
+     * derived match counts its rematches from zero. Splitting an unseeded
+     * match gives an unseeded match.
+     * @param stream number of the derived stream
+     * @return a match "rule" playing the derived stream
+     */
+    public ProbabilityMatch<T> split(long stream) {
+        if (!this.seeded) {
+            return this;
+        }
+        return this.withSeed(mix(this.seed + GOLDEN_GAMMA * (stream + 1)));
+    }
+
+    /**
+     * Play a match between <code>c1</code> and <code>c2</code>, whose outcome
+     * is drawn according to the probabilities of this match. This method may
+     * be called from several threads at once.
+     * @param c1 competitor that will confront <code>c2</code>
+     * @param c2 competitor that will confront <code>c1</code>
+     * @return the outcome of the match
+     * @throws IllegalArgumentException if one of the competitors is unknown
+     */
+    public MatchOutcome playWith(T c1, T c2) {
+        int i = this.index.indexOf(c1);
+        int j = this.index.indexOf(c2);
+        if (i < 0 || j < 0) {
+            throw new IllegalArgumentException("Unknown competitor");
+        }
+        return this.playIndices(i, j);
+    }
+
+    /**
+     * Play a match between two competitors given by their index in the list
+     * of competitors. This method may be called from several threads at once.
+     * @param i index of the first competitor
+     * @param j index of the second competitor
+     * @return the outcome of the match
+     * @throws ArrayIndexOutOfBoundsException if an index is invalid
+     */
+    public MatchOutcome playIndices(int i, int j) {
+        int n = this.index.size();
+        if (i < 0 || i >= n || j < 0 || j >= n) {
+            throw new ArrayIndexOutOfBoundsException("Invalid competitor index");
+        }
+        long bits;
+        if (this.seeded) {
+            long rematch = this.rematches.next(i, j);
+            long fixture = mix(((long) i << 32) | j) + GOLDEN_GAMMA * rematch;
+            bits = mix(this.seed ^ mix(fixture));
+        } else {
+            bits = ThreadLocalRandom.current().nextLong();
+        }
+        double u = (bits >>> 11) * 0x1.0p-53;
+        double winBound;
+        double tieBound;
+        if (this.bounds != null) {
+            winBound = this.bounds[2 * (i * n + j)];
+            tieBound = this.bounds[2 * (i * n + j) + 1];
+        } else {
+            double s1 = this.strengths[i];
+            winBound = (1 - this.tieProbability) * s1 / (s1 + this.strengths[j]);
+            tieBound = winBound + this.tieProbability;
+        }
+        if (u < winBound) {
+            return MatchOutcome.FIRST_PLAYER_WIN;
+        }
+        return u < tieBound ? MatchOutcome.TIE : MatchOutcome.SECOND_PLAYER_WIN;
+    }
+
+    /**
+     * Return the dense index of the competitors of this match
+     * @return the index of the competitors
+     */
+    public CompetitorIndex<T> getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Index the given competitors
+     * @param <T> Sub-type of Competitor
+     * @param competitors List of competitors
+     * @return the index of the competitors
+     * @throws IllegalArgumentException if the list contains duplicates
+     */
+    private static <T extends Competitor> CompetitorIndex<T> indexOf(List<T> competitors) {
+        CompetitorIndex<T> index = new CompetitorIndex<>(competitors);
+        if (index.size() != competitors.size()) {
+            throw new IllegalArgumentException("Duplicated competitor");
+        }
+        return index;
+    }
+
+    /**
+     * Check that a matrix is a square matrix of the given size
+     * @param matrix a matrix
+     * @param n expected number of rows and columns
+     * @throws IllegalArgumentException if it is not
+     */
+    private static void checkSquare(double[][] matrix, int n) {
+        if (matrix.length != n) {
+            throw new IllegalArgumentException("Expected " + n + " rows");
+        }
+        for (double[] row : matrix) {
+            if (row.length != n) {
+                throw new IllegalArgumentException("Expected " + n + " columns");
+            }
+        }
+    }
+
+    /**
+     * Scramble the bits of a value (finalizer of the SplitMix64 generator).
+     * Close values give unrelated results.
+     * @param z value to scramble
+     * @return scrambled value
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /** Dense index of the competitors */
+    private CompetitorIndex<T> index;
+
+    /**
+     * Bounds of the outcomes of each ordered pair of competitors
+     * <code>(i, j)</code>, two by pair at <code>2 * (i * n + j)</code>: the
+     * probability that <code>i</code> wins, then the probability that it
+     * wins or ties; null under the Bradley-Terry model
+     */
+    private double[] bounds;
+
+    /** Probability of a tie under the Bradley-Terry model */
+    private double tieProbability;
+
+    /** Strength of each competitor under the Bradley-Terry model, or null */
+    private double[] strengths;
+
+    /** Whether outcomes are derived from {@link ProbabilityMatch#seed} */
+    private boolean seeded;
+
+    /** Seed from which outcomes are derived, when the match is seeded */
+    private long seed;
+
+    /**
+     * Number of matches already played by each ordered pair of competitors,
+     * when the match is seeded
+     */
+    private RematchCounter rematches;
+}
@@ -0,0 +1,450 @@
+package etu.simonzo.competition.match;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import etu.simonzo.competition.competitors.Competitor;
+
+/**
+ * A match "rule" whose outcomes are decided by an external program (a match
+ * engine). A pool of long-lived worker processes running this program is
+ * kept, and matches are sent to them in turn.
+ * <p>
+ * A worker reads requests on its standard input and writes responses on its
+ * standard output, one by line, in UTF-8:
+ * </p>
+ * <ul>
+ *  <li>a request is <code>id TAB name1 TAB name2</code>, where
+ *  <code>id</code> is a decimal number identifying the request and the names
+ *  are the names of the competitors, in which backslashes, tabulations, line
+ *  feeds and carriage returns are escaped as <code>\\</code>,
+ *  <code>\t</code>, <code>\n</code> and <code>\r</code>;</li>
+ *  <li>a response is <code>id TAB outcome</code>, where <code>outcome</code>
+ *  is <code>1</code> if the first competitor wins, <code>2</code> if the
+ *  second one wins and <code>0</code> for a tie.</li>
+ * </ul>
+ * <p>
+ * Requests are pipelined: a worker is sent up to a given number of requests
+ * without waiting for their responses, and may answer them in any order.
+ * The standard error of the workers is the one of the current process.
+ * </p>
+ * <p>
+ * If a worker exits, or breaks the protocol, the matches it was playing fail
+ * with an {@link UncheckedIOException}, and a new worker is started in its
+ * place for the next matches. A process match may be played by several
+ * threads at once. It should be closed once it is not used anymore, to stop
+ * its workers.
+ * </p>
+ * @param <T> Sub-type of Competitor
+ */
+public class ProcessMatch<T extends Competitor> implements Match<T>, AutoCloseable {
+
+    /** Number of seconds a worker is given to exit once its input is closed */
+    private static final long EXIT_TIMEOUT_SECONDS = 5;
+
+    /**
+     * Create a pool of workers running the given program. Workers are started
+     * when they are first needed.
+     * @param command program to run and its arguments
+     * @param poolSize number of workers
+     * @param maxPending maximum number of requests sent to a worker and not
+     * answered yet
+     * @throws IllegalArgumentException iff the command is empty, or the pool
+     * size or maximum number of pending requests is not positive
+     */
+    public ProcessMatch(List<String> command, int poolSize, int maxPending) {
+        if (command.isEmpty()) {
+            throw new IllegalArgumentException("command must not be empty");
+        }
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("poolSize must be positive");
+        }
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("maxPending must be positive");
+        }
+        this.command = new ArrayList<>(command);
+        this.maxPending = maxPending;
+        this.workers = new ArrayList<>();
+        for (int i = 0; i < poolSize; i++) {
+            this.workers.add(null);
+        }
+        this.nextSlot = new AtomicInteger();
+        this.nbRestarts = 0;
+        this.closed = false;
+        this.lock = new ReentrantLock();
+    }
+
+    /**
+     * Play a match between <code>c1</code> and <code>c2</code> on a worker,
+     * and wait for its outcome
+     * {@link etu.simonzo.competition.match.Match#playWith}
+     * @throws UncheckedIOException if the worker could not be started, or
+     * exited before answering
+     * @throws IllegalStateException if this match is closed, or if the
+     * current thread is interrupted while waiting
+     */
+    public MatchOutcome playWith(T c1, T c2) {
+        try {
+            return this.playAsync(c1, c2).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a worker", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Send the match between <code>c1</code> and <code>c2</code> to a worker,
+     * without waiting for its outcome. If the worker already has the maximum
+     * number of pending requests, this method waits until one of them is
+     * answered.
+     * {@link etu.simonzo.competition.match.Match#playAsync}
+     * @throws UncheckedIOException if the worker could not be started
+     * @throws IllegalStateException if this match is closed, or if the
+     * current thread is interrupted while waiting
+     */
+    public CompletableFuture<MatchOutcome> playAsync(T c1, T c2) {
+        int slot = Math.floorMod(this.nextSlot.getAndIncrement(), this.workers.size());
+        return this.workerAt(slot).submit(c1.getName(), c2.getName());
+    }
+
+    /**
+     * Return the number of workers of the pool
+     * @return Size of the pool
+     */
+    public int getPoolSize() {
+        return this.workers.size();
+    }
+
+    /**
+     * Return the maximum number of requests sent to a worker and not
+     * answered yet
+     * @return Maximum number of pending requests by worker
+     */
+    public int getMaxPending() {
+        return this.maxPending;
+    }
+
+    /**
+     * Return the number of workers started to replace a worker which exited
+     * @return Number of restarts
+     */
+    public int getNbRestarts() {
+        this.lock.lock();
+        try {
+            return this.nbRestarts;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Close the input of every worker, and wait for them to exit. Workers
+     * still running after a few seconds are killed. Matches cannot be played
+     * anymore.
+     * @throws IllegalStateException if the current thread is interrupted while
+     * waiting
+     */
+    public void close() {
+        List<Worker> running = new ArrayList<>();
+        this.lock.lock();
+        try {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            for (Worker worker : this.workers) {
+                if (worker != null) {
+                    running.add(worker);
+                }
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        for (Worker worker : running) {
+            worker.stop();
+        }
+    }
+
+    /**
+     * Return the worker of a slot of the pool, starting it if it was not
+     * started yet or if it exited
+     * @param slot slot of the pool
+     * @return a running worker
+     * @throws UncheckedIOException if the worker could not be started
+     * @throws IllegalStateException if this match is closed
+     */
+    private Worker workerAt(int slot) {
+        this.lock.lock();
+        try {
+            if (this.closed) {
+                throw new IllegalStateException("Match is closed");
+            }
+            Worker worker = this.workers.get(slot);
+            if (worker == null || !worker.alive) {
+                if (worker != null) {
+                    this.nbRestarts++;
+                }
+                worker = new Worker();
+                this.workers.set(slot, worker);
+            }
+            return worker;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Escape the characters of a name which have a meaning in the protocol
+     * @param name name of a competitor
+     * @return escaped name
+     */
+    static String escape(String name) {
+        StringBuilder escaped = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            switch (c) {
+            case '\\':
+                escaped.append("\\\\");
+                break;
+            case '\t':
+                escaped.append("\\t");
+                break;
+            case '\n':
+                escaped.append("\\n");
+                break;
+            case '\r':
+                escaped.append("\\r");
+                break;
+            default:
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Give the outcome of a response
+     * @param code outcome field of a response
+     * @return the outcome, or null if the code is invalid
+     */
+    private static MatchOutcome outcomeOf(String code) {
+        switch (code) {
+        case "1":
+            return MatchOutcome.FIRST_PLAYER_WIN;
+        case "2":
+            return MatchOutcome.SECOND_PLAYER_WIN;
+        case "0":
+            return MatchOutcome.TIE;
+        default:
+            return null;
+        }
+    }
+
+    /** Program run by the workers, and its arguments */
+    private List<String> command;
+
+    /** Maximum number of pending requests by worker */
+    private int maxPending;
+
+    /** Workers of the pool, null until they are first needed */
+    private List<Worker> workers;
+
+    /** Slot of the worker which plays the next match, modulo the pool size */
+    private AtomicInteger nextSlot;
+
+    /** Number of restarted workers */
+    private int nbRestarts;
+
+    /** Whether this match is closed */
+    private boolean closed;
+
+    /** Lock guarding the workers, the number of restarts and closing */
+    private ReentrantLock lock;
+
+    /**
+     * A worker process, with the requests sent to it and not answered yet. A
+     * daemon thread reads its responses and completes the matching requests.
+     */
+    private final class Worker {
+
+        /**
+         * Start a worker process and the thread reading its responses
+         * @throws UncheckedIOException if the process could not be started
+         */
+        Worker() {
+            ProcessBuilder builder = new ProcessBuilder(ProcessMatch.this.command);
+            builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+            try {
+                this.process = builder.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start worker", e);
+            }
+            this.input = new BufferedWriter(new OutputStreamWriter(
+                this.process.getOutputStream(), StandardCharsets.UTF_8));
+            this.pending = new ConcurrentHashMap<>();
+            this.permits = new Semaphore(ProcessMatch.this.maxPending);
+            this.nextId = 0;
+            this.alive = true;
+            this.reader = new Thread(this::readResponses, "process-match-reader");
+            this.reader.setDaemon(true);
+            this.reader.start();
+        }
+
+        /**
+         * Send a request to this worker
+         * @param name1 name of the first competitor
+         * @param name2 name of the second competitor
+         * @return the outcome of the match, once the worker answers
+         * @throws IllegalStateException if the current thread is interrupted
+         * while waiting for a pending request to be answered
+         */
+        CompletableFuture<MatchOutcome> submit(String name1, String name2) {
+            try {
+                this.permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a worker", e);
+            }
+            CompletableFuture<MatchOutcome> future = new CompletableFuture<>();
+            future.whenComplete((outcome, failure) -> this.permits.release());
+            synchronized (this.input) {
+                long id = this.nextId++;
+                this.pending.put(id, future);
+                if (!this.alive) {
+                    // The worker may have failed before the request was
+                    // registered, in which case fail did not see it
+                    this.pending.remove(id);
+                    future.completeExceptionally(new UncheckedIOException(
+                        new IOException("Worker exited")));
+                    return future;
+                }
+                try {
+                    this.input.write(id + "\t" + escape(name1) + "\t" + escape(name2) + "\n");
+                    this.input.flush();
+                } catch (IOException e) {
+                    this.fail(e);
+                }
+            }
+            return future;
+        }
+
+        /**
+         * Body of the reader thread: complete the requests answered by the
+         * worker, until it exits or breaks the protocol
+         */
+        private void readResponses() {
+            try (BufferedReader output = new BufferedReader(new InputStreamReader(
+                     this.process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = output.readLine()) != null) {
+                    int tab = line.indexOf('\t');
+                    CompletableFuture<MatchOutcome> future = null;
+                    MatchOutcome outcome = null;
+                    if (tab > 0) {
+                        try {
+                            future = this.pending.remove(Long.parseLong(line.substring(0, tab)));
+                        } catch (NumberFormatException e) {
+                            future = null;
+                        }
+                        outcome = outcomeOf(line.substring(tab + 1));
+                    }
+                    if (future == null || outcome == null) {
+                        IOException cause = new IOException("Invalid response from worker: " + line);
+                        if (future != null) {
+                            future.completeExceptionally(new UncheckedIOException(cause));
+                        }
+                        this.fail(cause);
+                        return;
+                    }
+                    future.complete(outcome);
+                }
+                this.fail(new IOException("Worker exited"));
+            } catch (IOException e) {
+                this.fail(e);
+            }
+        }
+
+        /**
+         * Mark this worker as dead, kill its process, and fail its pending
+         * requests
+         * @param cause why the worker is dead
+         */
+        private void fail(IOException cause) {
+            this.alive = false;
+            this.process.destroy();
+            UncheckedIOException failure = new UncheckedIOException(cause);
+            for (Map.Entry<Long, CompletableFuture<MatchOutcome>> entry : this.pending.entrySet()) {
+                if (this.pending.remove(entry.getKey(), entry.getValue())) {
+                    entry.getValue().completeExceptionally(failure);
+                }
+            }
+        }
+
+        /**
+         * Close the input of the worker and wait for it to exit, killing it if
+         * it does not exit in time
+         * @throws IllegalStateException if the current thread is interrupted
+         * while waiting
+         */
+        void stop() {
+            synchronized (this.input) {
+                try {
+                    this.input.close();
+                } catch (IOException e) {
+                    // The worker exited already
+                }
+            }
+            try {
+                if (!this.process.waitFor(EXIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    this.process.destroyForcibly();
+                }
+                this.reader.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while stopping a worker", e);
+            }
+        }
+
+        /** Worker process */
+        private Process process;
+
+        /** Standard input of the worker, also guarding the request numbers */
+        private BufferedWriter input;
+
+        /** Requests sent to the worker and not answered yet, by number */
+        private Map<Long, CompletableFuture<MatchOutcome>> pending;
+
+        /** Number of requests which may still be sent without waiting */
+        private Semaphore permits;
+
+        /** Number of the next request */
+        private long nextId;
+
+        /** Whether the worker is running and follows the protocol */
+        private volatile boolean alive;
+
+        /** Thread reading the responses of the worker */
+        private Thread reader;
+    }
+}
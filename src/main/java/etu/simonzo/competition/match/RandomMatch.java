@@ -1,25 +1,142 @@
 package etu.simonzo.competition.match;
 
-import java.util.Random;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.competitors.CompetitorIndex;
+import etu.simonzo.competition.fixtures.Fixture;
 
 /**
  * Represents a match "rule" where match are played just randomly.
  * That is to say that the each confronted competitors has equal
  * probability to win. So the issue of the match can't be predicted.
+ * <p>
+ * An unseeded match draws its outcomes from a generator owned by the calling
+ * thread, so that threads playing matches at the same time never compete for
+ * a shared generator. A buffered match (see
+ * {@link RandomMatch#RandomMatch(boolean)}) draws 64 outcomes at once from
+ * this generator, keeps them in a buffer owned by the calling thread, and
+ * serves the next matches played by this thread from the buffer. Batches of
+ * matches ({@link RandomMatch#playAll}) are always drawn 64 at a time.
+ * </p>
+ * <p>
+ * A seeded match is counter-based: it is given the list of the competitors
+ * who may play, and gives each of them a dense index (see
+ * {@link CompetitorIndex}). The outcome of a match is a hash of the seed, of
+ * the indices of the two competitors, in order, and of the number of times
+ * these two competitors already played each other in this order with this
+ * match "rule". It does not depend on the other matches played before, nor on
+ * the thread which plays it, so a competition played with the same seed gives
+ * the same outcomes whether it is played sequentially or concurrently,
+ * whatever the order in which the matches are scheduled. Distinct competitors
+ * are never confused, even when they share a name, and a rematch gets its own
+ * outcome. Independent streams of outcomes, for instance one for each run of a
+ * simulation, are derived from a seeded match with
+ * {@link RandomMatch#split(long)}.
+ * </p>
  * @param <T> Sub-type of Competitor
  */
 public class RandomMatch<T extends Competitor> implements Match<T> {
     /**
-     * used to generate random value for deciding the issue of a match
+     * Increment of the SplitMix64 generator, used to derive streams
      */
-    private Random randomGenerator;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Outcomes drawn in advance by buffered matches, for each thread
+     */
+    private static final ThreadLocal<OutcomeBuffer> BUFFERS =
+        ThreadLocal.withInitial(OutcomeBuffer::new);
+
+    /**
+     * whether outcomes are derived from {@link RandomMatch#seed}
+     */
+    private boolean seeded;
+
+    /**
+     * seed from which outcomes are derived, when the match is seeded
+     */
+    private long seed;
+
+    /**
+     * whether unseeded outcomes are served from a buffer owned by the thread
+     */
+    private boolean buffered;
+
+    /**
+     * dense index of the competitors who may play, when the match is seeded
+     */
+    private CompetitorIndex<T> index;
+
+    /**
+     * number of matches already played by each ordered pair of competitors,
+     * when the match is seeded
+     */
+    private RematchCounter rematches;
+
     /**
      * Create a match "rule" where match are played just randomly.
      */
     public RandomMatch() {
-        this.randomGenerator = new Random();
+        this(false);
+    }
+
+    /**
+     * Create a match "rule" where match are played just randomly, whose
+     * outcomes may be drawn in advance, 64 at a time, and kept in a buffer
+     * owned by the calling thread until they are played. This costs less
+     * than drawing each outcome from the generator when many matches are
+     * played one by one.
+     * @param buffered whether outcomes are drawn in advance
+     */
+    public RandomMatch(boolean buffered) {
+        this.seeded = false;
+        this.seed = 0;
+        this.buffered = buffered;
+        this.index = null;
+        this.rematches = null;
+    }
+
+    /**
+     * Create a match "rule" where match are played randomly, but reproducibly:
+     * two matches created with the same competitors and the same seed give
+     * the same outcome to the n-th match played between the same competitors,
+     * in the same order.
+     * @param competitors List of the competitors who may play
+     * @param seed seed from which outcomes are derived
+     */
+    public RandomMatch(List<T> competitors, long seed) {
+        this(new CompetitorIndex<>(competitors), seed);
+    }
+
+    /**
+     * Create a seeded match "rule" sharing the index of another one
+     * @param index Dense index of the competitors who may play
+     * @param seed seed from which outcomes are derived
+     */
+    private RandomMatch(CompetitorIndex<T> index, long seed) {
+        this.seeded = true;
+        this.seed = seed;
+        this.buffered = false;
+        this.index = index;
+        this.rematches = new RematchCounter();
+    }
+
+    /**
+     * Derive a new match "rule", whose outcomes are independent from the
+     * outcomes of this one. Splitting the same seeded match with the same
+     * stream number always gives the same outcomes; the derived match counts
+     * its rematches from zero. Splitting an unseeded match gives a new
+     * unseeded match, buffered iff this one is.
+     * @param stream number of the derived stream
+     * @return a match "rule" playing the derived stream
+     */
+    public RandomMatch<T> split(long stream) {
+        if (!this.seeded) {
+            return new RandomMatch<>(this.buffered);
+        }
+        return new RandomMatch<>(this.index, mix(this.seed + GOLDEN_GAMMA * (stream + 1)));
     }
 
     /**
@@ -27,16 +144,98 @@ public class RandomMatch<T extends Competitor> implements Match<T> {
      * The issue of the match is decided randomly.
      * For this match mechanism, there must be a winner at the end
      * of the match <strong>(there is no tie)</strong>.
+     * This method may be called from several threads at once.
      * @param c1 competitor that will confront <code>c2</code>
      * @param c2 competitor that will confront <code>c1</code>
      * @return <ul>
      *          <li><code>MatchOutcome.FIRST_PLAYER_WIN</code> iff c1 wins</li>
      *          <li><code>MatchOutcome.SECOND_PLAYER_WIN</code> iff c2 wins</li>
      *         </ul>
+     * @throws IllegalArgumentException if the match is seeded and one of the
+     * competitors is not one of its competitors
      */
     public MatchOutcome playWith(T c1, T c2) {
-        return this.randomGenerator.nextBoolean() ?
+        boolean firstWins;
+        if (this.seeded) {
+            int i = this.index.indexOf(c1);
+            int j = this.index.indexOf(c2);
+            if (i < 0 || j < 0) {
+                throw new IllegalArgumentException("Unknown competitor");
+            }
+            long rematch = this.rematches.next(i, j);
+            long fixture = mix(((long) i << 32) | j) + GOLDEN_GAMMA * rematch;
+            firstWins = mix(this.seed ^ mix(fixture)) >= 0;
+        } else if (this.buffered) {
+            firstWins = BUFFERS.get().nextBit();
+        } else {
+            firstWins = ThreadLocalRandom.current().nextBoolean();
+        }
+        return firstWins ?
             MatchOutcome.FIRST_PLAYER_WIN :
             MatchOutcome.SECOND_PLAYER_WIN;
     }
+
+    /**
+     * Play a batch of matches. An unseeded match draws the outcomes 64 at a
+     * time, each bit of a random long deciding a match; a seeded match plays
+     * them one by one, so that the outcomes do not depend on the batches.
+     * {@link etu.simonzo.competition.match.Match#playAll}
+     */
+    public MatchOutcome[] playAll(List<Fixture<T>> fixtures) {
+        if (this.seeded) {
+            return Match.super.playAll(fixtures);
+        }
+        MatchOutcome[] outcomes = new MatchOutcome[fixtures.size()];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long bits = 0;
+        for (int k = 0; k < outcomes.length; k++) {
+            if ((k & 63) == 0) {
+                bits = random.nextLong();
+            }
+            outcomes[k] = (bits & 1) != 0 ?
+                MatchOutcome.FIRST_PLAYER_WIN :
+                MatchOutcome.SECOND_PLAYER_WIN;
+            bits >>>= 1;
+        }
+        return outcomes;
+    }
+
+    /**
+     * Scramble the bits of a value (finalizer of the SplitMix64 generator).
+     * Close values give unrelated results.
+     * @param z value to scramble
+     * @return scrambled value
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Outcomes drawn in advance, 64 at a time, for a single thread
+     */
+    private static final class OutcomeBuffer {
+
+        /**
+         * Give the next outcome, drawing 64 new ones when none is left
+         * @return whether the first competitor wins
+         */
+        boolean nextBit() {
+            if (this.remaining == 0) {
+                this.bits = ThreadLocalRandom.current().nextLong();
+                this.remaining = 64;
+            }
+            this.remaining--;
+            boolean bit = (this.bits & 1) != 0;
+            this.bits >>>= 1;
+            return bit;
+        }
+
+        /** Outcomes left, one by bit, lowest bit first */
+        private long bits;
+
+        /** Number of outcomes left */
+        private int remaining;
+    }
 }
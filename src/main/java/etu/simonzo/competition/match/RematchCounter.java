@@ -0,0 +1,61 @@
+package etu.simonzo.competition.match;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import etu.simonzo.competition.util.LongIntHashMap;
+
+/**
+ * Counts the matches played by each ordered pair of competitors, given by
+ * their dense indices, so that seeded matches can give each rematch its own
+ * outcome. Only the pairs which actually played are stored, in hash maps of
+ * primitive values, so the memory used grows with the number of matches
+ * played rather than with the square of the number of competitors.
+ * The pairs are spread over stripes, each one with its own lock and its own
+ * map, so that threads counting different pairs rarely wait for each other.
+ */
+class RematchCounter {
+
+    /** Number of stripes, a power of two larger than the number of processors */
+    private static final int NB_STRIPES =
+        Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) * 2;
+
+    /**
+     * Create a counter where no pair has played yet
+     */
+    RematchCounter() {
+        this.locks = new ReentrantLock[NB_STRIPES];
+        this.counts = new LongIntHashMap[NB_STRIPES];
+        for (int s = 0; s < NB_STRIPES; s++) {
+            this.locks[s] = new ReentrantLock();
+            this.counts[s] = new LongIntHashMap(0);
+        }
+    }
+
+    /**
+     * Count a match between two competitors. This method may be called from
+     * several threads at once.
+     * @param i index of the first competitor
+     * @param j index of the second competitor
+     * @return the number of matches played by <code>i</code> against
+     * <code>j</code>, in this order, before this one
+     */
+    int next(int i, int j) {
+        long pair = ((long) i << 32) | (j & 0xffffffffL);
+        // Consecutive pairs fall in different stripes
+        int s = (int) ((pair ^ (pair >>> 32)) * 0x9e3779b9L >>> 16) & (NB_STRIPES - 1);
+        this.locks[s].lock();
+        try {
+            int count = this.counts[s].get(pair, 0);
+            this.counts[s].put(pair, count + 1);
+            return count;
+        } finally {
+            this.locks[s].unlock();
+        }
+    }
+
+    /** Lock of each stripe */
+    private ReentrantLock[] locks;
+
+    /** Number of matches played by each pair of a stripe */
+    private LongIntHashMap[] counts;
+}
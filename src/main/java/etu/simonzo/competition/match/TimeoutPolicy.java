@@ -0,0 +1,18 @@
+package etu.simonzo.competition.match;
+
+/**
+ * What a {@link DeadlineMatch} does when a match is not over in time.
+ */
+public enum TimeoutPolicy {
+    /** Give up the match, and return the fallback outcome instead */
+    FALLBACK,
+    /**
+     * Play the match again, up to a given number of times, then abort the
+     * competition if it never ends in time
+     */
+    RETRY,
+    /**
+     * Throw an exception, which stops the competition playing the match
+     */
+    ABORT
+}
@@ -0,0 +1,274 @@
+package etu.simonzo.competition.observer.dispatch;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A dispatcher which runs deliveries on its own thread, so that slow listeners
+ * (eg. listeners writing to a slow displayer) do not slow down the matches.
+ * Dispatched deliveries are put in a bounded ring buffer, and a dedicated
+ * consumer thread runs them one after the other, in the order they were
+ * dispatched. When the buffer is full, an {@link OverflowPolicy} decides what
+ * happens to discardable deliveries.
+ * Listeners are then called from the consumer thread, never from the thread
+ * playing the competition. If a delivery throws an exception or an error, the
+ * following deliveries are still run, and the first one is rethrown by the
+ * next call to {@link AsyncEventDispatcher#awaitDrained()}.
+ * A dispatcher can be shared by several competitions. It should be closed once
+ * it is not used anymore, to stop its consumer thread.
+ */
+public class AsyncEventDispatcher implements EventDispatcher, AutoCloseable {
+
+    /**
+     * Create a dispatcher and start its consumer thread.
+     * @param capacity maximum number of deliveries waiting to be run
+     * @param policy what to do with discardable deliveries when the buffer
+     * is full
+     * @throws IllegalArgumentException iff <code>capacity</code> is not
+     * positive
+     */
+    public AsyncEventDispatcher(int capacity, OverflowPolicy policy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.deliveries = new Runnable[capacity];
+        this.discardable = new boolean[capacity];
+        this.head = 0;
+        this.count = 0;
+        this.running = false;
+        this.closed = false;
+        this.nbDiscarded = 0;
+        this.failure = null;
+        this.policy = policy;
+        this.lock = new ReentrantLock();
+        this.notEmpty = this.lock.newCondition();
+        this.notFull = this.lock.newCondition();
+        this.drained = this.lock.newCondition();
+        this.consumer = new Thread(this::consume, "event-dispatcher");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    /**
+     * Put the given delivery in the buffer, to be run by the consumer thread.
+     * If the buffer is full, a delivery which is not discardable waits for a
+     * free slot; a discardable one is handled according to the overflow
+     * policy of this dispatcher.
+     * @param delivery calls to make on the listeners
+     * @param discardable whether the delivery may be discarded when the buffer
+     * is full
+     * @throws IllegalStateException if this dispatcher is closed, or if the
+     * current thread is interrupted while waiting for a free slot
+     */
+    public void dispatch(Runnable delivery, boolean discardable) {
+        this.lock.lock();
+        try {
+            this.ensureOpen();
+            if (this.count == this.deliveries.length && discardable) {
+                if (this.policy == OverflowPolicy.DROP) {
+                    this.nbDiscarded++;
+                    return;
+                }
+                int tail = (this.head + this.count - 1) % this.deliveries.length;
+                if (this.policy == OverflowPolicy.REPLACE_NEWEST && this.discardable[tail]) {
+                    this.deliveries[tail] = delivery;
+                    this.nbDiscarded++;
+                    return;
+                }
+            }
+            while (this.count == this.deliveries.length) {
+                this.await(this.notFull);
+                this.ensureOpen();
+            }
+            int tail = (this.head + this.count) % this.deliveries.length;
+            this.deliveries[tail] = delivery;
+            this.discardable[tail] = discardable;
+            this.count++;
+            this.notEmpty.signal();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Wait until every delivery dispatched so far has been run by the consumer
+     * thread.
+     * @throws RuntimeException the first unchecked exception thrown by a
+     * delivery since the previous call, if any
+     * @throws Error the first error thrown by a delivery since the previous
+     * call, if it was thrown before any exception
+     * @throws IllegalStateException if the current thread is interrupted while
+     * waiting, or wrapping the first checked exception thrown by a delivery
+     */
+    public void awaitDrained() {
+        this.lock.lock();
+        try {
+            while (this.count > 0 || this.running) {
+                this.await(this.drained);
+            }
+            Throwable failure = this.failure;
+            this.failure = null;
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            if (failure != null) {
+                throw new IllegalStateException(failure);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Return the number of deliveries discarded so far because the buffer was
+     * full.
+     * @return Number of discarded deliveries
+     */
+    public long getNbDiscarded() {
+        this.lock.lock();
+        try {
+            return this.nbDiscarded;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Wait until every pending delivery has been run, then stop the consumer
+     * thread. Deliveries cannot be dispatched anymore.
+     * @throws IllegalStateException if the current thread is interrupted while
+     * waiting
+     */
+    public void close() {
+        this.lock.lock();
+        try {
+            if (this.closed) {
+                return;
+            }
+            while (this.count > 0 || this.running) {
+                this.await(this.drained);
+            }
+            this.closed = true;
+            this.notEmpty.signalAll();
+            this.notFull.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Body of the consumer thread: run the deliveries of the buffer one after
+     * the other, until this dispatcher is closed.
+     */
+    private void consume() {
+        while (true) {
+            Runnable delivery;
+            this.lock.lock();
+            try {
+                while (this.count == 0 && !this.closed) {
+                    this.notEmpty.awaitUninterruptibly();
+                }
+                if (this.count == 0) {
+                    return;
+                }
+                delivery = this.deliveries[this.head];
+                this.deliveries[this.head] = null;
+                this.head = (this.head + 1) % this.deliveries.length;
+                this.count--;
+                this.running = true;
+                this.notFull.signal();
+            } finally {
+                this.lock.unlock();
+            }
+            Throwable failure = null;
+            try {
+                delivery.run();
+            } catch (Throwable e) {
+                // Errors are caught too: otherwise the thread would die with
+                // running still set, and awaitDrained would wait forever
+                failure = e;
+            }
+            this.lock.lock();
+            try {
+                this.running = false;
+                if (failure != null && this.failure == null) {
+                    this.failure = failure;
+                }
+                if (this.count == 0) {
+                    this.drained.signalAll();
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Wait on a condition of the lock, which must be held.
+     * @param condition condition to wait on
+     * @throws IllegalStateException if the current thread is interrupted
+     */
+    private void await(Condition condition) {
+        try {
+            condition.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for listeners", e);
+        }
+    }
+
+    /**
+     * Check that this dispatcher is not closed. The lock must be held.
+     * @throws IllegalStateException if this dispatcher is closed
+     */
+    private void ensureOpen() {
+        if (this.closed) {
+            throw new IllegalStateException("Dispatcher is closed");
+        }
+    }
+
+    /** Ring buffer of the deliveries waiting to be run */
+    private Runnable[] deliveries;
+
+    /** Whether each delivery of the buffer is discardable */
+    private boolean[] discardable;
+
+    /** Slot of the oldest delivery of the buffer */
+    private int head;
+
+    /** Number of deliveries in the buffer */
+    private int count;
+
+    /** Whether the consumer thread is running a delivery */
+    private boolean running;
+
+    /** Whether this dispatcher is closed */
+    private boolean closed;
+
+    /** Number of deliveries discarded because the buffer was full */
+    private long nbDiscarded;
+
+    /** First exception or error thrown by a delivery and not rethrown yet */
+    private Throwable failure;
+
+    /** What to do with discardable deliveries when the buffer is full */
+    private OverflowPolicy policy;
+
+    /** Lock guarding every field above */
+    private ReentrantLock lock;
+
+    /** Signalled when a delivery is put in the buffer, or on close */
+    private Condition notEmpty;
+
+    /** Signalled when a slot of the buffer is freed, or on close */
+    private Condition notFull;
+
+    /** Signalled when the buffer is empty and no delivery is running */
+    private Condition drained;
+
+    /** Thread running the deliveries */
+    private Thread consumer;
+}
@@ -0,0 +1,24 @@
+package etu.simonzo.competition.observer.dispatch;
+
+/**
+ * Delivers the events of a competition to its listeners. A competition hands
+ * each event to its dispatcher as a delivery, ie. the calls to make on every
+ * listener, and the dispatcher decides on which thread and when the delivery
+ * is run. Deliveries are always run in the order they were dispatched.
+ */
+public interface EventDispatcher {
+
+    /**
+     * Run the given delivery, now or later.
+     * @param delivery calls to make on the listeners
+     * @param discardable whether the delivery may be discarded when the
+     * dispatcher cannot keep up (typically, the delivery of a match event).
+     * Deliveries which are not discardable are always run.
+     */
+    public void dispatch(Runnable delivery, boolean discardable);
+
+    /**
+     * Wait until every delivery dispatched so far has been run.
+     */
+    public void awaitDrained();
+}
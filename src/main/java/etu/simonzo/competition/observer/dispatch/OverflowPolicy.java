@@ -0,0 +1,20 @@
+package etu.simonzo.competition.observer.dispatch;
+
+/**
+ * What an {@link AsyncEventDispatcher} does with a discardable delivery when
+ * its buffer is full. Deliveries which are not discardable always wait for a
+ * free slot.
+ */
+public enum OverflowPolicy {
+    /** Wait until a slot of the buffer is free: no delivery is lost */
+    BLOCK,
+    /** Discard the new delivery, keeping the older ones */
+    DROP,
+    /**
+     * Replace the newest pending delivery by the new one, if the newest one is
+     * discardable (otherwise, wait for a free slot). The replaced delivery is
+     * lost, whatever the events it carries, so that listeners always end up
+     * receiving the most recent event.
+     */
+    REPLACE_NEWEST
+}
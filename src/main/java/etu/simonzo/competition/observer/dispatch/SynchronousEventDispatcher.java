@@ -0,0 +1,42 @@
+package etu.simonzo.competition.observer.dispatch;
+
+/**
+ * A dispatcher which runs each delivery right away, on the thread which
+ * dispatches it. This is the dispatcher used by default by competitions.
+ */
+public class SynchronousEventDispatcher implements EventDispatcher {
+
+    /**
+     * the unique instance of SynchronousEventDispatcher (singleton pattern)
+     */
+    private static final SynchronousEventDispatcher SYNCHRONOUS_EVENT_DISPATCHER_SINGLETON =
+            new SynchronousEventDispatcher();
+
+    /**
+     * Create a synchronous dispatcher.
+     */
+    private SynchronousEventDispatcher() {}
+
+    /**
+     * Run the given delivery on the calling thread. It is never discarded.
+     * @param delivery calls to make on the listeners
+     * @param discardable ignored
+     */
+    public void dispatch(Runnable delivery, boolean discardable) {
+        delivery.run();
+    }
+
+    /**
+     * Return immediately, since every delivery was already run.
+     */
+    public void awaitDrained() {}
+
+    /**
+     * Give the unique instance of SynchronousEventDispatcher. (singleton
+     * pattern is used)
+     * @return the unique instance of SynchronousEventDispatcher
+     */
+    public static SynchronousEventDispatcher getInstance() {
+        return SYNCHRONOUS_EVENT_DISPATCHER_SINGLETON;
+    }
+}
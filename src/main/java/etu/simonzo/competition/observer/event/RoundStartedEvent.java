@@ -0,0 +1,54 @@
+package etu.simonzo.competition.observer.event;
+
+import java.util.EventObject;
+
+import etu.simonzo.competition.competitions.Competition;
+import etu.simonzo.competition.competitors.Competitor;
+
+/**
+ * Event which can be emitted to indicate that a round of a round-based
+ * competition has started, i.e that the matches of that round will be soon
+ * played. This event encapsulates the number of the round which started
+ * (<code>1</code> for the first round) and the total number of rounds of the
+ * competition.
+ * @param <T> Sub-type of Competitor
+ */
+public class RoundStartedEvent<T extends Competitor> extends EventObject {
+
+    /**
+     * Create an event to indicate that a round has started in the source
+     * competition.
+     * @param source Competition which emitted the event
+     * @param round Number of the round which started, from <code>1</code> to
+     * <code>nbRounds</code>
+     * @param nbRounds Total number of rounds of the competition
+     */
+    public RoundStartedEvent(Competition<T> source, int round, int nbRounds) {
+        super(source);
+        this.round = round;
+        this.nbRounds = nbRounds;
+    }
+
+    /**
+     * Return the number of the round which started
+     * @return Number of the round, <code>1</code> for the first round
+     */
+    public int getRound() {
+        return this.round;
+    }
+
+    /**
+     * Return the total number of rounds of the competition
+     * @return Total number of rounds
+     */
+    public int getNbRounds() {
+        return this.nbRounds;
+    }
+
+    /** Number of the round which started */
+    private int round;
+
+    /** Total number of rounds of the competition */
+    private int nbRounds;
+
+}
@@ -9,8 +9,11 @@ import etu.simonzo.competition.competitors.Competitor;
  * Interface representing entities which can listen to events emitted by
  * competitions. Classes implementing this interface must listen to the
  * following events:
- * {@link MatchEvent}, {@link CompetitionStartEvent} and
- * {@link CompetitionEndEvent}
+ * {@link MatchEvent}, {@link CompetitionStartEvent},
+ * {@link CompetitionEndEvent}, {@link GroupsFormedEvent},
+ * {@link QualifiedCompetitorsSelectedEvent} and
+ * {@link TournamentPhaseStartedEvent}. They may also listen to
+ * {@link RoundStartedEvent}, which is ignored by default.
  * @param <T> Sub-type of Competitor
  */
 public interface CompetitionListener<T extends Competitor> extends EventListener {
@@ -58,4 +61,13 @@ public interface CompetitionListener<T extends Competitor> extends EventListener
      */
     public void tournamentPhaseStarted(TournamentPhaseStartedEvent<T> event);
 
+    /**
+     * Listen and react to a {@link RoundStartedEvent} emitted by a
+     * competition. Does nothing by default, so that listeners written before
+     * round-based competitions existed keep compiling.
+     * @param event Event indicating that a round of a round-based competition
+     * has started
+     */
+    public default void roundStarted(RoundStartedEvent<T> event) {}
+
 }
@@ -0,0 +1,136 @@
+package etu.simonzo.competition.observer.listener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import etu.simonzo.competition.observer.dispatch.EventDispatcher;
+import etu.simonzo.competition.observer.dispatch.SynchronousEventDispatcher;
+import etu.simonzo.competition.observer.event.*;
+import etu.simonzo.competition.competitors.Competitor;
+
+/**
+ * Implementation of CompetitionListener which keeps every event it receives,
+ * in the order they are received, so that they can later be replayed to other
+ * listeners. A recorder is typically subscribed to a competition played on
+ * another thread: once that competition is over, the recorded events are
+ * delivered to the real listeners from a single thread, as if they had
+ * listened to the competition themselves.
+ * @param <T> Sub-type of Competitor
+ */
+public class EventRecorder<T extends Competitor> implements CompetitionListener<T> {
+
+    /**
+     * Create a recorder which has not recorded any event yet.
+     */
+    public EventRecorder() {
+        this.deliveries = new ArrayList<>();
+        this.discardable = new BitSet();
+    }
+
+    /**
+     * Record the event.
+     * @param event Event indicating that a match was played
+     */
+    public void matchPlayed(MatchEvent<T> event) {
+        this.discardable.set(this.deliveries.size());
+        this.deliveries.add(l -> l.matchPlayed(event));
+    }
+
+    /**
+     * Record the event.
+     * @param event Event indicating that a competition was started
+     */
+    public void competitionStarted(CompetitionStartEvent<T> event) {
+        this.deliveries.add(l -> l.competitionStarted(event));
+    }
+
+    /**
+     * Record the event.
+     * @param event Event indicating that a competition was ended
+     */
+    public void competitionEnded(CompetitionEndEvent<T> event) {
+        this.deliveries.add(l -> l.competitionEnded(event));
+    }
+
+    /**
+     * Record the event.
+     * @param event Event indicating that groups were formed in a groups-based
+     * competition
+     */
+    public void groupsFormed(GroupsFormedEvent<T> event) {
+        this.deliveries.add(l -> l.groupsFormed(event));
+    }
+
+    /**
+     * Record the event.
+     * @param event Event indicating that qualified competitors were selected
+     */
+    public void qualifiedCompetitorsSelected(QualifiedCompetitorsSelectedEvent<T> event) {
+        this.deliveries.add(l -> l.qualifiedCompetitorsSelected(event));
+    }
+
+    /**
+     * Record the event.
+     * @param event Event indicating that the tournament phase of a competition
+     * has started
+     */
+    public void tournamentPhaseStarted(TournamentPhaseStartedEvent<T> event) {
+        this.deliveries.add(l -> l.tournamentPhaseStarted(event));
+    }
+
+    /**
+     * Record the event.
+     * @param event Event indicating that a round of a round-based competition
+     * has started
+     */
+    public void roundStarted(RoundStartedEvent<T> event) {
+        this.deliveries.add(l -> l.roundStarted(event));
+    }
+
+    /**
+     * Deliver every recorded event to the given listeners, in the order they
+     * were recorded. Each event is delivered to every listener before the next
+     * event is delivered.
+     * @param listeners the listeners which receive the recorded events
+     */
+    public void replayTo(Collection<CompetitionListener<T>> listeners) {
+        this.replayTo(listeners, SynchronousEventDispatcher.getInstance());
+    }
+
+    /**
+     * Hand every recorded event over to the given dispatcher, in the order
+     * they were recorded, to be delivered to the given listeners. Match events
+     * are dispatched as discardable deliveries, the other events are not.
+     * @param listeners the listeners which receive the recorded events
+     * @param dispatcher the dispatcher which delivers the recorded events
+     */
+    public void replayTo(Collection<CompetitionListener<T>> listeners,
+                         EventDispatcher dispatcher) {
+        for (int i = 0; i < this.deliveries.size(); i++) {
+            Consumer<CompetitionListener<T>> delivery = this.deliveries.get(i);
+            dispatcher.dispatch(() -> {
+                for (CompetitionListener<T> l : listeners) {
+                    delivery.accept(l);
+                }
+            }, this.discardable.get(i));
+        }
+    }
+
+    /**
+     * Return the number of events recorded so far.
+     * @return Number of recorded events
+     */
+    public int size() {
+        return this.deliveries.size();
+    }
+
+    /** Recorded events, each one as the call to make on a listener */
+    private List<Consumer<CompetitionListener<T>>> deliveries;
+
+    /** Positions in <code>deliveries</code> of the recorded match events */
+    private BitSet discardable;
+
+}
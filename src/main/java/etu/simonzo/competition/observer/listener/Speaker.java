@@ -244,6 +244,23 @@ public class Speaker<T extends Competitor> implements CompetitionListener<T> {
         this.printNewline();
     }
 
+    /**
+     * Display a message representing the fact that a round has started in a
+     * competition, using the format:
+     * <pre>
+     * {@code
+     *
+     * Round 3/10
+     *
+     * }
+     * </pre>
+     */
+    public void roundStarted(RoundStartedEvent<T> event) {
+        this.printNewline();
+        this.displayer.displayMessage("Round " + event.getRound() + "/" + event.getNbRounds() + "\n");
+        this.printNewline();
+    }
+
     /**
      * Return the length of the longest name of all the competitors in the
      * collection passed as argument (in number of characters).
@@ -0,0 +1,253 @@
+package etu.simonzo.competition.ranking;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.competitors.CompetitorIndex;
+import etu.simonzo.competition.match.MatchOutcome;
+
+/**
+ * A collection of results which keeps its results in parallel columns of
+ * primitive values instead of result objects: the index of the first
+ * competitor (see {@link CompetitorIndex}), the index of the second
+ * competitor, and the outcome, packed on 2 bits. A result then takes a bit
+ * more than 8 bytes, about five times less than a {@link SimpleResult} and
+ * the reference to it, and scanning the results reads contiguous memory.
+ * <p>
+ * Results are exposed as lightweight views of a row of the columns, created
+ * when they are read; they are not the objects which were added. Analyses
+ * scanning many results can avoid creating views by reading the columns
+ * directly, with {@link ColumnarResultLog#getCompetitor1Index(int)},
+ * {@link ColumnarResultLog#getCompetitor2Index(int)} and
+ * {@link ColumnarResultLog#getOutcome(int)}.
+ * </p>
+ * @param <T> A Competitor sub-type
+ */
+public class ColumnarResultLog<T extends Competitor> extends AbstractCollection<Result<T>> {
+
+    /** Initial number of rows of the columns */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Number of outcomes packed in a long */
+    private static final int OUTCOMES_PER_WORD = Long.SIZE / 2;
+
+    /** Outcomes, by ordinal */
+    private static final MatchOutcome[] OUTCOMES = MatchOutcome.values();
+
+    /**
+     * Create an empty log.
+     * @param competitors List of the competitors of the results
+     */
+    public ColumnarResultLog(List<T> competitors) {
+        this(new CompetitorIndex<>(competitors));
+    }
+
+    /**
+     * Create an empty log, which shares an index of competitors (eg. the index
+     * of a ranking handler)
+     * @param index Index of the competitors of the results
+     */
+    public ColumnarResultLog(CompetitorIndex<T> index) {
+        this.index = index;
+        this.competitors1 = new int[INITIAL_CAPACITY];
+        this.competitors2 = new int[INITIAL_CAPACITY];
+        this.outcomes = new long[INITIAL_CAPACITY / OUTCOMES_PER_WORD];
+        this.size = 0;
+    }
+
+    /**
+     * Add a result at the end of the log.
+     * @param result a result
+     * @return <code>true</code>
+     * @throws IllegalArgumentException if one of the competitors of the result
+     * is unknown
+     */
+    public boolean add(Result<T> result) {
+        int i1 = this.index.indexOf(result.getCompetitor1());
+        int i2 = this.index.indexOf(result.getCompetitor2());
+        if (i1 < 0 || i2 < 0) {
+            throw new IllegalArgumentException("Unknown competitor in result");
+        }
+        if (this.size == this.competitors1.length) {
+            this.grow();
+        }
+        int row = this.size;
+        this.competitors1[row] = i1;
+        this.competitors2[row] = i2;
+        this.outcomes[row / OUTCOMES_PER_WORD] |=
+            (long) result.getOutcome().ordinal() << (2 * (row % OUTCOMES_PER_WORD));
+        this.size++;
+        return true;
+    }
+
+    /**
+     * Return the result of the given row
+     * @param row position of the result, in the order results were added
+     * @return a view of the result
+     * @throws IndexOutOfBoundsException iff the row is negative or not lower
+     * than the number of results
+     */
+    public Result<T> get(int row) {
+        this.checkRow(row);
+        return new Row(row);
+    }
+
+    /**
+     * Return the index of the first competitor of the result of the given row
+     * @param row position of the result
+     * @return index of the first competitor
+     * @throws IndexOutOfBoundsException iff the row is negative or not lower
+     * than the number of results
+     */
+    public int getCompetitor1Index(int row) {
+        this.checkRow(row);
+        return this.competitors1[row];
+    }
+
+    /**
+     * Return the index of the second competitor of the result of the given row
+     * @param row position of the result
+     * @return index of the second competitor
+     * @throws IndexOutOfBoundsException iff the row is negative or not lower
+     * than the number of results
+     */
+    public int getCompetitor2Index(int row) {
+        this.checkRow(row);
+        return this.competitors2[row];
+    }
+
+    /**
+     * Return the outcome of the result of the given row
+     * @param row position of the result
+     * @return outcome of the result
+     * @throws IndexOutOfBoundsException iff the row is negative or not lower
+     * than the number of results
+     */
+    public MatchOutcome getOutcome(int row) {
+        this.checkRow(row);
+        int bits = (int) (this.outcomes[row / OUTCOMES_PER_WORD] >>> (2 * (row % OUTCOMES_PER_WORD))) & 3;
+        return OUTCOMES[bits];
+    }
+
+    /**
+     * Return the index of the competitors of the results
+     * @return the index of the competitors
+     */
+    public CompetitorIndex<T> getIndex() {
+        return this.index;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Iterator<Result<T>> iterator() {
+        return new Iterator<>() {
+            private int next = 0;
+
+            public boolean hasNext() {
+                return this.next < ColumnarResultLog.this.size;
+            }
+
+            public Result<T> next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return new Row(this.next++);
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void clear() {
+        Arrays.fill(this.outcomes, 0L);
+        this.size = 0;
+    }
+
+    /**
+     * Double the number of rows of the columns.
+     */
+    private void grow() {
+        int capacity = 2 * this.competitors1.length;
+        this.competitors1 = Arrays.copyOf(this.competitors1, capacity);
+        this.competitors2 = Arrays.copyOf(this.competitors2, capacity);
+        this.outcomes = Arrays.copyOf(this.outcomes, capacity / OUTCOMES_PER_WORD);
+    }
+
+    /**
+     * Check that a row holds a result.
+     * @param row position of a result
+     * @throws IndexOutOfBoundsException iff the row is negative or not lower
+     * than the number of results
+     */
+    private void checkRow(int row) {
+        if (row < 0 || row >= this.size) {
+            throw new IndexOutOfBoundsException("No result at row " + row);
+        }
+    }
+
+    /** Index of the competitors of the results */
+    private CompetitorIndex<T> index;
+
+    /** Index of the first competitor of each result */
+    private int[] competitors1;
+
+    /** Index of the second competitor of each result */
+    private int[] competitors2;
+
+    /** Ordinal of the outcome of each result, on 2 bits */
+    private long[] outcomes;
+
+    /** Number of results */
+    private int size;
+
+    /**
+     * View of a row of the columns, as a result
+     */
+    private class Row implements Result<T> {
+
+        /**
+         * Create a view of the given row
+         * @param row position of the result
+         */
+        Row(int row) {
+            this.row = row;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public T getCompetitor1() {
+            return ColumnarResultLog.this.index.get(ColumnarResultLog.this.competitors1[this.row]);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public T getCompetitor2() {
+            return ColumnarResultLog.this.index.get(ColumnarResultLog.this.competitors2[this.row]);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public MatchOutcome getOutcome() {
+            return ColumnarResultLog.this.getOutcome(this.row);
+        }
+
+        /** Position of the result */
+        private final int row;
+    }
+}
@@ -0,0 +1,241 @@
+package etu.simonzo.competition.ranking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.competitors.CompetitorIndex;
+import etu.simonzo.competition.match.MatchOutcome;
+
+/**
+ * An implementation of the RankingHandler abstraction which can be used by
+ * several threads at once, eg. by threads playing matches concurrently and
+ * adding their results as soon as they are known. Points are awarded like
+ * with {@link SimpleRankingHandler}.
+ * <p>
+ * The handler is split in stripes, each one with its own lock, its own array
+ * of scores (by competitor index, see {@link CompetitorIndex}) and its own
+ * log of results. A thread always adds its results to the same stripe, chosen
+ * from its identifier, so threads seldom wait for each other and adding
+ * results scales with the number of threads. The score of a competitor is the
+ * sum of its scores in every stripe.
+ * </p>
+ * <p>
+ * {@link ConcurrentRankingHandler#getRanking()} and
+ * {@link ConcurrentRankingHandler#getResults()} lock every stripe while they
+ * copy them, so they return consistent snapshots even while results are being
+ * added: a result is either fully taken into account, or not at all. Results
+ * added by the same thread appear in the snapshot in the order they were
+ * added; the order of results added by different threads is unspecified.
+ * </p>
+ * The list of competitors to rank is passed on construction. All the
+ * competitors of the subsequent results must be part of this list, else an
+ * exception will be thrown
+ */
+public class ConcurrentRankingHandler<T extends Competitor> implements RankingHandler<T> {
+    /** Number of stripes, a power of two larger than the number of processors */
+    private static final int NB_STRIPES =
+        Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) * 2;
+
+    /** Number of points awarded for a victory */
+    protected int victoryPoints;
+
+    /** Number of points awarded for a defeat */
+    protected int defeatPoints;
+
+    /** Number of points awarded to each player in case of a tie */
+    protected int tiePoints;
+
+    /** Dense index of the competitors */
+    protected CompetitorIndex<T> index;
+
+    /**
+     * Construct a concurrent ranking handler, with the points value of a
+     * victory, defeat and tie. These values are used when converting the
+     * results to a ranking of competitors
+     * @param competitors List of competitors registered to be ranked
+     * @param victoryPoints Number of points awarded for a victory
+     * @param defeatPoints Number of points awarded for a defeat
+     * @param tiePoints Number of points awarded for a tied match
+     */
+    public ConcurrentRankingHandler(List<T> competitors, int victoryPoints,
+                                    int defeatPoints, int tiePoints) {
+        this.victoryPoints = victoryPoints;
+        this.defeatPoints = defeatPoints;
+        this.tiePoints = tiePoints;
+        this.index = new CompetitorIndex<>(competitors);
+        this.stripes = new ArrayList<>();
+        for (int s = 0; s < NB_STRIPES; s++) {
+            this.stripes.add(new Stripe<>(this.index.size()));
+        }
+    }
+
+    /**
+     * Add a result to the stripe of the calling thread. This method may be
+     * called from several threads at once.
+     * @param result Result object to add to the collection
+     * @throws IllegalArgumentException if one of the competitors is unknown,
+     * ie. was not part of the list passed on instanciation
+     * {@link etu.simonzo.competition.ranking.RankingHandler#addResult}
+     */
+    public void addResult(Result<T> result) throws IllegalArgumentException {
+        int i1 = this.index.indexOf(result.getCompetitor1());
+        int i2 = this.index.indexOf(result.getCompetitor2());
+        if (i1 < 0 || i2 < 0) {
+            throw new IllegalArgumentException("Unknown competitor in result");
+        }
+        Stripe<T> stripe = this.stripes.get(stripeOfCurrentThread());
+        stripe.lock.lock();
+        try {
+            stripe.results.add(result);
+            this.updateScores(stripe.scores, i1, i2, result.getOutcome());
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Return a snapshot of the results added so far
+     * @return an unmodifiable collection of the results added so far
+     */
+    public Collection<Result<T>> getResults() {
+        List<Result<T>> results = new ArrayList<>();
+        this.lockAll();
+        try {
+            for (Stripe<T> stripe : this.stripes) {
+                results.addAll(stripe.results);
+            }
+        } finally {
+            this.unlockAll();
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * Return a snapshot of the ranking computed using the results added so
+     * far. Competitors who do not appear in any results have a score of 0.
+     * The returned map is unmodifiable, and does not change when results are
+     * added later on.
+     * {@link etu.simonzo.competition.ranking.RankingHandler#getRanking}
+     */
+    public Map<T, Integer> getRanking() {
+        int[] scores = new int[this.index.size()];
+        this.lockAll();
+        try {
+            for (Stripe<T> stripe : this.stripes) {
+                for (int i = 0; i < scores.length; i++) {
+                    scores[i] += stripe.scores[i];
+                }
+            }
+        } finally {
+            this.unlockAll();
+        }
+        return new ScoreMap<>(this.index, scores);
+    }
+
+    /**
+     * Forget every result, and set every score back to 0. Every stripe is
+     * locked meanwhile, so results added at the same time are either
+     * forgotten too, or added after the handler is cleared.
+     * {@link etu.simonzo.competition.ranking.RankingHandler#clear}
+     */
+    public void clear() {
+        this.lockAll();
+        try {
+            for (Stripe<T> stripe : this.stripes) {
+                stripe.results.clear();
+                Arrays.fill(stripe.scores, 0);
+            }
+        } finally {
+            this.unlockAll();
+        }
+    }
+
+    /**
+     * Modify the scores of two competitors in the given array, given the
+     * outcome of their match
+     * @param scores array of scores of a stripe
+     * @param i1 index of the first competitor
+     * @param i2 index of the second competitor
+     * @param outcome outcome of the match between the competitors
+     */
+    protected void updateScores(int[] scores, int i1, int i2, MatchOutcome outcome) {
+        switch (outcome) {
+        case FIRST_PLAYER_WIN:
+            scores[i1] += this.victoryPoints;
+            scores[i2] += this.defeatPoints;
+            break;
+        case SECOND_PLAYER_WIN:
+            scores[i1] += this.defeatPoints;
+            scores[i2] += this.victoryPoints;
+            break;
+        case TIE:
+            scores[i1] += this.tiePoints;
+            scores[i2] += this.tiePoints;
+            break;
+        }
+    }
+
+    /**
+     * Lock every stripe, always in the same order.
+     */
+    private void lockAll() {
+        for (Stripe<T> stripe : this.stripes) {
+            stripe.lock.lock();
+        }
+    }
+
+    /**
+     * Unlock every stripe.
+     */
+    private void unlockAll() {
+        for (Stripe<T> stripe : this.stripes) {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Give the stripe used by the calling thread, by scrambling its
+     * identifier so that threads created one after the other use different
+     * stripes.
+     * @return position of the stripe of the calling thread
+     */
+    private static int stripeOfCurrentThread() {
+        long id = Thread.currentThread().getId() * 0x9e3779b97f4a7c15L;
+        return (int) (id >>> 32) & (NB_STRIPES - 1);
+    }
+
+    /** Stripes of the handler */
+    private List<Stripe<T>> stripes;
+
+    /**
+     * Part of the scores and of the results, guarded by its own lock
+     * @param <T> A Competitor sub-type
+     */
+    private static class Stripe<T extends Competitor> {
+
+        /**
+         * Create an empty stripe
+         * @param nbCompetitors number of competitors ranked by the handler
+         */
+        Stripe(int nbCompetitors) {
+            this.lock = new ReentrantLock();
+            this.scores = new int[nbCompetitors];
+            this.results = new ArrayList<>();
+        }
+
+        /** Lock guarding the scores and the results of this stripe */
+        final ReentrantLock lock;
+
+        /** Points earned in the results of this stripe, by competitor index */
+        final int[] scores;
+
+        /** Results added to this stripe */
+        final List<Result<T>> results;
+    }
+}
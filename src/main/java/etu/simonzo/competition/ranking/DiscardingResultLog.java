@@ -0,0 +1,38 @@
+package etu.simonzo.competition.ranking;
+
+import java.util.AbstractCollection;
+import java.util.Collections;
+import java.util.Iterator;
+
+import etu.simonzo.competition.competitors.Competitor;
+
+/**
+ * A collection of results which discards every result added to it, so that it
+ * is always empty. A ranking handler using it only keeps scores.
+ * @param <T> A Competitor sub-type
+ */
+public class DiscardingResultLog<T extends Competitor> extends AbstractCollection<Result<T>> {
+
+    /**
+     * Discard the given result.
+     * @param result a result
+     * @return <code>false</code>, since the collection does not change
+     */
+    public boolean add(Result<T> result) {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Iterator<Result<T>> iterator() {
+        return Collections.emptyIterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int size() {
+        return 0;
+    }
+}
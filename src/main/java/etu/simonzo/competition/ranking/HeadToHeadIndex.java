@@ -0,0 +1,355 @@
+package etu.simonzo.competition.ranking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.competitors.CompetitorIndex;
+import etu.simonzo.competition.match.MatchOutcome;
+import etu.simonzo.competition.util.LongIntHashMap;
+
+/**
+ * Record of the outcomes of the matches between each pair of competitors, so
+ * that what a competitor did against another one (eg. to break ties) is known
+ * in constant time, without going through every result. The opponents met by
+ * each competitor are kept too, so they are iterated over in a time
+ * proportional to their number.
+ * <p>
+ * Competitors are designated by their dense index (see
+ * {@link CompetitorIndex}). Each pair of competitors met at least once has
+ * three counters: the victories of each competitor, and the ties. For small
+ * numbers of competitors, the counters of every possible pair are kept in a
+ * triangular matrix; for larger ones, where most pairs never meet, only the
+ * counters of the pairs which met are kept, found through a hash table keyed
+ * by the two indices packed in a <code>long</code>.
+ * </p>
+ * Methods taking competitors throw an IllegalArgumentException when given an
+ * unknown competitor; methods taking indices throw an
+ * ArrayIndexOutOfBoundsException when given an invalid index.
+ * @param <T> A Competitor sub-type
+ */
+public class HeadToHeadIndex<T extends Competitor> {
+
+    /** Largest number of competitors whose counters are kept in a matrix */
+    public static final int DENSE_LIMIT = 1024;
+
+    /**
+     * Create an empty record of the matches between the given competitors
+     * @param index Dense index of the competitors
+     */
+    public HeadToHeadIndex(CompetitorIndex<T> index) {
+        int n = index.size();
+        this.index = index;
+        this.opponents = new int[n][];
+        this.degrees = new int[n];
+        if (n <= DENSE_LIMIT) {
+            this.pairs = null;
+            this.counters = new int[3 * (n * (n + 1) / 2)];
+        } else {
+            this.pairs = new LongIntHashMap(n);
+            this.counters = new int[3 * n];
+        }
+        this.nbPairs = 0;
+    }
+
+    /**
+     * Record the outcome of a match
+     * @param i1 index of the first competitor
+     * @param i2 index of the second competitor
+     * @param outcome outcome of the match between the competitors
+     */
+    public void record(int i1, int i2, MatchOutcome outcome) {
+        switch (outcome) {
+        case FIRST_PLAYER_WIN:
+            this.add(i1, i2, 1, 0, 0);
+            break;
+        case SECOND_PLAYER_WIN:
+            this.add(i1, i2, 0, 1, 0);
+            break;
+        case TIE:
+            this.add(i1, i2, 0, 0, 1);
+            break;
+        }
+    }
+
+    /**
+     * Add the counters of another record, of the same competitors, to the
+     * counters of this one
+     * @param other another record, which is not modified
+     * @throws IllegalArgumentException if the other record is this record, or
+     * a record of other competitors
+     */
+    public void merge(HeadToHeadIndex<T> other) {
+        if (other == this
+            || !other.index.getCompetitors().equals(this.index.getCompetitors())) {
+            throw new IllegalArgumentException("Cannot merge records of other competitors");
+        }
+        for (int i = 0; i < other.degrees.length; i++) {
+            for (int k = 0; k < other.degrees[i]; k++) {
+                int j = other.opponents[i][k];
+                if (j >= i) {
+                    int p = 3 * other.pairOf(i, j);
+                    this.add(i, j, other.counters[p], other.counters[p + 1], other.counters[p + 2]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Forget every match recorded so far
+     */
+    public void clear() {
+        Arrays.fill(this.counters, 0);
+        Arrays.fill(this.degrees, 0);
+        if (this.pairs != null) {
+            this.pairs.clear();
+        }
+        this.nbPairs = 0;
+    }
+
+    /**
+     * Return the number of victories of a competitor against another one
+     * @param i index of the competitor
+     * @param j index of its opponent
+     * @return number of matches won by <code>i</code> against <code>j</code>
+     */
+    public int getNbWins(int i, int j) {
+        int p = this.pairOf(i, j);
+        if (p < 0) {
+            return 0;
+        }
+        return this.counters[3 * p + (i <= j ? 0 : 1)];
+    }
+
+    /**
+     * Return the number of ties between two competitors
+     * @param i index of a competitor
+     * @param j index of another competitor
+     * @return number of tied matches between <code>i</code> and <code>j</code>
+     */
+    public int getNbTies(int i, int j) {
+        int p = this.pairOf(i, j);
+        return p < 0 ? 0 : this.counters[3 * p + 2];
+    }
+
+    /**
+     * Return the number of matches between two competitors
+     * @param i index of a competitor
+     * @param j index of another competitor
+     * @return number of matches between <code>i</code> and <code>j</code>
+     */
+    public int getNbMatches(int i, int j) {
+        int p = this.pairOf(i, j);
+        if (p < 0) {
+            return 0;
+        }
+        return this.counters[3 * p] + this.counters[3 * p + 1] + this.counters[3 * p + 2];
+    }
+
+    /**
+     * Return the number of distinct opponents met by a competitor
+     * @param i index of a competitor
+     * @return number of opponents of <code>i</code>
+     */
+    public int getNbOpponents(int i) {
+        return this.degrees[i];
+    }
+
+    /**
+     * Return an opponent met by a competitor. Opponents are numbered in the
+     * order of their first match against the competitor.
+     * @param i index of a competitor
+     * @param k number of the opponent, from 0 to the number of opponents of
+     * the competitor (exclusive)
+     * @return index of the opponent
+     * @throws IndexOutOfBoundsException iff <code>k</code> is not the number
+     * of an opponent
+     */
+    public int getOpponent(int i, int k) {
+        if (k < 0 || k >= this.degrees[i]) {
+            throw new IndexOutOfBoundsException("No opponent " + k);
+        }
+        return this.opponents[i][k];
+    }
+
+    /**
+     * Return the number of victories of a competitor against another one
+     * @param competitor a competitor
+     * @param opponent its opponent
+     * @return number of matches won by the competitor against the opponent
+     */
+    public int getNbWins(T competitor, T opponent) {
+        return this.getNbWins(this.indexOf(competitor), this.indexOf(opponent));
+    }
+
+    /**
+     * Return the number of ties between two competitors
+     * @param competitor a competitor
+     * @param opponent another competitor
+     * @return number of tied matches between the competitors
+     */
+    public int getNbTies(T competitor, T opponent) {
+        return this.getNbTies(this.indexOf(competitor), this.indexOf(opponent));
+    }
+
+    /**
+     * Return the number of matches between two competitors
+     * @param competitor a competitor
+     * @param opponent another competitor
+     * @return number of matches between the competitors
+     */
+    public int getNbMatches(T competitor, T opponent) {
+        return this.getNbMatches(this.indexOf(competitor), this.indexOf(opponent));
+    }
+
+    /**
+     * Return the opponents met by a competitor, in the order of their first
+     * match against the competitor
+     * @param competitor a competitor
+     * @return a new list of the opponents of the competitor
+     */
+    public List<T> getOpponents(T competitor) {
+        int i = this.indexOf(competitor);
+        List<T> opponents = new ArrayList<>(this.degrees[i]);
+        for (int k = 0; k < this.degrees[i]; k++) {
+            opponents.add(this.index.get(this.opponents[i][k]));
+        }
+        return opponents;
+    }
+
+    /**
+     * Return the dense index of the competitors of this record
+     * @return the index of the competitors
+     */
+    public CompetitorIndex<T> getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Add to the counters of a pair of competitors, which are created if the
+     * competitors never met
+     * @param i1 index of the first competitor
+     * @param i2 index of the second competitor
+     * @param wins1 number of victories of the first competitor to add
+     * @param wins2 number of victories of the second competitor to add
+     * @param ties number of ties to add
+     */
+    private void add(int i1, int i2, int wins1, int wins2, int ties) {
+        int low = Math.min(i1, i2);
+        int high = Math.max(i1, i2);
+        int p = this.pairOf(low, high);
+        if (p < 0 || this.counters[3 * p] + this.counters[3 * p + 1] + this.counters[3 * p + 2] == 0) {
+            p = this.createPair(low, high);
+        }
+        this.counters[3 * p] += i1 <= i2 ? wins1 : wins2;
+        this.counters[3 * p + 1] += i1 <= i2 ? wins2 : wins1;
+        this.counters[3 * p + 2] += ties;
+    }
+
+    /**
+     * Register a pair of competitors which never met: give it counters, and
+     * make each competitor an opponent of the other
+     * @param low lower index of the pair
+     * @param high higher index of the pair
+     * @return number of the counters of the pair
+     */
+    private int createPair(int low, int high) {
+        this.addOpponent(low, high);
+        if (low != high) {
+            this.addOpponent(high, low);
+        }
+        this.nbPairs++;
+        if (this.pairs == null) {
+            return this.pairOf(low, high);
+        }
+        int p = this.nbPairs - 1;
+        if (3 * this.nbPairs > this.counters.length) {
+            this.counters = Arrays.copyOf(this.counters, 2 * this.counters.length);
+        }
+        this.pairs.put(keyOf(low, high), p);
+        return p;
+    }
+
+    /**
+     * Add an opponent to the opponents of a competitor
+     * @param i index of the competitor
+     * @param j index of the opponent
+     */
+    private void addOpponent(int i, int j) {
+        if (this.opponents[i] == null) {
+            this.opponents[i] = new int[4];
+        } else if (this.degrees[i] == this.opponents[i].length) {
+            this.opponents[i] = Arrays.copyOf(this.opponents[i], 2 * this.degrees[i]);
+        }
+        this.opponents[i][this.degrees[i]++] = j;
+    }
+
+    /**
+     * Give the number of the counters of a pair of competitors
+     * @param i index of a competitor
+     * @param j index of another competitor
+     * @return number of the counters of the pair, or <code>-1</code> if the
+     * competitors never met and have no counters
+     * @throws ArrayIndexOutOfBoundsException if an index is invalid
+     */
+    private int pairOf(int i, int j) {
+        int low = Math.min(i, j);
+        int high = Math.max(i, j);
+        if (low < 0 || high >= this.degrees.length) {
+            throw new ArrayIndexOutOfBoundsException("Invalid competitor index");
+        }
+        if (this.pairs == null) {
+            return high * (high + 1) / 2 + low;
+        }
+        return this.pairs.get(keyOf(low, high), -1);
+    }
+
+    /**
+     * Give the index of a competitor
+     * @param competitor a competitor
+     * @return the index of the competitor
+     * @throws IllegalArgumentException if the competitor is unknown
+     */
+    private int indexOf(T competitor) {
+        int i = this.index.indexOf(competitor);
+        if (i < 0) {
+            throw new IllegalArgumentException("Unknown competitor");
+        }
+        return i;
+    }
+
+    /**
+     * Pack the indices of a pair of competitors in a hash table key
+     * @param low lower index of the pair
+     * @param high higher index of the pair
+     * @return key of the pair
+     */
+    private static long keyOf(int low, int high) {
+        return ((long) low << 32) | high;
+    }
+
+    /** Dense index of the competitors */
+    private CompetitorIndex<T> index;
+
+    /** Opponents of each competitor, by index, or null if there are none */
+    private int[][] opponents;
+
+    /** Number of opponents of each competitor, by index */
+    private int[] degrees;
+
+    /**
+     * Number of the counters of each pair of competitors which met, or null
+     * if the counters of every pair are kept in a triangular matrix
+     */
+    private LongIntHashMap pairs;
+
+    /**
+     * Counters of the pairs of competitors, three by pair: victories of the
+     * competitor of lower index, victories of the other one, and ties
+     */
+    private int[] counters;
+
+    /** Number of pairs of competitors which met */
+    private int nbPairs;
+}
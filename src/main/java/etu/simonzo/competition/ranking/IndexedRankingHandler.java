@@ -0,0 +1,281 @@
+package etu.simonzo.competition.ranking;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.strategies.retention.KeepAllRetentionStrategy;
+import etu.simonzo.competition.strategies.retention.RetentionStrategy;
+import etu.simonzo.competition.competitors.CompetitorIndex;
+import etu.simonzo.competition.match.MatchOutcome;
+
+/**
+ * An implementation of the RankingHandler abstraction which gives each
+ * competitor a dense index on construction (see {@link CompetitorIndex}), and
+ * keeps the scores in an array of primitive integers. Adding a result costs
+ * two lookups in the index and two array updates, without boxing scores. The
+ * ranking is a read-only view of the array, so getting it does not copy
+ * anything. Points are awarded like with {@link SimpleRankingHandler}.
+ * The list of competitors to rank is passed on construction. All the
+ * competitors of the subsequent results must be part of this list, else an
+ * exception will be thrown
+ */
+public class IndexedRankingHandler<T extends Competitor> implements RankingHandler<T> {
+    /** Number of points awarded for a victory */
+    protected int victoryPoints;
+
+    /** Number of points awarded for a defeat */
+    protected int defeatPoints;
+
+    /** Number of points awarded to each player in case of a tie */
+    protected int tiePoints;
+
+    /**
+     * Results added since instanciation, kept according to the retention
+     * strategy of the handler
+     */
+    protected Collection<Result<T>> results;
+
+    /** Dense index of the competitors */
+    protected CompetitorIndex<T> index;
+
+    /** Score of each competitor, by index */
+    protected int[] scores;
+
+    /**
+     * Construct a ranking handler, with the points value of a victory, defeat
+     * and tie. These values are used when converting the results to a ranking
+     * of competitors
+     * @param competitors List of competitors registered to be ranked
+     * @param victoryPoints Number of points awarded for a victory
+     * @param defeatPoints Number of points awarded for a defeat
+     * @param tiePoints Number of points awarded for a tied match
+     */
+    public IndexedRankingHandler(List<T> competitors, int victoryPoints,
+                                 int defeatPoints, int tiePoints) {
+        this(competitors, new KeepAllRetentionStrategy(),
+             victoryPoints, defeatPoints, tiePoints);
+    }
+
+    /**
+     * Construct a ranking handler, with the points value of a victory, defeat
+     * and tie, which keeps the results it is given according to a retention
+     * strategy. The points values are used when converting the results to a
+     * ranking of competitors
+     * @param competitors List of competitors registered to be ranked
+     * @param retention Strategy deciding which results are kept, and so what
+     * {@link IndexedRankingHandler#getResults()} returns
+     * @param victoryPoints Number of points awarded for a victory
+     * @param defeatPoints Number of points awarded for a defeat
+     * @param tiePoints Number of points awarded for a tied match
+     */
+    public IndexedRankingHandler(List<T> competitors, RetentionStrategy retention,
+                                 int victoryPoints, int defeatPoints, int tiePoints) {
+        this.victoryPoints = victoryPoints;
+        this.defeatPoints = defeatPoints;
+        this.tiePoints = tiePoints;
+        this.index = new CompetitorIndex<>(competitors);
+        this.results = retention.createLog(this.index);
+        this.scores = new int[this.index.size()];
+        this.ranking = new ScoreMap<>(this.index, this.scores);
+        this.headToHead = null;
+        this.empty = true;
+        this.logKeepsAll = retention.keepsAll();
+        this.keepsAll = this.logKeepsAll;
+    }
+
+    /**
+     * Add a result to the collection of results tracked by the ranking handler
+     * @param result Result object to add to the collection
+     * @throws IllegalArgumentException if one of the competitors is unknown,
+     * ie. was not part of the list passed on instanciation
+     * {@link etu.simonzo.competition.ranking.RankingHandler#addResult}
+     */
+    public void addResult(Result<T> result) throws IllegalArgumentException {
+        int i1 = this.index.indexOf(result.getCompetitor1());
+        int i2 = this.index.indexOf(result.getCompetitor2());
+        if (i1 < 0 || i2 < 0) {
+            throw new IllegalArgumentException("Unknown competitor in result");
+        }
+        this.results.add(result);
+        this.updateScores(i1, i2, result.getOutcome());
+        if (this.headToHead != null) {
+            this.headToHead.record(i1, i2, result.getOutcome());
+        }
+        this.empty = false;
+    }
+
+    /**
+     * Return the results added to the handler which were kept by its retention
+     * strategy: every result by default, none, the most recent ones, or every
+     * result read back from a file (see {@link RetentionStrategy}).
+     * {@link etu.simonzo.competition.ranking.RankingHandler#getResults}
+     */
+    public Collection<Result<T>> getResults() {
+        return this.results;
+    }
+
+    /**
+     * Return the ranking computed using the results added to the handler.
+     * Competitors who do not appear in any results have a score of 0. The
+     * returned map is an unmodifiable view, which follows the results added
+     * later on.
+     * {@link etu.simonzo.competition.ranking.RankingHandler#getRanking}
+     */
+    public Map<T, Integer> getRanking() {
+        return this.ranking;
+    }
+
+    /**
+     * Take account of the results of another ranking handler. If the other
+     * handler is an IndexedRankingHandler of the same competitors, in the same
+     * order, with the same points values, its scores are added to the scores
+     * of this handler, and the results it kept are added to the results of
+     * this handler, so that results it did not keep still count (as well as
+     * its head-to-head record, if this handler tracks head-to-head outcomes,
+     * in which case the other handler must track them too). Otherwise, each
+     * result it kept is added to this handler, which requires it to keep all
+     * of its results.
+     * {@link etu.simonzo.competition.ranking.RankingHandler#merge}
+     */
+    public void merge(RankingHandler<T> other) {
+        if (!this.isCompatibleWith(other)) {
+            RankingHandler.super.merge(other);
+            return;
+        }
+        IndexedRankingHandler<T> indexed = (IndexedRankingHandler<T>) other;
+        this.results.addAll(indexed.results);
+        for (int i = 0; i < this.scores.length; i++) {
+            this.scores[i] += indexed.scores[i];
+        }
+        if (this.headToHead != null) {
+            this.headToHead.merge(indexed.headToHead);
+        }
+        this.empty = this.empty && indexed.empty;
+        this.keepsAll = this.keepsAll && indexed.keepsAll;
+    }
+
+    /**
+     * Tell whether every result taken account was kept: it is not the case if
+     * the retention strategy of this handler drops results, or if results
+     * dropped by another handler were merged into this one.
+     * {@link etu.simonzo.competition.ranking.RankingHandler#keepsAllResults}
+     */
+    public boolean keepsAllResults() {
+        return this.keepsAll;
+    }
+
+    /**
+     * Forget every result, and set every score back to 0. The head-to-head
+     * record, if any, is emptied too, and keeps being filled.
+     * {@link etu.simonzo.competition.ranking.RankingHandler#clear}
+     */
+    public void clear() {
+        this.results.clear();
+        Arrays.fill(this.scores, 0);
+        if (this.headToHead != null) {
+            this.headToHead.clear();
+        }
+        this.empty = true;
+        this.keepsAll = this.logKeepsAll;
+    }
+
+    /**
+     * Start recording the outcomes of the matches between each pair of
+     * competitors, as results are added. Calling this method again returns
+     * the same record.
+     * @return the record of the matches between the competitors, filled by
+     * the subsequent calls to {@link IndexedRankingHandler#addResult}
+     * @throws IllegalStateException if results were added before the first
+     * call to this method
+     */
+    public HeadToHeadIndex<T> trackHeadToHead() {
+        if (this.headToHead == null) {
+            if (!this.empty) {
+                throw new IllegalStateException("Results were added before tracking head-to-head");
+            }
+            this.headToHead = new HeadToHeadIndex<>(this.index);
+        }
+        return this.headToHead;
+    }
+
+    /**
+     * Return the dense index of the competitors ranked by this handler
+     * @return the index of the competitors
+     */
+    public CompetitorIndex<T> getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Return the score of the competitor of the given index, without boxing it
+     * @param i index of a competitor
+     * @return the score of the competitor
+     * @throws ArrayIndexOutOfBoundsException iff the index is not the index of
+     * a competitor
+     */
+    public int getScore(int i) {
+        return this.scores[i];
+    }
+
+    /**
+     * Modify the scores of two competitors, given the outcome of their match
+     * @param i1 index of the first competitor
+     * @param i2 index of the second competitor
+     * @param outcome outcome of the match between the competitors
+     */
+    protected void updateScores(int i1, int i2, MatchOutcome outcome) {
+        switch (outcome) {
+        case FIRST_PLAYER_WIN:
+            this.scores[i1] += this.victoryPoints;
+            this.scores[i2] += this.defeatPoints;
+            break;
+        case SECOND_PLAYER_WIN:
+            this.scores[i1] += this.defeatPoints;
+            this.scores[i2] += this.victoryPoints;
+            break;
+        case TIE:
+            this.scores[i1] += this.tiePoints;
+            this.scores[i2] += this.tiePoints;
+            break;
+        }
+    }
+
+    /**
+     * Tell whether the scores of another ranking handler can be added to the
+     * scores of this one
+     * @param other another ranking handler
+     * @return <code>true</code> iff the other handler is an
+     * IndexedRankingHandler, distinct from this one, with the same points
+     * values and the same competitors in the same order, which records
+     * head-to-head outcomes if this one does
+     */
+    private boolean isCompatibleWith(RankingHandler<T> other) {
+        if (other == this || !(other instanceof IndexedRankingHandler)) {
+            return false;
+        }
+        IndexedRankingHandler<T> indexed = (IndexedRankingHandler<T>) other;
+        return (this.headToHead == null || indexed.headToHead != null)
+            && indexed.victoryPoints == this.victoryPoints
+            && indexed.defeatPoints == this.defeatPoints
+            && indexed.tiePoints == this.tiePoints
+            && indexed.index.getCompetitors().equals(this.index.getCompetitors());
+    }
+
+    /** Read-only map view of the scores */
+    private Map<T, Integer> ranking;
+
+    /** Record of the matches between each pair of competitors, or null */
+    private HeadToHeadIndex<T> headToHead;
+
+    /** Whether no result was added yet */
+    private boolean empty;
+
+    /** Whether the results log keeps every result added to it */
+    private boolean logKeepsAll;
+
+    /** Whether every result taken account is in the results log */
+    private boolean keepsAll;
+}
@@ -0,0 +1,468 @@
+package etu.simonzo.competition.ranking;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.match.MatchOutcome;
+import etu.simonzo.competition.strategies.retention.KeepAllRetentionStrategy;
+import etu.simonzo.competition.strategies.retention.RetentionStrategy;
+import etu.simonzo.competition.util.DescendingValueOrder;
+
+/**
+ * A variant of {@link IndexedRankingHandler} which keeps the competitors
+ * sorted by descending score at all times, ties being broken by the index of
+ * the competitors (ie. their order in the list passed on construction). So,
+ * standings never need to be sorted: the ranking map iterates over the
+ * competitors in that order, the <code>k</code> best competitors are given in
+ * <code>O(k + log n)</code> operations, and the rank of a competitor in
+ * <code>O(log n)</code> operations. In return, adding a result costs
+ * <code>O(log n)</code> operations instead of <code>O(1)</code>.
+ * <p>
+ * The order is kept in a treap (a binary search tree balanced by random
+ * priorities) whose nodes are the indices of the competitors, stored in
+ * arrays of primitive integers, and whose subtrees know their size. When a
+ * result is added, its two competitors are removed from the tree, their
+ * scores updated, and they are inserted back.
+ * </p>
+ * The ranking returned by {@link LeaderboardRankingHandler#getRanking()}
+ * implements {@link DescendingValueOrder}, so that
+ * {@link etu.simonzo.competition.util.MapUtil#sortByDescendingValue} copies
+ * it without sorting it. A leaderboard is built for a competition by the
+ * factory {@link RankingHandlerFactory#leaderboard()}.
+ */
+public class LeaderboardRankingHandler<T extends Competitor> extends IndexedRankingHandler<T> {
+
+    /** Marker of a missing child in the tree */
+    private static final int NIL = -1;
+
+    /**
+     * Construct a leaderboard, with the points value of a victory, defeat and
+     * tie. These values are used when converting the results to a ranking of
+     * competitors
+     * @param competitors List of competitors registered to be ranked
+     * @param victoryPoints Number of points awarded for a victory
+     * @param defeatPoints Number of points awarded for a defeat
+     * @param tiePoints Number of points awarded for a tied match
+     */
+    public LeaderboardRankingHandler(List<T> competitors, int victoryPoints,
+                                     int defeatPoints, int tiePoints) {
+        this(competitors, new KeepAllRetentionStrategy(),
+             victoryPoints, defeatPoints, tiePoints);
+    }
+
+    /**
+     * Construct a leaderboard, with the points value of a victory, defeat and
+     * tie, which keeps the results it is given according to a retention
+     * strategy. The points values are used when converting the results to a
+     * ranking of competitors
+     * @param competitors List of competitors registered to be ranked
+     * @param retention Strategy deciding which results are kept
+     * @param victoryPoints Number of points awarded for a victory
+     * @param defeatPoints Number of points awarded for a defeat
+     * @param tiePoints Number of points awarded for a tied match
+     */
+    public LeaderboardRankingHandler(List<T> competitors, RetentionStrategy retention,
+                                     int victoryPoints, int defeatPoints, int tiePoints) {
+        super(competitors, retention, victoryPoints, defeatPoints, tiePoints);
+        int n = this.scores.length;
+        this.left = new int[n];
+        this.right = new int[n];
+        this.sizes = new int[n];
+        this.priorities = new int[n];
+        this.root = NIL;
+        for (int i = 0; i < n; i++) {
+            this.priorities[i] = priorityOf(i);
+            this.root = this.insert(this.root, i);
+        }
+        this.leaderboard = new LeaderboardMap();
+    }
+
+    /**
+     * Return the ranking computed using the results added to the handler. The
+     * returned map is an unmodifiable view, which follows the results added
+     * later on, and whose entries are iterated over by descending score, ties
+     * being broken by the order of the list of competitors.
+     * {@link etu.simonzo.competition.ranking.RankingHandler#getRanking}
+     */
+    public Map<T, Integer> getRanking() {
+        return this.leaderboard;
+    }
+
+    /**
+     * Take account of the results of another ranking handler, then put the
+     * competitors back in order, since their scores may have been added up
+     * directly.
+     * {@link etu.simonzo.competition.ranking.IndexedRankingHandler#merge}
+     */
+    public void merge(RankingHandler<T> other) {
+        super.merge(other);
+        this.root = NIL;
+        for (int i = 0; i < this.scores.length; i++) {
+            this.root = this.insert(this.root, i);
+        }
+    }
+
+    /**
+     * Forget every result, then put the competitors back in the order of the
+     * list of competitors.
+     * {@link etu.simonzo.competition.ranking.IndexedRankingHandler#clear}
+     */
+    public void clear() {
+        super.clear();
+        this.root = NIL;
+        for (int i = 0; i < this.scores.length; i++) {
+            this.root = this.insert(this.root, i);
+        }
+    }
+
+    /**
+     * Return the <code>k</code> first competitors of the ranking, by
+     * descending score
+     * @param k Number of competitors to return
+     * @return the <code>k</code> first competitors, or every competitor if
+     * there are less than <code>k</code> competitors
+     * @throws IllegalArgumentException iff <code>k</code> is negative
+     */
+    public List<T> top(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k is negative");
+        }
+        List<T> top = new ArrayList<>();
+        Cursor cursor = new Cursor();
+        while (top.size() < k && cursor.hasNext()) {
+            top.add(this.index.get(cursor.next()));
+        }
+        return top;
+    }
+
+    /**
+     * Return the rank of a competitor: 1 plus the number of competitors with
+     * strictly more points. Competitors with the same score share the same
+     * rank.
+     * @param competitor a ranked competitor
+     * @return the rank of the competitor, from 1
+     * @throws IllegalArgumentException if the competitor is unknown
+     */
+    public int rankOf(T competitor) {
+        int i = this.index.indexOf(competitor);
+        if (i < 0) {
+            throw new IllegalArgumentException("Unknown competitor");
+        }
+        int score = this.scores[i];
+        int before = 0;
+        int node = this.root;
+        while (node != NIL) {
+            if (this.scores[node] > score) {
+                before += this.sizeOf(this.left[node]) + 1;
+                node = this.right[node];
+            } else {
+                node = this.left[node];
+            }
+        }
+        return before + 1;
+    }
+
+    /**
+     * Return the competitor at the given position of the ranking
+     * @param position position in the ranking, from 0
+     * @return the competitor at that position
+     * @throws IndexOutOfBoundsException iff the position is negative or not
+     * lower than the number of competitors
+     */
+    public T get(int position) {
+        if (position < 0 || position >= this.scores.length) {
+            throw new IndexOutOfBoundsException("No competitor at position " + position);
+        }
+        int node = this.root;
+        while (true) {
+            int leftSize = this.sizeOf(this.left[node]);
+            if (position < leftSize) {
+                node = this.left[node];
+            } else if (position == leftSize) {
+                return this.index.get(node);
+            } else {
+                position -= leftSize + 1;
+                node = this.right[node];
+            }
+        }
+    }
+
+    /**
+     * Take the competitors out of the tree, modify their scores, then put
+     * them back in the tree at their new place
+     * @param i1 index of the first competitor
+     * @param i2 index of the second competitor
+     * @param outcome outcome of the match between the competitors
+     */
+    protected void updateScores(int i1, int i2, MatchOutcome outcome) {
+        this.root = this.remove(this.root, i1);
+        if (i2 != i1) {
+            this.root = this.remove(this.root, i2);
+        }
+        super.updateScores(i1, i2, outcome);
+        this.root = this.insert(this.root, i1);
+        if (i2 != i1) {
+            this.root = this.insert(this.root, i2);
+        }
+    }
+
+    /**
+     * Tell whether a competitor comes before another one in the ranking
+     * @param i index of a competitor
+     * @param j index of another competitor
+     * @return <code>true</code> iff <code>i</code> has more points than
+     * <code>j</code>, or as many points and a lower index
+     */
+    private boolean before(int i, int j) {
+        return this.scores[i] > this.scores[j]
+            || (this.scores[i] == this.scores[j] && i < j);
+    }
+
+    /**
+     * Insert a node in a subtree
+     * @param node root of the subtree, or NIL
+     * @param x node to insert, which is not in the tree
+     * @return the new root of the subtree
+     */
+    private int insert(int node, int x) {
+        if (node == NIL) {
+            this.left[x] = NIL;
+            this.right[x] = NIL;
+            this.sizes[x] = 1;
+            return x;
+        }
+        if (this.before(x, node)) {
+            this.left[node] = this.insert(this.left[node], x);
+            if (this.priorities[this.left[node]] > this.priorities[node]) {
+                node = this.rotateRight(node);
+            }
+        } else {
+            this.right[node] = this.insert(this.right[node], x);
+            if (this.priorities[this.right[node]] > this.priorities[node]) {
+                node = this.rotateLeft(node);
+            }
+        }
+        this.updateSize(node);
+        return node;
+    }
+
+    /**
+     * Remove a node from a subtree. The score of the node must not have
+     * changed since it was inserted.
+     * @param node root of the subtree
+     * @param x node to remove, which is in the subtree
+     * @return the new root of the subtree
+     */
+    private int remove(int node, int x) {
+        if (node == x) {
+            return this.merge(this.left[x], this.right[x]);
+        }
+        if (this.before(x, node)) {
+            this.left[node] = this.remove(this.left[node], x);
+        } else {
+            this.right[node] = this.remove(this.right[node], x);
+        }
+        this.updateSize(node);
+        return node;
+    }
+
+    /**
+     * Merge two subtrees, every node of the first one coming before every node
+     * of the second one
+     * @param a root of the first subtree, or NIL
+     * @param b root of the second subtree, or NIL
+     * @return the root of the merged subtree
+     */
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (this.priorities[a] > this.priorities[b]) {
+            this.right[a] = this.merge(this.right[a], b);
+            this.updateSize(a);
+            return a;
+        }
+        this.left[b] = this.merge(a, this.left[b]);
+        this.updateSize(b);
+        return b;
+    }
+
+    /**
+     * Rotate a subtree to the right: its left child becomes its root
+     * @param node root of the subtree
+     * @return the new root of the subtree
+     */
+    private int rotateRight(int node) {
+        int child = this.left[node];
+        this.left[node] = this.right[child];
+        this.right[child] = node;
+        this.updateSize(node);
+        this.updateSize(child);
+        return child;
+    }
+
+    /**
+     * Rotate a subtree to the left: its right child becomes its root
+     * @param node root of the subtree
+     * @return the new root of the subtree
+     */
+    private int rotateLeft(int node) {
+        int child = this.right[node];
+        this.right[node] = this.left[child];
+        this.left[child] = node;
+        this.updateSize(node);
+        this.updateSize(child);
+        return child;
+    }
+
+    /**
+     * Compute the size of a subtree from the sizes of its children
+     * @param node root of the subtree
+     */
+    private void updateSize(int node) {
+        this.sizes[node] = this.sizeOf(this.left[node]) + this.sizeOf(this.right[node]) + 1;
+    }
+
+    /**
+     * Return the size of a subtree
+     * @param node root of the subtree, or NIL
+     * @return number of nodes of the subtree
+     */
+    private int sizeOf(int node) {
+        return node == NIL ? 0 : this.sizes[node];
+    }
+
+    /**
+     * Give a node its priority, a scrambled version of its index, so that
+     * the shape of the tree is random-like but reproducible
+     * @param i index of a competitor
+     * @return priority of the node
+     */
+    private static int priorityOf(int i) {
+        long z = (i + 1) * 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return (int) (z ^ (z >>> 31));
+    }
+
+    /** Root of the tree */
+    private int root;
+
+    /** Left child of each node */
+    private int[] left;
+
+    /** Right child of each node */
+    private int[] right;
+
+    /** Size of the subtree of each node */
+    private int[] sizes;
+
+    /** Priority of each node: a node has a higher priority than its children */
+    private int[] priorities;
+
+    /** Read-only map view of the scores, in descending order */
+    private Map<T, Integer> leaderboard;
+
+    /**
+     * In-order traversal of the tree, giving the indices of the competitors
+     * by descending score
+     */
+    private class Cursor implements Iterator<Integer> {
+
+        /** Create a cursor on the first competitor of the ranking */
+        Cursor() {
+            this.stack = new int[16];
+            this.depth = 0;
+            this.pushLeftPath(LeaderboardRankingHandler.this.root);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean hasNext() {
+            return this.depth > 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Integer next() {
+            if (this.depth == 0) {
+                throw new NoSuchElementException();
+            }
+            int node = this.stack[--this.depth];
+            this.pushLeftPath(LeaderboardRankingHandler.this.right[node]);
+            return node;
+        }
+
+        /**
+         * Push a node and its leftmost descendants on the stack
+         * @param node root of a subtree, or NIL
+         */
+        private void pushLeftPath(int node) {
+            while (node != NIL) {
+                if (this.depth == this.stack.length) {
+                    this.stack = Arrays.copyOf(this.stack, 2 * this.depth);
+                }
+                this.stack[this.depth++] = node;
+                node = LeaderboardRankingHandler.this.left[node];
+            }
+        }
+
+        /** Nodes whose right subtree is still to visit */
+        private int[] stack;
+
+        /** Number of nodes on the stack */
+        private int depth;
+    }
+
+    /**
+     * Read-only map associating each competitor to its score, iterated over by
+     * descending score
+     */
+    private class LeaderboardMap extends ScoreMap<T> implements DescendingValueOrder {
+
+        /** Create a view of the scores of the leaderboard */
+        LeaderboardMap() {
+            super(LeaderboardRankingHandler.this.index, LeaderboardRankingHandler.this.scores);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Set<Map.Entry<T, Integer>> entrySet() {
+            return new AbstractSet<>() {
+                public int size() {
+                    return LeaderboardRankingHandler.this.scores.length;
+                }
+
+                public Iterator<Map.Entry<T, Integer>> iterator() {
+                    Cursor cursor = new Cursor();
+                    return new Iterator<>() {
+                        public boolean hasNext() {
+                            return cursor.hasNext();
+                        }
+
+                        public Map.Entry<T, Integer> next() {
+                            int i = cursor.next();
+                            return new AbstractMap.SimpleImmutableEntry<>(
+                                LeaderboardRankingHandler.this.index.get(i),
+                                LeaderboardRankingHandler.this.scores[i]);
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
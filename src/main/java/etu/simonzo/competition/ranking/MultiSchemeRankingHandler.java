@@ -0,0 +1,277 @@
+package etu.simonzo.competition.ranking;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.competitors.CompetitorIndex;
+import etu.simonzo.competition.match.MatchOutcome;
+import etu.simonzo.competition.strategies.retention.KeepAllRetentionStrategy;
+import etu.simonzo.competition.strategies.retention.RetentionStrategy;
+
+/**
+ * An implementation of the RankingHandler abstraction which counts the
+ * victories, defeats and ties of each competitor, instead of their points, so
+ * that it can rank the competitors under any {@link PointScheme} from a single
+ * stream of results: comparing standings under several schemes does not need
+ * to play the competition again. The ranking of a default point scheme, passed
+ * on construction, is kept up to date as results are added; the ranking of
+ * another scheme is computed on demand, in a time proportional to the number
+ * of competitors.
+ * The list of competitors to rank is passed on construction. All the
+ * competitors of the subsequent results must be part of this list, else an
+ * exception will be thrown
+ */
+public class MultiSchemeRankingHandler<T extends Competitor> implements RankingHandler<T> {
+
+    /** Point scheme of the ranking returned by getRanking() */
+    protected PointScheme scheme;
+
+    /**
+     * Results added since instanciation, kept according to the retention
+     * strategy of the handler
+     */
+    protected Collection<Result<T>> results;
+
+    /** Dense index of the competitors */
+    protected CompetitorIndex<T> index;
+
+    /**
+     * Victories, defeats and ties of each competitor, three by competitor
+     * index
+     */
+    protected int[] counts;
+
+    /** Score of each competitor under the default point scheme, by index */
+    protected int[] scores;
+
+    /**
+     * Construct a ranking handler which ranks the competitors under the given
+     * point scheme by default
+     * @param competitors List of competitors registered to be ranked
+     * @param scheme Point scheme of the ranking returned by
+     * {@link MultiSchemeRankingHandler#getRanking()}
+     */
+    public MultiSchemeRankingHandler(List<T> competitors, PointScheme scheme) {
+        this(competitors, new KeepAllRetentionStrategy(), scheme);
+    }
+
+    /**
+     * Construct a ranking handler which ranks the competitors under the given
+     * point scheme by default, and keeps the results it is given according to
+     * a retention strategy
+     * @param competitors List of competitors registered to be ranked
+     * @param retention Strategy deciding which results are kept, and so what
+     * {@link MultiSchemeRankingHandler#getResults()} returns
+     * @param scheme Point scheme of the ranking returned by
+     * {@link MultiSchemeRankingHandler#getRanking()}
+     */
+    public MultiSchemeRankingHandler(List<T> competitors, RetentionStrategy retention,
+                                     PointScheme scheme) {
+        this.scheme = scheme;
+        this.index = new CompetitorIndex<>(competitors);
+        this.results = retention.createLog(this.index);
+        this.counts = new int[3 * this.index.size()];
+        this.scores = new int[this.index.size()];
+        this.ranking = new ScoreMap<>(this.index, this.scores);
+        this.logKeepsAll = retention.keepsAll();
+        this.keepsAll = this.logKeepsAll;
+    }
+
+    /**
+     * Add a result to the collection of results tracked by the ranking handler
+     * @param result Result object to add to the collection
+     * @throws IllegalArgumentException if one of the competitors is unknown,
+     * ie. was not part of the list passed on instanciation
+     * {@link etu.simonzo.competition.ranking.RankingHandler#addResult}
+     */
+    public void addResult(Result<T> result) throws IllegalArgumentException {
+        int i1 = this.index.indexOf(result.getCompetitor1());
+        int i2 = this.index.indexOf(result.getCompetitor2());
+        count(this.counts, i1, i2, result.getOutcome());
+        this.results.add(result);
+        this.scores[i1] = this.pointsOf(this.scheme, i1);
+        this.scores[i2] = this.pointsOf(this.scheme, i2);
+    }
+
+    /**
+     * Return the results added to the handler which were kept by its retention
+     * strategy (see {@link RetentionStrategy}).
+     * {@link etu.simonzo.competition.ranking.RankingHandler#getResults}
+     */
+    public Collection<Result<T>> getResults() {
+        return this.results;
+    }
+
+    /**
+     * Return the ranking under the default point scheme. The returned map is
+     * an unmodifiable view, which follows the results added later on.
+     * {@link etu.simonzo.competition.ranking.RankingHandler#getRanking}
+     */
+    public Map<T, Integer> getRanking() {
+        return this.ranking;
+    }
+
+    /**
+     * Return the ranking under another point scheme
+     * @param scheme a point scheme
+     * @return an unmodifiable map associating each competitor to its score
+     * under the given point scheme, which does not change when results are
+     * added later on
+     */
+    public Map<T, Integer> getRanking(PointScheme scheme) {
+        int[] scores = new int[this.index.size()];
+        scheme.score(this.counts, scores);
+        return new ScoreMap<>(this.index, scores);
+    }
+
+    /**
+     * Return the default point scheme of this handler
+     * @return the point scheme of the ranking returned by
+     * {@link MultiSchemeRankingHandler#getRanking()}
+     */
+    public PointScheme getScheme() {
+        return this.scheme;
+    }
+
+    /**
+     * Return the number of victories of a competitor
+     * @param competitor a ranked competitor
+     * @return the number of matches won by the competitor
+     * @throws IllegalArgumentException if the competitor is unknown
+     */
+    public int getNbWins(T competitor) {
+        return this.counts[3 * this.indexOf(competitor)];
+    }
+
+    /**
+     * Return the number of defeats of a competitor
+     * @param competitor a ranked competitor
+     * @return the number of matches lost by the competitor
+     * @throws IllegalArgumentException if the competitor is unknown
+     */
+    public int getNbDefeats(T competitor) {
+        return this.counts[3 * this.indexOf(competitor) + 1];
+    }
+
+    /**
+     * Return the number of tied matches of a competitor
+     * @param competitor a ranked competitor
+     * @return the number of tied matches of the competitor
+     * @throws IllegalArgumentException if the competitor is unknown
+     */
+    public int getNbTies(T competitor) {
+        return this.counts[3 * this.indexOf(competitor) + 2];
+    }
+
+    /**
+     * Take account of the results of another ranking handler. If the other
+     * handler is a MultiSchemeRankingHandler of the same competitors, in the
+     * same order, its counts are added to the counts of this handler, and the
+     * results it kept are added to the results of this handler. Otherwise,
+     * each result it kept is added to this handler, which requires it to keep
+     * all of its results.
+     * {@link etu.simonzo.competition.ranking.RankingHandler#merge}
+     */
+    public void merge(RankingHandler<T> other) {
+        if (other == this || !(other instanceof MultiSchemeRankingHandler)
+            || !((MultiSchemeRankingHandler<T>) other).index.getCompetitors()
+                .equals(this.index.getCompetitors())) {
+            RankingHandler.super.merge(other);
+            return;
+        }
+        MultiSchemeRankingHandler<T> multi = (MultiSchemeRankingHandler<T>) other;
+        this.results.addAll(multi.results);
+        for (int k = 0; k < this.counts.length; k++) {
+            this.counts[k] += multi.counts[k];
+        }
+        this.scheme.score(this.counts, this.scores);
+        this.keepsAll = this.keepsAll && multi.keepsAll;
+    }
+
+    /**
+     * Tell whether every result taken account was kept: it is not the case if
+     * the retention strategy of this handler drops results, or if results
+     * dropped by another handler were merged into this one.
+     * {@link etu.simonzo.competition.ranking.RankingHandler#keepsAllResults}
+     */
+    public boolean keepsAllResults() {
+        return this.keepsAll;
+    }
+
+    /**
+     * Forget every result, and set every count and score back to 0.
+     * {@link etu.simonzo.competition.ranking.RankingHandler#clear}
+     */
+    public void clear() {
+        this.results.clear();
+        Arrays.fill(this.counts, 0);
+        Arrays.fill(this.scores, 0);
+        this.keepsAll = this.logKeepsAll;
+    }
+
+    /**
+     * Add the outcome of a match to the counts of its competitors
+     * @param counts victories, defeats and ties of each competitor, three by
+     * competitor index
+     * @param i1 index of the first competitor
+     * @param i2 index of the second competitor
+     * @param outcome outcome of the match between the competitors
+     * @throws IllegalArgumentException if one of the indices is
+     * <code>-1</code>, ie. one of the competitors is unknown
+     */
+    static void count(int[] counts, int i1, int i2, MatchOutcome outcome) {
+        if (i1 < 0 || i2 < 0) {
+            throw new IllegalArgumentException("Unknown competitor in result");
+        }
+        switch (outcome) {
+        case FIRST_PLAYER_WIN:
+            counts[3 * i1]++;
+            counts[3 * i2 + 1]++;
+            break;
+        case SECOND_PLAYER_WIN:
+            counts[3 * i1 + 1]++;
+            counts[3 * i2]++;
+            break;
+        case TIE:
+            counts[3 * i1 + 2]++;
+            counts[3 * i2 + 2]++;
+            break;
+        }
+    }
+
+    /**
+     * Compute the score of a competitor under a point scheme
+     * @param scheme a point scheme
+     * @param i index of the competitor
+     * @return the score of the competitor
+     */
+    private int pointsOf(PointScheme scheme, int i) {
+        return scheme.pointsOf(this.counts[3 * i], this.counts[3 * i + 1], this.counts[3 * i + 2]);
+    }
+
+    /**
+     * Give the index of a competitor
+     * @param competitor a competitor
+     * @return the index of the competitor
+     * @throws IllegalArgumentException if the competitor is unknown
+     */
+    private int indexOf(T competitor) {
+        int i = this.index.indexOf(competitor);
+        if (i < 0) {
+            throw new IllegalArgumentException("Unknown competitor");
+        }
+        return i;
+    }
+
+    /** Read-only map view of the scores under the default point scheme */
+    private Map<T, Integer> ranking;
+
+    /** Whether the results log keeps every result added to it */
+    private boolean logKeepsAll;
+
+    /** Whether every result taken account is in the results log */
+    private boolean keepsAll;
+}
@@ -0,0 +1,173 @@
+package etu.simonzo.competition.ranking;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.competitors.CompetitorIndex;
+
+/**
+ * The number of points awarded for a victory, a defeat and a tie. A point
+ * scheme turns the numbers of victories, defeats and ties of a competitor
+ * into a score, and can rank stored results again, without playing their
+ * matches again.
+ */
+public class PointScheme {
+
+    /**
+     * Create a point scheme
+     * @param victoryPoints Number of points awarded for a victory
+     * @param defeatPoints Number of points awarded for a defeat
+     * @param tiePoints Number of points awarded for a tied match
+     */
+    public PointScheme(int victoryPoints, int defeatPoints, int tiePoints) {
+        this.victoryPoints = victoryPoints;
+        this.defeatPoints = defeatPoints;
+        this.tiePoints = tiePoints;
+    }
+
+    /**
+     * Return the number of points awarded for a victory
+     * @return Number of points awarded for a victory
+     */
+    public int getVictoryPoints() {
+        return this.victoryPoints;
+    }
+
+    /**
+     * Return the number of points awarded for a defeat
+     * @return Number of points awarded for a defeat
+     */
+    public int getDefeatPoints() {
+        return this.defeatPoints;
+    }
+
+    /**
+     * Return the number of points awarded for a tie
+     * @return Number of points awarded for a tied match
+     */
+    public int getTiePoints() {
+        return this.tiePoints;
+    }
+
+    /**
+     * Compute the score of a competitor
+     * @param nbWins number of victories of the competitor
+     * @param nbDefeats number of defeats of the competitor
+     * @param nbTies number of tied matches of the competitor
+     * @return the score of the competitor
+     */
+    public int pointsOf(int nbWins, int nbDefeats, int nbTies) {
+        return this.victoryPoints * nbWins + this.defeatPoints * nbDefeats
+            + this.tiePoints * nbTies;
+    }
+
+    /**
+     * Rank stored results under this point scheme, without playing their
+     * matches again. The results are counted by several threads at once, each
+     * one counting a part of them in its own arrays; results kept in a
+     * {@link ColumnarResultLog} are read directly from its columns.
+     * @param <T> A Competitor sub-type
+     * @param competitors List of competitors registered to be ranked
+     * @param results results to rank, which must not be modified meanwhile
+     * @return an unmodifiable map associating each competitor to its score.
+     * Competitors who do not appear in any results have a score of 0.
+     * @throws IllegalArgumentException if one of the competitors of the
+     * results is unknown, ie. not part of the list of competitors
+     */
+    public <T extends Competitor> Map<T, Integer> rescore(List<T> competitors,
+                                                           Collection<Result<T>> results) {
+        CompetitorIndex<T> index = new CompetitorIndex<>(competitors);
+        int n = index.size();
+        int[] counts;
+        if (results instanceof ColumnarResultLog) {
+            ColumnarResultLog<T> log = (ColumnarResultLog<T>) results;
+            int[] translation = new int[log.getIndex().size()];
+            for (int j = 0; j < translation.length; j++) {
+                translation[j] = index.indexOf(log.getIndex().get(j));
+            }
+            counts = IntStream.range(0, log.size()).parallel().collect(
+                () -> new int[3 * n],
+                (c, row) -> MultiSchemeRankingHandler.count(
+                    c, translation[log.getCompetitor1Index(row)],
+                    translation[log.getCompetitor2Index(row)], log.getOutcome(row)),
+                PointScheme::add);
+        } else {
+            counts = results.parallelStream().collect(
+                () -> new int[3 * n],
+                (c, result) -> MultiSchemeRankingHandler.count(
+                    c, index.indexOf(result.getCompetitor1()),
+                    index.indexOf(result.getCompetitor2()), result.getOutcome()),
+                PointScheme::add);
+        }
+        int[] scores = new int[n];
+        this.score(counts, scores);
+        return new ScoreMap<>(index, scores);
+    }
+
+    /**
+     * Tell whether an object is a point scheme awarding the same points
+     * @param o an object
+     * @return <code>true</code> iff <code>o</code> is a point scheme awarding
+     * the same points for a victory, a defeat and a tie
+     */
+    public boolean equals(Object o) {
+        if (!(o instanceof PointScheme)) {
+            return false;
+        }
+        PointScheme other = (PointScheme) o;
+        return other.victoryPoints == this.victoryPoints
+            && other.defeatPoints == this.defeatPoints
+            && other.tiePoints == this.tiePoints;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int hashCode() {
+        return (31 * this.victoryPoints + this.defeatPoints) * 31 + this.tiePoints;
+    }
+
+    /**
+     * Return the points of a victory, a defeat and a tie, eg. "3-0-1"
+     * @return a description of the point scheme
+     */
+    public String toString() {
+        return this.victoryPoints + "-" + this.defeatPoints + "-" + this.tiePoints;
+    }
+
+    /**
+     * Compute the score of every competitor from their counts of victories,
+     * defeats and ties
+     * @param counts victories, defeats and ties of each competitor, three by
+     * competitor index
+     * @param scores array receiving the score of each competitor, by index
+     */
+    void score(int[] counts, int[] scores) {
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = this.pointsOf(counts[3 * i], counts[3 * i + 1], counts[3 * i + 2]);
+        }
+    }
+
+    /**
+     * Add counts to other counts
+     * @param counts counts to add to
+     * @param other counts to add, of the same length
+     */
+    private static void add(int[] counts, int[] other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other[i];
+        }
+    }
+
+    /** Number of points awarded for a victory */
+    private int victoryPoints;
+
+    /** Number of points awarded for a defeat */
+    private int defeatPoints;
+
+    /** Number of points awarded to each player in case of a tie */
+    private int tiePoints;
+}
@@ -0,0 +1,69 @@
+package etu.simonzo.competition.ranking;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.strategies.retention.KeepNoneRetentionStrategy;
+
+/**
+ * Collectors folding streams of match results into rankings. Each thread
+ * reducing a parallel stream fills its own ranking handler, without sharing
+ * any state with the others, and the partial rankings are then merged with
+ * {@link RankingHandler#merge(RankingHandler)}.
+ */
+public class RankingCollectors {
+
+    /**
+     * Return a collector giving the results of a stream to a new ranking
+     * handler, and returning it. The results are given to the ranking handler
+     * in the order of the stream, unless it is a parallel stream.
+     * @param <T> A Competitor sub-type
+     * @param <R> A RankingHandler sub-type
+     * @param supplier Function creating a new empty ranking handler at each
+     * call
+     * @return a collector of results into a ranking handler
+     */
+    public static <T extends Competitor, R extends RankingHandler<T>>
+    Collector<Result<T>, ?, R> toRankingHandler(Supplier<R> supplier) {
+        return Collector.of(supplier,
+                            RankingHandler::addResult,
+                            (handler, other) -> {
+                                handler.merge(other);
+                                return handler;
+                            },
+                            Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Return a collector computing the ranking of the results of a stream,
+     * with the points value of a victory, defeat and tie. The results
+     * themselves are not kept.
+     * @param <T> A Competitor sub-type
+     * @param competitors List of competitors registered to be ranked
+     * @param victoryPoints Number of points awarded for a victory
+     * @param defeatPoints Number of points awarded for a defeat
+     * @param tiePoints Number of points awarded for a tied match
+     * @return a collector of results into a ranking, associating each
+     * competitor to its score. Competitors who do not appear in any results
+     * have a score of 0. The ranking is unmodifiable.
+     * @throws IllegalArgumentException if one of the competitors of the
+     * results is unknown, ie. not part of the list of competitors
+     */
+    public static <T extends Competitor>
+    Collector<Result<T>, ?, Map<T, Integer>> toRanking(List<T> competitors, int victoryPoints,
+                                                       int defeatPoints, int tiePoints) {
+        return Collector.of(
+            () -> new IndexedRankingHandler<>(competitors, new KeepNoneRetentionStrategy(),
+                                              victoryPoints, defeatPoints, tiePoints),
+            IndexedRankingHandler::addResult,
+            (handler, other) -> {
+                handler.merge(other);
+                return handler;
+            },
+            IndexedRankingHandler::getRanking,
+            Collector.Characteristics.UNORDERED);
+    }
+}
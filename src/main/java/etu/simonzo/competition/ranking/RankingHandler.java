@@ -24,7 +24,10 @@ public interface RankingHandler<T extends Competitor> {
     public void addResult(Result<T> result);
 
     /**
-     * gives the collection of the match results already taken account by this ranking handler
+     * gives the collection of the match results already taken account by this ranking handler.
+     * An implementation may not keep every result (see
+     * {@link etu.simonzo.competition.strategies.retention.RetentionStrategy}):
+     * it then documents which results this collection contains.
      * @return the collection of the match results already taken account by this ranking handler
      */
     public Collection<Result<T>> getResults();
@@ -41,4 +44,54 @@ public interface RankingHandler<T extends Competitor> {
      * </ol>
      */
     public Map<T, Integer> getRanking();
+
+    /**
+     * make this ranking handler take account of every match result taken
+     * account by another ranking handler, as if they had been given to this
+     * one. Merging is associative, so partial rankings computed separately
+     * (eg. by several threads, each one with its own ranking handler) can be
+     * merged in any grouping to get the ranking of all their results.
+     * By default, each result of {@link RankingHandler#getResults()} of the
+     * other ranking handler is given to this one, which requires the other
+     * ranking handler to keep all of its results. Implementations may do
+     * better, eg. by adding up the scores of compatible ranking handlers.
+     * @param other a ranking handler of the same competitors, which is not
+     * modified
+     * @throws IllegalArgumentException if <code>other</code> is this ranking
+     * handler, if one of its results is invalid for this ranking handler, or
+     * if its results cannot be merged because it did not keep them all
+     */
+    public default void merge(RankingHandler<T> other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot merge a ranking handler into itself");
+        }
+        if (!other.keepsAllResults()) {
+            throw new IllegalArgumentException(
+                "Cannot merge a ranking handler which did not keep all of its results");
+        }
+        for (Result<T> result : other.getResults()) {
+            this.addResult(result);
+        }
+    }
+
+    /**
+     * Tell whether {@link RankingHandler#getResults()} returns every match
+     * result taken account by this ranking handler, so that replaying them
+     * gives its ranking. By default, every result is kept.
+     * @return <code>true</code> iff no result taken account was dropped
+     */
+    public default boolean keepsAllResults() {
+        return true;
+    }
+
+    /**
+     * make this ranking handler forget every match result it was given, as if
+     * it had just been constructed, so that it can rank the same competitors
+     * again without being constructed anew. This operation is optional.
+     * @throws UnsupportedOperationException if this ranking handler cannot
+     * forget its results (the default)
+     */
+    public default void clear() {
+        throw new UnsupportedOperationException("This ranking handler cannot be cleared");
+    }
 }
@@ -0,0 +1,77 @@
+package etu.simonzo.competition.ranking;
+
+import java.util.List;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.strategies.retention.RetentionStrategy;
+
+/**
+ * Builds the ranking handler of a competition, from the competitors it ranks
+ * and the points awarded for each outcome. Competitions are given a factory
+ * rather than a handler, so that a competition creating sub-competitions (eg.
+ * the leagues and the tournament of a
+ * {@link etu.simonzo.competition.competitions.Master}) can build one handler
+ * of the same kind for each of them.
+ * Any constructor of a handler taking the competitors, then the points of a
+ * victory, of a defeat and of a tie, is a factory (eg.
+ * <code>LeaderboardRankingHandler::new</code>).
+ * @param <T> A Competitor sub-type
+ */
+@FunctionalInterface
+public interface RankingHandlerFactory<T extends Competitor> {
+
+    /**
+     * Build a ranking handler
+     * @param competitors List of competitors registered to be ranked
+     * @param victoryPoints Number of points awarded for a victory
+     * @param defeatPoints Number of points awarded for a defeat
+     * @param tiePoints Number of points awarded for a tied match
+     * @return a new ranking handler, which has not been given any result
+     */
+    public RankingHandler<T> create(List<T> competitors,
+                                    int victoryPoints, int defeatPoints, int tiePoints);
+
+    /**
+     * Return the factory used by default by competitions, which builds an
+     * {@link IndexedRankingHandler} keeping every result
+     * @param <T> A Competitor sub-type
+     * @return a factory of indexed ranking handlers
+     */
+    public static <T extends Competitor> RankingHandlerFactory<T> indexed() {
+        return IndexedRankingHandler::new;
+    }
+
+    /**
+     * Return a factory building an {@link IndexedRankingHandler} which keeps
+     * results according to a retention strategy
+     * @param <T> A Competitor sub-type
+     * @param retention Strategy deciding which results are kept by each handler
+     * @return a factory of indexed ranking handlers
+     */
+    public static <T extends Competitor> RankingHandlerFactory<T> indexed(RetentionStrategy retention) {
+        return (competitors, v, d, t) -> new IndexedRankingHandler<>(competitors, retention, v, d, t);
+    }
+
+    /**
+     * Return a factory building a {@link LeaderboardRankingHandler}, which
+     * keeps competitors sorted at all times
+     * @param <T> A Competitor sub-type
+     * @return a factory of leaderboards
+     */
+    public static <T extends Competitor> RankingHandlerFactory<T> leaderboard() {
+        return LeaderboardRankingHandler::new;
+    }
+
+    /**
+     * Return a factory building a {@link MultiSchemeRankingHandler}, which
+     * ranks competitors under the point scheme given by the competition by
+     * default, and can rank them under any other scheme without replaying
+     * the matches
+     * @param <T> A Competitor sub-type
+     * @return a factory of multi-scheme ranking handlers
+     */
+    public static <T extends Competitor> RankingHandlerFactory<T> multiScheme() {
+        return (competitors, v, d, t) ->
+            new MultiSchemeRankingHandler<>(competitors, new PointScheme(v, d, t));
+    }
+}
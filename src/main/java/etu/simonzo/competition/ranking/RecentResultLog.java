@@ -0,0 +1,93 @@
+package etu.simonzo.competition.ranking;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import etu.simonzo.competition.competitors.Competitor;
+
+/**
+ * A collection of results which keeps only the most recent results added to
+ * it, up to a fixed capacity, in a ring buffer. Once the capacity is reached,
+ * each added result replaces the oldest one. Results are iterated over from
+ * the oldest to the most recent one.
+ * @param <T> A Competitor sub-type
+ */
+public class RecentResultLog<T extends Competitor> extends AbstractCollection<Result<T>> {
+
+    /**
+     * Create an empty log.
+     * @param capacity Maximum number of results kept
+     * @throws IllegalArgumentException iff <code>capacity</code> is not
+     * positive
+     */
+    public RecentResultLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.results = new Object[capacity];
+        this.next = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Add a result, replacing the oldest one if the log is full.
+     * @param result a result
+     * @return <code>true</code>
+     */
+    public boolean add(Result<T> result) {
+        this.results[this.next] = result;
+        this.next = (this.next + 1) % this.results.length;
+        this.size = Math.min(this.size + 1, this.results.length);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Iterator<Result<T>> iterator() {
+        return new Iterator<>() {
+            private int position = 0;
+
+            public boolean hasNext() {
+                return this.position < RecentResultLog.this.size;
+            }
+
+            @SuppressWarnings("unchecked")
+            public Result<T> next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Object[] results = RecentResultLog.this.results;
+                int oldest = RecentResultLog.this.next - RecentResultLog.this.size + results.length;
+                return (Result<T>) results[(oldest + this.position++) % results.length];
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void clear() {
+        Arrays.fill(this.results, null);
+        this.next = 0;
+        this.size = 0;
+    }
+
+    /** Ring buffer of results */
+    private Object[] results;
+
+    /** Slot in which the next result is put */
+    private int next;
+
+    /** Number of results kept */
+    private int size;
+}
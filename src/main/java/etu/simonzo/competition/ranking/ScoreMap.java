@@ -0,0 +1,89 @@
+package etu.simonzo.competition.ranking;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.competitors.CompetitorIndex;
+
+/**
+ * Read-only map associating each competitor of an index to its score, backed
+ * by an array of scores: the score of a competitor is the value of the array
+ * at the index of the competitor. The map follows the changes of the array.
+ * Scores are only boxed when they are read.
+ * @param <T> A Competitor sub-type
+ */
+class ScoreMap<T extends Competitor> extends AbstractMap<T, Integer> {
+
+    /**
+     * Create a view of the given scores.
+     * @param index Dense index of the competitors
+     * @param scores Score of each competitor, by index
+     */
+    ScoreMap(CompetitorIndex<T> index, int[] scores) {
+        this.index = index;
+        this.scores = scores;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Integer get(Object key) {
+        int i = this.index.indexOf(key);
+        return i < 0 ? null : this.scores[i];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean containsKey(Object key) {
+        return this.index.indexOf(key) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int size() {
+        return this.scores.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Set<Map.Entry<T, Integer>> entrySet() {
+        return new AbstractSet<>() {
+            public int size() {
+                return ScoreMap.this.scores.length;
+            }
+
+            public Iterator<Map.Entry<T, Integer>> iterator() {
+                return new Iterator<>() {
+                    private int next = 0;
+
+                    public boolean hasNext() {
+                        return this.next < ScoreMap.this.scores.length;
+                    }
+
+                    public Map.Entry<T, Integer> next() {
+                        if (!this.hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int i = this.next++;
+                        return new AbstractMap.SimpleImmutableEntry<>(
+                            ScoreMap.this.index.get(i), ScoreMap.this.scores[i]);
+                    }
+                };
+            }
+        };
+    }
+
+    /** Dense index of the competitors */
+    private CompetitorIndex<T> index;
+
+    /** Score of each competitor, by index */
+    private int[] scores;
+}
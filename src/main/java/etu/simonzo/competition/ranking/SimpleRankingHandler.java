@@ -3,6 +3,8 @@ package etu.simonzo.competition.ranking;
 import java.util.*;
 
 import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.strategies.retention.KeepAllRetentionStrategy;
+import etu.simonzo.competition.strategies.retention.RetentionStrategy;
 
 /**
  * A simple implementation of the RankingHandler abstraction, based on the use
@@ -22,12 +24,21 @@ public class SimpleRankingHandler<T extends Competitor> implements RankingHandle
     /** Number of points awarded to each player in case of a tie */
     protected int tiePoints;
 
-    /** List of results added since instanciation */
-    protected List<Result<T>> results;
+    /**
+     * Results added since instanciation, kept according to the retention
+     * strategy of the handler
+     */
+    protected Collection<Result<T>> results;
 
     /** Association of competitors and scores */
     protected Map<T, Integer> ranking;
 
+    /** Whether the results log keeps every result added to it */
+    private boolean logKeepsAll;
+
+    /** Whether every result taken account is in the results log */
+    private boolean keepsAll;
+
     /**
      * Construct a simple ranking handler, with the points value of a victory,
      * defeat and tie. These values are used when converting the results to a
@@ -39,11 +50,31 @@ public class SimpleRankingHandler<T extends Competitor> implements RankingHandle
      */
     public SimpleRankingHandler(List<T> competitors, int victoryPoints,
                                 int defeatPoints, int tiePoints) {
+        this(competitors, new KeepAllRetentionStrategy(),
+             victoryPoints, defeatPoints, tiePoints);
+    }
+
+    /**
+     * Construct a ranking handler, with the points value of a victory, defeat
+     * and tie, which keeps the results it is given according to a retention
+     * strategy. The points values are used when converting the results to a
+     * ranking of competitors
+     * @param competitors List of competitors registered to be ranked
+     * @param retention Strategy deciding which results are kept, and so what
+     * {@link SimpleRankingHandler#getResults()} returns
+     * @param victoryPoints Number of points awarded for a victory
+     * @param defeatPoints Number of points awarded for a defeat
+     * @param tiePoints Number of points awarded for a tied match
+     */
+    public SimpleRankingHandler(List<T> competitors, RetentionStrategy retention,
+                                int victoryPoints, int defeatPoints, int tiePoints) {
         this.victoryPoints = victoryPoints;
         this.defeatPoints = defeatPoints;
         this.tiePoints = tiePoints;
-        this.results = new ArrayList<>();
+        this.results = retention.createLog(competitors);
         this.ranking = mapOfCompetitorsWithoutPoints(competitors);
+        this.logKeepsAll = retention.keepsAll();
+        this.keepsAll = this.logKeepsAll;
     }
 
     /**
@@ -63,7 +94,10 @@ public class SimpleRankingHandler<T extends Competitor> implements RankingHandle
     }
 
     /**
-     * {@inheritDoc}
+     * Return the results added to the handler which were kept by its retention
+     * strategy: every result by default, none, the most recent ones, or every
+     * result read back from a file (see {@link RetentionStrategy}).
+     * {@link etu.simonzo.competition.ranking.RankingHandler#getResults}
      */
     public Collection<Result<T>> getResults() {
         return this.results;
@@ -78,6 +112,67 @@ public class SimpleRankingHandler<T extends Competitor> implements RankingHandle
         return this.ranking;
     }
 
+    /**
+     * Take account of the results of another ranking handler. If the other
+     * handler is a SimpleRankingHandler of the same competitors, with the same
+     * points values, its scores are added to the scores of this handler, and
+     * the results it kept are added to the results of this handler, so that
+     * results it did not keep still count. Otherwise, each result it kept is
+     * added to this handler, which requires it to keep all of its results.
+     * {@link etu.simonzo.competition.ranking.RankingHandler#merge}
+     */
+    public void merge(RankingHandler<T> other) {
+        if (!this.isCompatibleWith(other)) {
+            RankingHandler.super.merge(other);
+            return;
+        }
+        SimpleRankingHandler<T> simple = (SimpleRankingHandler<T>) other;
+        this.results.addAll(simple.results);
+        for (Map.Entry<T, Integer> entry : simple.ranking.entrySet()) {
+            this.incrementScore(entry.getKey(), entry.getValue());
+        }
+        this.keepsAll = this.keepsAll && simple.keepsAll;
+    }
+
+    /**
+     * Tell whether every result taken account was kept: it is not the case if
+     * the retention strategy of this handler drops results, or if results
+     * dropped by another handler were merged into this one.
+     * {@link etu.simonzo.competition.ranking.RankingHandler#keepsAllResults}
+     */
+    public boolean keepsAllResults() {
+        return this.keepsAll;
+    }
+
+    /**
+     * Forget every result, and set every score back to 0.
+     * {@link etu.simonzo.competition.ranking.RankingHandler#clear}
+     */
+    public void clear() {
+        this.results.clear();
+        this.ranking.replaceAll((competitor, score) -> 0);
+        this.keepsAll = this.logKeepsAll;
+    }
+
+    /**
+     * Tell whether the scores of another ranking handler can be added to the
+     * scores of this one
+     * @param other another ranking handler
+     * @return <code>true</code> iff the other handler is a
+     * SimpleRankingHandler, distinct from this one, with the same points
+     * values and the same competitors
+     */
+    private boolean isCompatibleWith(RankingHandler<T> other) {
+        if (other == this || !(other instanceof SimpleRankingHandler)) {
+            return false;
+        }
+        SimpleRankingHandler<T> simple = (SimpleRankingHandler<T>) other;
+        return simple.victoryPoints == this.victoryPoints
+            && simple.defeatPoints == this.defeatPoints
+            && simple.tiePoints == this.tiePoints
+            && simple.ranking.keySet().equals(this.ranking.keySet());
+    }
+
     /**
      * Return a hashmap in which all competitors were added as keys, each
      * associated to a score of 0. The returned map should be filled with actual
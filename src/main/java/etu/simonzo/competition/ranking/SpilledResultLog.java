@@ -0,0 +1,223 @@
+package etu.simonzo.competition.ranking;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.competitors.CompetitorIndex;
+import etu.simonzo.competition.match.MatchOutcome;
+
+/**
+ * A collection of results which keeps its results in a file instead of
+ * memory. Each result is written as a line holding the indices of its two
+ * competitors (see {@link CompetitorIndex}) and its outcome. Results are
+ * buffered, and appended to the file by batches, the file being opened only
+ * while a batch is written. Iterating over the log writes the pending batch,
+ * then reads the results back from the file, in the order they were added,
+ * by batches too: the file is opened only while a batch is read, so an
+ * iteration may be given up at any time without leaking a file handle. The
+ * results read are new objects, equivalent to the added ones.
+ * Input/output errors are thrown as {@link UncheckedIOException}.
+ * @param <T> A Competitor sub-type
+ */
+public class SpilledResultLog<T extends Competitor> extends AbstractCollection<Result<T>> {
+
+    /** Number of results written to the file at once */
+    private static final int BATCH_SIZE = 4096;
+
+    /**
+     * Create an empty log, writing to the given file.
+     * @param file File in which results are written. It is created, or
+     * emptied if it exists.
+     * @param competitors List of the competitors of the results
+     * @throws UncheckedIOException if the file cannot be created
+     */
+    public SpilledResultLog(Path file, List<T> competitors) {
+        this(file, new CompetitorIndex<>(competitors));
+    }
+
+    /**
+     * Create an empty log, writing to the given file, which shares an index
+     * of competitors (eg. the index of a ranking handler)
+     * @param file File in which results are written. It is created, or
+     * emptied if it exists.
+     * @param index Index of the competitors of the results
+     * @throws UncheckedIOException if the file cannot be created
+     */
+    public SpilledResultLog(Path file, CompetitorIndex<T> index) {
+        this.file = file;
+        this.index = index;
+        this.pending = new StringBuilder();
+        this.nbPending = 0;
+        this.size = 0;
+        try {
+            Files.write(file, new byte[0]);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Add a result at the end of the log.
+     * @param result a result
+     * @return <code>true</code>
+     * @throws IllegalArgumentException if one of the competitors of the result
+     * is unknown
+     * @throws UncheckedIOException if the pending batch cannot be written
+     */
+    public boolean add(Result<T> result) {
+        int i1 = this.index.indexOf(result.getCompetitor1());
+        int i2 = this.index.indexOf(result.getCompetitor2());
+        if (i1 < 0 || i2 < 0) {
+            throw new IllegalArgumentException("Unknown competitor in result");
+        }
+        this.pending.append(i1).append(' ').append(i2).append(' ')
+            .append(result.getOutcome().ordinal()).append('\n');
+        this.nbPending++;
+        this.size++;
+        if (this.nbPending == BATCH_SIZE) {
+            this.flush();
+        }
+        return true;
+    }
+
+    /**
+     * Return an iterator reading the results back from the file. Results are
+     * read by batches: the file is opened when the iterator needs a new
+     * batch, and closed before the first result of the batch is returned.
+     * @return an iterator over the results, in the order they were added
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public Iterator<Result<T>> iterator() {
+        this.flush();
+        final long expected = this.size;
+        return new Iterator<>() {
+            /** Number of results returned */
+            private long read = 0;
+
+            /** Position in the file of the first result not in the batch */
+            private long offset = 0;
+
+            /** Results read from the file and not returned yet */
+            private Deque<Result<T>> batch = new ArrayDeque<>();
+
+            public boolean hasNext() {
+                return this.read < expected;
+            }
+
+            public Result<T> next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (this.batch.isEmpty()) {
+                    this.readBatch(Math.min(BATCH_SIZE, expected - this.read));
+                }
+                this.read++;
+                return this.batch.poll();
+            }
+
+            /**
+             * Read the next results from the file
+             * @param n number of results to read
+             * @throws UncheckedIOException if the file cannot be read
+             */
+            private void readBatch(long n) {
+                try (SeekableByteChannel channel = Files.newByteChannel(SpilledResultLog.this.file)) {
+                    channel.position(this.offset);
+                    BufferedReader reader = new BufferedReader(
+                        Channels.newReader(channel, StandardCharsets.US_ASCII));
+                    for (long k = 0; k < n; k++) {
+                        String line = reader.readLine();
+                        // Lines are ASCII: one byte per character, and '\n'
+                        this.offset += line.length() + 1;
+                        String[] fields = line.split(" ");
+                        this.batch.add(new SimpleResult<>(
+                            SpilledResultLog.this.index.get(Integer.parseInt(fields[0])),
+                            SpilledResultLog.this.index.get(Integer.parseInt(fields[1])),
+                            MatchOutcome.values()[Integer.parseInt(fields[2])]));
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Return the number of results added to the log, kept in the file or
+     * pending.
+     * @return Number of results
+     */
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, this.size);
+    }
+
+    /**
+     * Remove every result, emptying the file.
+     * @throws UncheckedIOException if the file cannot be emptied
+     */
+    public void clear() {
+        this.pending.setLength(0);
+        this.nbPending = 0;
+        this.size = 0;
+        try {
+            Files.write(this.file, new byte[0]);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Return the index of the competitors of the results
+     * @return the index of the competitors
+     */
+    public CompetitorIndex<T> getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Append the pending batch of results to the file.
+     * @throws UncheckedIOException if the batch cannot be written
+     */
+    private void flush() {
+        if (this.nbPending == 0) {
+            return;
+        }
+        try {
+            Files.writeString(this.file, this.pending, StandardCharsets.US_ASCII,
+                              StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.pending.setLength(0);
+        this.nbPending = 0;
+    }
+
+    /** File in which results are written */
+    private Path file;
+
+    /** Index of the competitors of the results */
+    private CompetitorIndex<T> index;
+
+    /** Results not written to the file yet, one per line */
+    private StringBuilder pending;
+
+    /** Number of results not written to the file yet */
+    private int nbPending;
+
+    /** Number of results added */
+    private long size;
+}
@@ -0,0 +1,199 @@
+package etu.simonzo.competition.simulation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import etu.simonzo.competition.competitions.Competition;
+import etu.simonzo.competition.competitors.Competitor;
+
+/**
+ * Estimate the outcome of a competition by playing it many times. The final
+ * rankings of all runs are aggregated in a {@link SimulationReport}.
+ * The competition of each run is either:
+ * <ul>
+ *  <li>built by a factory from the number of the run (so that, for instance,
+ *  each run may use its own random seed);</li>
+ *  <li>or built once by each thread playing runs, then reset (see
+ *  {@link Competition#reset()}) and played again for each of its next runs,
+ *  so that neither the competition nor its ranking handler is constructed
+ *  anew at each run. Runs then differ only by the outcomes given by the
+ *  match "rule".</li>
+ * </ul>
+ * Runs are spread across the threads of an executor: each thread takes small
+ * ranges of runs one after the other, as long as some are left, so that a
+ * thread which is slowed down does not delay the end of the simulation. Each
+ * thread gathers the statistics of its runs in its own accumulator, whose
+ * buffers are reused from one run to the next. The accumulators are merged
+ * once every run is over, so threads never share state while playing.
+ * @param <T> A Competitor sub-type
+ */
+public class MonteCarloSimulation<T extends Competitor> {
+
+    /** Number of threads expected to play runs */
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Number of ranges of runs prepared for each thread, so that threads
+     * which end their ranges early take some of the others
+     */
+    private static final int RANGES_PER_THREAD = 8;
+
+    /**
+     * Create a simulation of the competitions built by a factory, between the
+     * given competitors. A new competition is built for each run.
+     * @param competitors List of the competitors whose statistics are
+     * gathered. Duplicates are ignored.
+     * @param factory Function building the competition of each run from the
+     * number of the run, from 0 (inclusive) to the number of runs
+     * (exclusive). It is called from several threads at once, and must
+     * return a new competition at each call.
+     */
+    public MonteCarloSimulation(List<T> competitors,
+                                IntFunction<? extends Competition<T>> factory) {
+        this(competitors, factory, null);
+    }
+
+    /**
+     * Create a simulation of the competitions built by a factory, between the
+     * given competitors. Each thread playing runs builds one competition, and
+     * resets it before each of its next runs.
+     * @param competitors List of the competitors whose statistics are
+     * gathered. Duplicates are ignored.
+     * @param factory Function building the competition played by a thread. It
+     * is called from several threads at once, and must return a new
+     * competition at each call, which can be reset (see
+     * {@link Competition#reset()}) and whose match "rule" gives a new outcome
+     * each time a match is played again.
+     */
+    public MonteCarloSimulation(List<T> competitors,
+                                Supplier<? extends Competition<T>> factory) {
+        this(competitors, null, factory);
+    }
+
+    /**
+     * Create a simulation from either kind of factory
+     * @param competitors List of the competitors whose statistics are
+     * gathered. Duplicates are ignored.
+     * @param factory Function building the competition of each run, or null
+     * @param reusableFactory Function building the competition of each
+     * thread, or null
+     */
+    private MonteCarloSimulation(List<T> competitors,
+                                 IntFunction<? extends Competition<T>> factory,
+                                 Supplier<? extends Competition<T>> reusableFactory) {
+        this.competitors = new ArrayList<>();
+        this.index = new HashMap<>();
+        for (T competitor : competitors) {
+            if (!this.index.containsKey(competitor)) {
+                this.index.put(competitor, this.competitors.size());
+                this.competitors.add(competitor);
+            }
+        }
+        this.factory = factory;
+        this.reusableFactory = reusableFactory;
+        this.executor = null;
+    }
+
+    /**
+     * Set the executor used to play the runs. By default, the common
+     * fork/join pool is used.
+     * @param executor the executor used to play runs, or <code>null</code> to
+     * use the common fork/join pool
+     */
+    public void setExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Play the given number of runs, and aggregate their final rankings. As
+     * many tasks as there are available processors are given to the executor;
+     * each one plays ranges of runs until none is left.
+     * @param nbRuns Number of runs to play
+     * @return the statistics of every run
+     * @throws IllegalArgumentException iff <code>nbRuns</code> is negative
+     * @throws IllegalStateException if the ranking of a run contains a
+     * competitor which is not a competitor of the simulation, or if the
+     * current thread is interrupted while waiting for the runs
+     */
+    public SimulationReport<T> run(int nbRuns) {
+        if (nbRuns < 0) {
+            throw new IllegalArgumentException("nbRuns is negative");
+        }
+        ExecutorService executor = this.executor != null ? this.executor : ForkJoinPool.commonPool();
+        int nbTasks = Math.max(1, Math.min(PARALLELISM, nbRuns));
+        int rangeSize = Math.max(1, nbRuns / (nbTasks * RANGES_PER_THREAD));
+        AtomicInteger nextRun = new AtomicInteger();
+        List<Future<SimulationAccumulator<T>>> tasks = new ArrayList<>();
+        try {
+            for (int k = 0; k < nbTasks; k++) {
+                tasks.add(executor.submit(() -> this.playRuns(nextRun, rangeSize, nbRuns)));
+            }
+            SimulationAccumulator<T> total = new SimulationAccumulator<>(this.index);
+            for (Future<SimulationAccumulator<T>> task : tasks) {
+                total.merge(Competition.await(task));
+            }
+            return new SimulationReport<>(this.competitors, this.index, total);
+        } finally {
+            for (Future<SimulationAccumulator<T>> task : tasks) {
+                task.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Play ranges of runs, taken one after the other from a counter shared
+     * with the other tasks, until every run is taken, and gather their
+     * statistics.
+     * @param nextRun number of the first run not taken yet
+     * @param rangeSize number of runs taken at once
+     * @param nbRuns number of runs to play
+     * @return statistics of the runs played by this task
+     */
+    private SimulationAccumulator<T> playRuns(AtomicInteger nextRun, int rangeSize, int nbRuns) {
+        SimulationAccumulator<T> accumulator = new SimulationAccumulator<>(this.index);
+        Competition<T> reused = null;
+        int from;
+        // The counter stops at nbRuns, so that it cannot overflow
+        while ((from = nextRun.getAndAccumulate(rangeSize, (n, k) -> (int) Math.min(nbRuns, (long) n + k)))
+               < nbRuns) {
+            int to = (int) Math.min(nbRuns, (long) from + rangeSize);
+            for (int run = from; run < to; run++) {
+                Competition<T> competition;
+                if (this.reusableFactory == null) {
+                    competition = this.factory.apply(run);
+                } else if (reused == null) {
+                    competition = reused = this.reusableFactory.get();
+                } else {
+                    competition = reused;
+                    competition.reset();
+                }
+                competition.play();
+                accumulator.add(competition.ranking());
+            }
+        }
+        return accumulator;
+    }
+
+    /** Competitors whose statistics are gathered */
+    private List<T> competitors;
+
+    /** Position in the list of competitors of each competitor */
+    private Map<T, Integer> index;
+
+    /** Factory of the competition of each run, or null */
+    private IntFunction<? extends Competition<T>> factory;
+
+    /** Factory of the competition of each thread, or null */
+    private Supplier<? extends Competition<T>> reusableFactory;
+
+    /** Executor used to play the runs, or null for the common pool */
+    private ExecutorService executor;
+}
@@ -0,0 +1,131 @@
+package etu.simonzo.competition.simulation;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import etu.simonzo.competition.competitors.Competitor;
+
+/**
+ * Statistics gathered over some runs of a simulation, by a single thread.
+ * Competitors are identified by their position in the list of competitors of
+ * the simulation. The buffers used to rank the competitors of a run are kept
+ * between runs, so that adding a run does not allocate.
+ * @param <T> A Competitor sub-type
+ */
+class SimulationAccumulator<T extends Competitor> {
+
+    /**
+     * Create an accumulator which has not seen any run yet.
+     * @param index position in the list of competitors of each competitor
+     */
+    SimulationAccumulator(Map<T, Integer> index) {
+        int n = index.size();
+        this.index = index;
+        this.nbRuns = 0;
+        this.wins = new long[n];
+        this.points = new long[n];
+        this.positions = new long[n][n];
+        this.scores = new int[n];
+        this.sortedScores = new int[n];
+        this.ranked = new boolean[n];
+    }
+
+    /**
+     * Take the final ranking of a run into account. Competitors missing from
+     * the ranking (eg. eliminated before the last phase of a master) earn no
+     * points, and share the position following the last ranked competitor.
+     * @param ranking final ranking of a run
+     * @throws IllegalStateException if a competitor of the ranking is not a
+     * competitor of the simulation
+     */
+    void add(Map<T, Integer> ranking) {
+        Arrays.fill(this.ranked, false);
+        int nbRanked = 0;
+        for (Map.Entry<T, Integer> entry : ranking.entrySet()) {
+            Integer i = this.index.get(entry.getKey());
+            if (i == null) {
+                throw new IllegalStateException("Unknown competitor in ranking");
+            }
+            this.ranked[i] = true;
+            this.scores[i] = entry.getValue();
+            this.sortedScores[nbRanked++] = entry.getValue();
+        }
+        Arrays.sort(this.sortedScores, 0, nbRanked);
+        for (int i = 0; i < this.scores.length; i++) {
+            int position = nbRanked;
+            if (this.ranked[i]) {
+                position = nbRanked - upperBound(this.sortedScores, nbRanked, this.scores[i]);
+                this.points[i] += this.scores[i];
+            }
+            this.positions[i][position]++;
+            if (position == 0) {
+                this.wins[i]++;
+            }
+        }
+        this.nbRuns++;
+    }
+
+    /**
+     * Add the statistics of another accumulator to the statistics of this one.
+     * @param other accumulator of the same simulation
+     */
+    void merge(SimulationAccumulator<T> other) {
+        this.nbRuns += other.nbRuns;
+        for (int i = 0; i < this.wins.length; i++) {
+            this.wins[i] += other.wins[i];
+            this.points[i] += other.points[i];
+            for (int p = 0; p < this.positions[i].length; p++) {
+                this.positions[i][p] += other.positions[i][p];
+            }
+        }
+    }
+
+    /**
+     * Give the number of values of a sorted array prefix which are lower than
+     * or equal to a value.
+     * @param sorted array whose prefix is sorted in increasing order
+     * @param length length of the sorted prefix
+     * @param value value to compare
+     * @return number of values of the prefix lower than or equal to the value
+     */
+    private static int upperBound(int[] sorted, int length, int value) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /** Position in the list of competitors of each competitor */
+    private Map<T, Integer> index;
+
+    /** Number of runs seen */
+    long nbRuns;
+
+    /** Number of runs won by each competitor */
+    long[] wins;
+
+    /** Total points earned by each competitor */
+    long[] points;
+
+    /**
+     * Number of runs ended by each competitor at each position (starting from
+     * 0 for the first position)
+     */
+    long[][] positions;
+
+    /** Score of each competitor in the run being added */
+    private int[] scores;
+
+    /** Scores of the run being added, in increasing order */
+    private int[] sortedScores;
+
+    /** Whether each competitor is in the ranking of the run being added */
+    private boolean[] ranked;
+}
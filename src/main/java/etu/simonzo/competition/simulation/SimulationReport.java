@@ -0,0 +1,120 @@
+package etu.simonzo.competition.simulation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import etu.simonzo.competition.competitors.Competitor;
+
+/**
+ * Statistics gathered over every run of a {@link MonteCarloSimulation}: for
+ * each competitor, its probability to win, the points it is expected to earn,
+ * and how often it ended at each position of the final ranking.
+ * @param <T> A Competitor sub-type
+ */
+public class SimulationReport<T extends Competitor> {
+
+    /**
+     * Create a report from the statistics of every run of a simulation.
+     * @param competitors List of the competitors of the simulation
+     * @param index position in the list of competitors of each competitor
+     * @param statistics statistics of every run of the simulation
+     */
+    SimulationReport(List<T> competitors, Map<T, Integer> index,
+                     SimulationAccumulator<T> statistics) {
+        this.competitors = Collections.unmodifiableList(competitors);
+        this.index = index;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Return the competitors the statistics are about.
+     * @return an unmodifiable list of the competitors of the simulation
+     */
+    public List<T> getCompetitors() {
+        return this.competitors;
+    }
+
+    /**
+     * Return the number of runs of the simulation.
+     * @return Number of runs
+     */
+    public long getNbRuns() {
+        return this.statistics.nbRuns;
+    }
+
+    /**
+     * Return the fraction of the runs won by a competitor. A run is won by
+     * every competitor with the most points, so with ties, the probabilities
+     * of all competitors may add up to more than 1.
+     * @param competitor a competitor of the simulation
+     * @return probability for the competitor to win, between 0 and 1
+     * @throws IllegalArgumentException if the competitor is not a competitor
+     * of the simulation
+     */
+    public double getWinProbability(T competitor) {
+        return this.average(this.statistics.wins[this.indexOf(competitor)]);
+    }
+
+    /**
+     * Return the average number of points earned by a competitor in the final
+     * ranking of a run.
+     * @param competitor a competitor of the simulation
+     * @return expected number of points of the competitor
+     * @throws IllegalArgumentException if the competitor is not a competitor
+     * of the simulation
+     */
+    public double getExpectedPoints(T competitor) {
+        return this.average(this.statistics.points[this.indexOf(competitor)]);
+    }
+
+    /**
+     * Return how many runs a competitor ended at each position of the final
+     * ranking. A competitor ends at position <code>p + 1</code> when
+     * <code>p</code> competitors have strictly more points than it.
+     * @param competitor a competitor of the simulation
+     * @return an array whose value at index <code>p</code> is the number of
+     * runs ended at position <code>p + 1</code>
+     * @throws IllegalArgumentException if the competitor is not a competitor
+     * of the simulation
+     */
+    public long[] getPositionHistogram(T competitor) {
+        return this.statistics.positions[this.indexOf(competitor)].clone();
+    }
+
+    /**
+     * Divide a total by the number of runs.
+     * @param total total over every run
+     * @return average over the runs, or 0 if there was no run
+     */
+    private double average(long total) {
+        if (this.statistics.nbRuns == 0) {
+            return 0;
+        }
+        return (double) total / this.statistics.nbRuns;
+    }
+
+    /**
+     * Return the position of a competitor in the list of competitors.
+     * @param competitor a competitor of the simulation
+     * @return position of the competitor
+     * @throws IllegalArgumentException if the competitor is not a competitor
+     * of the simulation
+     */
+    private int indexOf(T competitor) {
+        Integer i = this.index.get(competitor);
+        if (i == null) {
+            throw new IllegalArgumentException("Unknown competitor");
+        }
+        return i;
+    }
+
+    /** Competitors of the simulation */
+    private List<T> competitors;
+
+    /** Position in the list of competitors of each competitor */
+    private Map<T, Integer> index;
+
+    /** Statistics of every run */
+    private SimulationAccumulator<T> statistics;
+}
@@ -0,0 +1,41 @@
+package etu.simonzo.competition.strategies.retention;
+
+import java.util.Collection;
+import java.util.List;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.competitors.CompetitorIndex;
+import etu.simonzo.competition.ranking.ColumnarResultLog;
+import etu.simonzo.competition.ranking.Result;
+
+/**
+ * Represents a retention policy where every result is kept in memory, but in
+ * a compact form: results are stored as columns of primitive values rather
+ * than as objects (see {@link ColumnarResultLog}).
+ */
+public class KeepAllColumnarRetentionStrategy implements RetentionStrategy {
+
+    /**
+     * Create a columnar log keeping every result.
+     * @param <T> Sub-type of Competitor
+     * @param competitors the list of competitors ranked by the handler
+     * @return an empty {@link ColumnarResultLog}
+     */
+    public <T extends Competitor> Collection<Result<T>>
+    createLog(List<T> competitors) {
+        return new ColumnarResultLog<>(competitors);
+    }
+
+    /**
+     * Create a columnar log keeping every result, sharing the index of the
+     * ranking handler.
+     * @param <T> Sub-type of Competitor
+     * @param index the index of the competitors ranked by the handler
+     * @return an empty {@link ColumnarResultLog}
+     */
+    public <T extends Competitor> Collection<Result<T>>
+    createLog(CompetitorIndex<T> index) {
+        return new ColumnarResultLog<>(index);
+    }
+
+}
@@ -0,0 +1,27 @@
+package etu.simonzo.competition.strategies.retention;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.ranking.Result;
+
+/**
+ * Represents the "default" retention policy of a ranking handler: every
+ * result is kept in memory, in the order it was added.
+ */
+public class KeepAllRetentionStrategy implements RetentionStrategy {
+
+    /**
+     * Create a list keeping every result.
+     * @param <T> Sub-type of Competitor
+     * @param competitors the list of competitors ranked by the handler
+     * @return an empty list
+     */
+    public <T extends Competitor> Collection<Result<T>>
+    createLog(List<T> competitors) {
+        return new ArrayList<>();
+    }
+
+}
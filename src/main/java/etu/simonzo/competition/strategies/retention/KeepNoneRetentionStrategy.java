@@ -0,0 +1,37 @@
+package etu.simonzo.competition.strategies.retention;
+
+import java.util.Collection;
+import java.util.List;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.ranking.DiscardingResultLog;
+import etu.simonzo.competition.ranking.Result;
+
+/**
+ * Represents a retention policy where no result is kept: a ranking handler
+ * only keeps the scores of the competitors, and its collection of results is
+ * always empty.
+ */
+public class KeepNoneRetentionStrategy implements RetentionStrategy {
+
+    /**
+     * Create a collection discarding every result.
+     * @param <T> Sub-type of Competitor
+     * @param competitors the list of competitors ranked by the handler
+     * @return a {@link DiscardingResultLog}
+     */
+    public <T extends Competitor> Collection<Result<T>>
+    createLog(List<T> competitors) {
+        return new DiscardingResultLog<>();
+    }
+
+    /**
+     * Tell whether the logs created by this policy keep every result: they do
+     * not, since no result is kept.
+     * {@link RetentionStrategy#keepsAll}
+     */
+    public boolean keepsAll() {
+        return false;
+    }
+
+}
@@ -0,0 +1,53 @@
+package etu.simonzo.competition.strategies.retention;
+
+import java.util.Collection;
+import java.util.List;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.ranking.RecentResultLog;
+import etu.simonzo.competition.ranking.Result;
+
+/**
+ * Represents a retention policy where only the most recent results are kept,
+ * up to a given number of results: once this number is reached, each new
+ * result replaces the oldest one.
+ */
+public class KeepRecentRetentionStrategy implements RetentionStrategy {
+
+    /** Maximum number of results kept */
+    private int capacity;
+
+    /**
+     * Create a policy keeping at most <code>capacity</code> results.
+     * @param capacity Maximum number of results kept
+     * @throws IllegalArgumentException iff <code>capacity</code> is not
+     * positive
+     */
+    public KeepRecentRetentionStrategy(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Create a collection keeping the most recent results.
+     * @param <T> Sub-type of Competitor
+     * @param competitors the list of competitors ranked by the handler
+     * @return a {@link RecentResultLog}
+     */
+    public <T extends Competitor> Collection<Result<T>>
+    createLog(List<T> competitors) {
+        return new RecentResultLog<>(this.capacity);
+    }
+
+    /**
+     * Tell whether the logs created by this policy keep every result: they do
+     * not, since older results are dropped.
+     * {@link RetentionStrategy#keepsAll}
+     */
+    public boolean keepsAll() {
+        return false;
+    }
+
+}
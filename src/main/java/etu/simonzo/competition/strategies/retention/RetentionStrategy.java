@@ -0,0 +1,62 @@
+package etu.simonzo.competition.strategies.retention;
+
+import java.util.Collection;
+import java.util.List;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.competitors.CompetitorIndex;
+import etu.simonzo.competition.ranking.Result;
+
+/**
+ * Represents a policy deciding which match results a ranking handler keeps,
+ * once they have been taken into account in the ranking. Scores never depend
+ * on the policy: only what {@link
+ * etu.simonzo.competition.ranking.RankingHandler#getResults()} returns does.
+ *
+ * Keeping every result is convenient, but a large competition plays so many
+ * matches that their results may not fit in memory (eg. a league of 5,000
+ * competitors plays about 25 million matches). Results may then be discarded,
+ * only the most recent ones kept, or written to a file.
+ * So, an instance of a class that implements this interface defines a
+ * (precise) way to keep results.
+ */
+public interface RetentionStrategy {
+    /**
+     * Create the collection in which a ranking handler logs the results it is
+     * given. Results are added to the collection in the order they are given
+     * to the handler.
+     * @param <T> a subclass of competitors
+     * @param competitors the list of competitors ranked by the handler
+     * @return an empty collection, which keeps the results added to it
+     * according to this policy
+     */
+    <T extends Competitor> Collection<Result<T>>
+    createLog(List<T> competitors);
+
+    /**
+     * Create the collection in which a ranking handler logs the results it is
+     * given, when the handler already gave its competitors a dense index.
+     * Logs storing competitors by index share this index instead of building
+     * their own. By default, the log is created from the indexed competitors.
+     * @param <T> a subclass of competitors
+     * @param index the index of the competitors ranked by the handler
+     * @return an empty collection, which keeps the results added to it
+     * according to this policy
+     */
+    default <T extends Competitor> Collection<Result<T>>
+    createLog(CompetitorIndex<T> index) {
+        return this.createLog(index.getCompetitors());
+    }
+
+    /**
+     * Tell whether the logs created by this policy keep every result added to
+     * them. Ranking handlers whose log does not keep every result cannot be
+     * merged by replaying their results (see {@link
+     * etu.simonzo.competition.ranking.RankingHandler#merge}). By default, every
+     * result is kept.
+     * @return <code>true</code> iff every result added to a log is kept
+     */
+    default boolean keepsAll() {
+        return true;
+    }
+}
@@ -0,0 +1,57 @@
+package etu.simonzo.competition.strategies.retention;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.competitors.CompetitorIndex;
+import etu.simonzo.competition.ranking.Result;
+import etu.simonzo.competition.ranking.SpilledResultLog;
+
+/**
+ * Represents a retention policy where every result is kept, but in a file
+ * instead of memory. Results are read back from the file when they are
+ * iterated over.
+ */
+public class SpillToFileRetentionStrategy implements RetentionStrategy {
+
+    /** File in which results are written */
+    private Path file;
+
+    /**
+     * Create a policy writing results to the given file.
+     * @param file File in which results are written. It is overwritten when a
+     * log is created, so a policy should not be shared by ranking handlers
+     * used at the same time.
+     */
+    public SpillToFileRetentionStrategy(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Create a collection writing results to the file of this policy.
+     * @param <T> Sub-type of Competitor
+     * @param competitors the list of competitors ranked by the handler
+     * @return a {@link SpilledResultLog}
+     * @throws java.io.UncheckedIOException if the file cannot be created
+     */
+    public <T extends Competitor> Collection<Result<T>>
+    createLog(List<T> competitors) {
+        return new SpilledResultLog<>(this.file, competitors);
+    }
+
+    /**
+     * Create a collection writing results to the file of this policy,
+     * sharing the index of the ranking handler.
+     * @param <T> Sub-type of Competitor
+     * @param index the index of the competitors ranked by the handler
+     * @return a {@link SpilledResultLog}
+     * @throws java.io.UncheckedIOException if the file cannot be created
+     */
+    public <T extends Competitor> Collection<Result<T>>
+    createLog(CompetitorIndex<T> index) {
+        return new SpilledResultLog<>(this.file, index);
+    }
+
+}
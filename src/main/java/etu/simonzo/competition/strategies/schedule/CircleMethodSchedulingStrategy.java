@@ -0,0 +1,31 @@
+package etu.simonzo.competition.strategies.schedule;
+
+import java.util.List;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.fixtures.CircleMethodFixtureSource;
+import etu.simonzo.competition.fixtures.FixtureSource;
+
+/**
+ * Represents a scheduling strategy where every competitor faces each opponent
+ * twice, and matches are grouped in rounds in which each competitor plays at
+ * most once, using the circle method. With <code>n</code> competitors, there
+ * are <code>2 * (n - 1)</code> rounds if <code>n</code> is even,
+ * <code>2 * n</code> rounds otherwise (each competitor then skips one round of
+ * each leg).
+ * @see CircleMethodFixtureSource
+ */
+public class CircleMethodSchedulingStrategy implements SchedulingStrategy {
+
+    /**
+     * Schedule the matches between the given competitors in rounds.
+     * @param <T> Sub-type of Competitor
+     * @param competitors the list of competitors to schedule
+     * @return a {@link CircleMethodFixtureSource} over the competitors
+     */
+    public <T extends Competitor> FixtureSource<T>
+    schedule(List<T> competitors) {
+        return new CircleMethodFixtureSource<>(competitors);
+    }
+
+}
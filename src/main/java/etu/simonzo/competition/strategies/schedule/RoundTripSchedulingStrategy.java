@@ -0,0 +1,29 @@
+package etu.simonzo.competition.strategies.schedule;
+
+import java.util.List;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.fixtures.FixtureSource;
+import etu.simonzo.competition.fixtures.RoundTripFixtureSource;
+
+/**
+ * Represents the "default" scheduling strategy of a league: every competitor
+ * faces each opponent twice, and competitors play their "home" matches one
+ * after the other. Given 3 competitors A, B, C and the list [A, B, C], then
+ * the scheduled matches are (A, B), (A, C), (B, A), (B, C), (C, A), (C, B)
+ * @see RoundTripFixtureSource
+ */
+public class RoundTripSchedulingStrategy implements SchedulingStrategy {
+
+    /**
+     * Schedule the matches of a round trip between the given competitors.
+     * @param <T> Sub-type of Competitor
+     * @param competitors the list of competitors to schedule
+     * @return a {@link RoundTripFixtureSource} over the competitors
+     */
+    public <T extends Competitor> FixtureSource<T>
+    schedule(List<T> competitors) {
+        return new RoundTripFixtureSource<>(competitors);
+    }
+
+}
@@ -0,0 +1,35 @@
+package etu.simonzo.competition.strategies.schedule;
+
+import java.util.List;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.fixtures.FixtureSource;
+
+/**
+ * Represents an algorithm used to schedule the matches of a round-robin
+ * competition, i.e to decide which competitor plays against which competitor,
+ * and in what order.
+ * With a set of competitors, there are many ways to schedule the matches.
+ *
+ * For example, if we have 3 competitors [A, B, C], and each competitor has to
+ * face each opponent twice, the matches can be played (for example):
+ * <ul>
+ *  <li>competitor after competitor: (A, B), (A, C), (B, A), (B, C), (C, A),
+ *  (C, B)</li>
+ *  <li>first leg then second leg: (A, B), (A, C), (B, C), (B, A), (C, A),
+ *  (C, B)</li>
+ * </ul>
+ * So, an instance of a class that implements this interface defines a
+ * (precise) way to schedule the matches.
+ */
+public interface SchedulingStrategy {
+    /**
+     * Schedule the matches between the given competitors using the algorithm
+     * defined in this method.
+     * @param <T> a subclass of competitors
+     * @param competitors the list of competitors to schedule
+     * @return the schedule, as a source of fixtures
+     */
+    <T extends Competitor> FixtureSource<T>
+    schedule(List<T> competitors);
+}
@@ -0,0 +1,9 @@
+package etu.simonzo.competition.util;
+
+/**
+ * Marker interface of the maps whose entries are already iterated over in
+ * descending order of their values. {@link MapUtil#sortByDescendingValue}
+ * copies such maps as they are, instead of sorting their entries.
+ */
+public interface DescendingValueOrder {
+}
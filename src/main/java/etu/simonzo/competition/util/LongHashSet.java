@@ -0,0 +1,130 @@
+package etu.simonzo.competition.util;
+
+/**
+ * A set of primitive <code>long</code> values, based on an open addressing
+ * hash table with linear probing. Values are stored unboxed in a single array,
+ * so the set is compact and adding or looking up a value never allocates
+ * (except when the table grows). Values cannot be removed.
+ */
+public class LongHashSet {
+
+    /**
+     * Create an empty set, sized to hold <code>expectedSize</code> values
+     * without growing.
+     * @param expectedSize number of values expected to be added
+     * @throws IllegalArgumentException iff <code>expectedSize</code> is negative
+     */
+    public LongHashSet(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize is negative");
+        }
+        int capacity = 16;
+        while (capacity < 2L * expectedSize) {
+            capacity *= 2;
+        }
+        this.table = new long[capacity];
+        this.size = 0;
+        this.containsZero = false;
+    }
+
+    /**
+     * Add a value to the set
+     * @param value value to add
+     * @return <code>true</code> iff the value was not already in the set
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            boolean added = !this.containsZero;
+            if (added) {
+                this.containsZero = true;
+                this.size++;
+            }
+            return added;
+        }
+        int slot = this.slotOf(value);
+        if (this.table[slot] == value) {
+            return false;
+        }
+        this.table[slot] = value;
+        this.size++;
+        if (2 * this.size > this.table.length) {
+            this.grow();
+        }
+        return true;
+    }
+
+    /**
+     * Tell whether a value is in the set
+     * @param value value to look up
+     * @return <code>true</code> iff the value is in the set
+     */
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return this.containsZero;
+        }
+        return this.table[this.slotOf(value)] == value;
+    }
+
+    /**
+     * Give the number of values in the set
+     * @return number of values in the set
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Give the slot of the table which holds the value, or the empty slot
+     * where it would be stored.
+     * @param value a value different from {@link LongHashSet#EMPTY}
+     * @return index of a slot of the table
+     */
+    private int slotOf(long value) {
+        int mask = this.table.length - 1;
+        int slot = hash(value) & mask;
+        while (this.table[slot] != EMPTY && this.table[slot] != value) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Double the capacity of the table, and put back every value.
+     */
+    private void grow() {
+        long[] old = this.table;
+        this.table = new long[2 * old.length];
+        for (long value : old) {
+            if (value != EMPTY) {
+                this.table[this.slotOf(value)] = value;
+            }
+        }
+    }
+
+    /**
+     * Scramble the bits of a value, so that close values land in distant
+     * slots (finalizer of MurmurHash3).
+     * @param value value to hash
+     * @return hash of the value
+     */
+    private static int hash(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return (int) value;
+    }
+
+    /** Marker of an empty slot of the table */
+    private static final long EMPTY = 0L;
+
+    /** Hash table, whose length is a power of two */
+    private long[] table;
+
+    /** Number of values in the set */
+    private int size;
+
+    /** Whether the value {@link LongHashSet#EMPTY} is in the set */
+    private boolean containsZero;
+}
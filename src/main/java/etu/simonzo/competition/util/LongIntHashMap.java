@@ -0,0 +1,156 @@
+package etu.simonzo.competition.util;
+
+import java.util.Arrays;
+
+/**
+ * A map from primitive <code>long</code> keys to primitive <code>int</code>
+ * values, based on an open addressing hash table with linear probing, like
+ * {@link LongHashSet}. Keys and values are stored unboxed in two parallel
+ * arrays, so looking up or putting a value never allocates (except when the
+ * table grows). Keys cannot be removed one by one, but the whole map can be cleared.
+ */
+public class LongIntHashMap {
+
+    /**
+     * Create an empty map, sized to hold <code>expectedSize</code> keys
+     * without growing.
+     * @param expectedSize number of keys expected to be put
+     * @throws IllegalArgumentException iff <code>expectedSize</code> is negative
+     */
+    public LongIntHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize is negative");
+        }
+        int capacity = 16;
+        while (capacity < 2L * expectedSize) {
+            capacity *= 2;
+        }
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.size = 0;
+        this.containsZero = false;
+        this.zeroValue = 0;
+    }
+
+    /**
+     * Associate a value to a key, replacing its previous value if any
+     * @param key key of the value
+     * @param value value to associate to the key
+     */
+    public void put(long key, int value) {
+        if (key == EMPTY) {
+            if (!this.containsZero) {
+                this.containsZero = true;
+                this.size++;
+            }
+            this.zeroValue = value;
+            return;
+        }
+        int slot = this.slotOf(key);
+        this.values[slot] = value;
+        if (this.keys[slot] == key) {
+            return;
+        }
+        this.keys[slot] = key;
+        this.size++;
+        if (2 * this.size > this.keys.length) {
+            this.grow();
+        }
+    }
+
+    /**
+     * Give the value associated to a key
+     * @param key key to look up
+     * @param defaultValue value to return if the key is not in the map
+     * @return the value associated to the key, or <code>defaultValue</code>
+     */
+    public int get(long key, int defaultValue) {
+        if (key == EMPTY) {
+            return this.containsZero ? this.zeroValue : defaultValue;
+        }
+        int slot = this.slotOf(key);
+        return this.keys[slot] == key ? this.values[slot] : defaultValue;
+    }
+
+    /**
+     * Remove every key from the map, keeping its capacity
+     */
+    public void clear() {
+        Arrays.fill(this.keys, EMPTY);
+        this.size = 0;
+        this.containsZero = false;
+    }
+
+    /**
+     * Give the number of keys in the map
+     * @return number of keys in the map
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Give the slot of the table which holds the key, or the empty slot
+     * where it would be stored.
+     * @param key a key different from {@link LongIntHashMap#EMPTY}
+     * @return index of a slot of the table
+     */
+    private int slotOf(long key) {
+        int mask = this.keys.length - 1;
+        int slot = hash(key) & mask;
+        while (this.keys[slot] != EMPTY && this.keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Double the capacity of the table, and put back every key and value.
+     */
+    private void grow() {
+        long[] oldKeys = this.keys;
+        int[] oldValues = this.values;
+        this.keys = new long[2 * oldKeys.length];
+        this.values = new int[2 * oldValues.length];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = this.slotOf(oldKeys[i]);
+                this.keys[slot] = oldKeys[i];
+                this.values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Scramble the bits of a key, so that close keys land in distant slots
+     * (finalizer of MurmurHash3).
+     * @param key key to hash
+     * @return hash of the key
+     */
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    /** Marker of an empty slot of the table */
+    private static final long EMPTY = 0L;
+
+    /** Keys of the hash table, whose length is a power of two */
+    private long[] keys;
+
+    /** Value of the key of each slot of the table */
+    private int[] values;
+
+    /** Number of keys in the map */
+    private int size;
+
+    /** Whether the key {@link LongIntHashMap#EMPTY} is in the map */
+    private boolean containsZero;
+
+    /** Value associated to the key {@link LongIntHashMap#EMPTY} */
+    private int zeroValue;
+}
@@ -10,6 +10,10 @@ public class MapUtil {
     public static <K, V extends Comparable<? super V>>
     
     Map<K, V> sortByDescendingValue(Map<K, V> map) {
+        if (map instanceof DescendingValueOrder) {
+            // Already in order: copying it is enough
+            return new LinkedHashMap<>(map);
+        }
         List<Entry<K, V>> sortedEntries = new ArrayList<>(map.entrySet());        
         sortedEntries.sort(Entry.comparingByValue((V v1, V v2) -> v2.compareTo(v1)));
         Map<K, V> result = new LinkedHashMap<>();
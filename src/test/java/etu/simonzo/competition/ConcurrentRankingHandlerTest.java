@@ -0,0 +1,116 @@
+package etu.simonzo.competition;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import etu.simonzo.competition.competitions.League;
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.match.Match;
+import etu.simonzo.competition.match.MatchOutcome;
+import etu.simonzo.competition.ranking.ConcurrentRankingHandler;
+import etu.simonzo.competition.ranking.Result;
+import etu.simonzo.competition.ranking.SimpleResult;
+import etu.simonzo.competition.strategies.schedule.RoundTripSchedulingStrategy;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ConcurrentRankingHandlerTest {
+
+    protected Competitor c1, c2, c3;
+
+    @BeforeEach
+    public void setUp() {
+        this.c1 = new Competitor("Alice");
+        this.c2 = new Competitor("Bob");
+        this.c3 = new Competitor("Charlie");
+    }
+
+    protected ConcurrentRankingHandler<Competitor> createConcurrentRankingHandler() {
+        return new ConcurrentRankingHandler<Competitor>(List.of(c1, c2, c3), 3, 0, 1);
+    }
+
+    /* Check that a league ranked by a concurrent handler can be reset and
+     * played again, and then ends like a league played once */
+    @Test
+    public void competitionOnConcurrentHandlerCanBeReset() {
+        List<Competitor> competitors = List.of(c1, c2, c3);
+        Match<Competitor> match = (a, b) -> a.getName().compareTo(b.getName()) < 0 ?
+            MatchOutcome.FIRST_PLAYER_WIN : MatchOutcome.TIE;
+        League<Competitor> league = new League<>(
+            match, competitors, "Concurrent league", new RoundTripSchedulingStrategy(),
+            ConcurrentRankingHandler::new, 3, 0, 1);
+        league.play();
+        Map<Competitor, Integer> once = new HashMap<>(league.ranking());
+
+        league.reset();
+        assertTrue(league.getRankingHandler().getResults().isEmpty());
+        assertEquals(0, league.ranking().get(c1));
+        league.play();
+
+        assertEquals(once, league.ranking());
+        assertEquals(6, league.getRankingHandler().getResults().size());
+    }
+
+    /* Check that the map returned by getRanking contains correct associations
+     * between competitors and scores, and that it is a snapshot */
+    @Test
+    public void getRankingReturnsSnapshotWithRightContent() {
+        ConcurrentRankingHandler<Competitor> crh = createConcurrentRankingHandler();
+        crh.addResult(new SimpleResult<>(this.c1, this.c2, MatchOutcome.FIRST_PLAYER_WIN));
+        crh.addResult(new SimpleResult<>(this.c1, this.c3, MatchOutcome.SECOND_PLAYER_WIN));
+        Map<Competitor, Integer> ranking = crh.getRanking();
+        crh.addResult(new SimpleResult<>(this.c2, this.c3, MatchOutcome.TIE));
+
+        assertEquals(Map.of(c1, 3, c2, 0, c3, 3), ranking);
+        assertEquals(Map.of(c1, 3, c2, 1, c3, 4), crh.getRanking());
+        assertEquals(3, crh.getResults().size());
+    }
+
+    /* Check that addResult throws when a result refers to an unknown
+     * competitor */
+    @Test
+    public void addResultThrowExceptionWhenGivenAResultWithUnknownCompetitor() {
+        ConcurrentRankingHandler<Competitor> crh = createConcurrentRankingHandler();
+        Result<Competitor> res = new SimpleResult<>(
+            c1, new Competitor("Incognito"), MatchOutcome.SECOND_PLAYER_WIN);
+        assertThrows(IllegalArgumentException.class, () -> crh.addResult(res));
+        assertTrue(crh.getResults().isEmpty());
+    }
+
+    /* Check that no result is lost when many threads add results at once, and
+     * that every snapshot taken meanwhile is consistent: each added result
+     * brings exactly 3 points, so the total is 3 times the number of results
+     * of the snapshot */
+    @Test
+    public void concurrentWritersLoseNothingAndSnapshotsAreConsistent() throws Exception {
+        ConcurrentRankingHandler<Competitor> crh = createConcurrentRankingHandler();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            writers.add(executor.submit(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    crh.addResult(new SimpleResult<>(c1, c2, MatchOutcome.FIRST_PLAYER_WIN));
+                    crh.addResult(new SimpleResult<>(c2, c3, MatchOutcome.SECOND_PLAYER_WIN));
+                }
+            }));
+        }
+        for (int k = 0; k < 50; k++) {
+            int c1Points = crh.getRanking().get(c1);
+            int c3Points = crh.getRanking().get(c3);
+            assertEquals(0, c1Points % 3);
+            assertEquals(0, c3Points % 3);
+        }
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        executor.shutdown();
+
+        assertEquals(Map.of(c1, 3 * 80000, c2, 0, c3, 3 * 80000), crh.getRanking());
+        assertEquals(160000, crh.getResults().size());
+    }
+}
@@ -0,0 +1,121 @@
+package etu.simonzo.competition;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.competitors.CompetitorIndex;
+import etu.simonzo.competition.match.MatchOutcome;
+import etu.simonzo.competition.ranking.HeadToHeadIndex;
+import etu.simonzo.competition.ranking.IndexedRankingHandler;
+import etu.simonzo.competition.ranking.Result;
+import etu.simonzo.competition.ranking.SimpleResult;
+
+import java.util.*;
+
+public class HeadToHeadIndexTest {
+
+    protected Competitor c1, c2, c3;
+
+    @BeforeEach
+    public void setUp() {
+        this.c1 = new Competitor("Alice");
+        this.c2 = new Competitor("Bob");
+        this.c3 = new Competitor("Charlie");
+    }
+
+    /* Check that the head-to-head record of a ranking handler counts the
+     * victories of each competitor and the ties, in both directions */
+    @Test
+    public void recordCountsOutcomesOfEachPair() {
+        IndexedRankingHandler<Competitor> irh =
+            new IndexedRankingHandler<>(List.of(c1, c2, c3), 3, 0, 1);
+        HeadToHeadIndex<Competitor> h2h = irh.trackHeadToHead();
+        irh.addResult(new SimpleResult<>(c1, c2, MatchOutcome.FIRST_PLAYER_WIN));
+        irh.addResult(new SimpleResult<>(c2, c1, MatchOutcome.FIRST_PLAYER_WIN));
+        irh.addResult(new SimpleResult<>(c2, c1, MatchOutcome.SECOND_PLAYER_WIN));
+        irh.addResult(new SimpleResult<>(c1, c2, MatchOutcome.TIE));
+
+        assertEquals(2, h2h.getNbWins(c1, c2));
+        assertEquals(1, h2h.getNbWins(c2, c1));
+        assertEquals(1, h2h.getNbTies(c2, c1));
+        assertEquals(4, h2h.getNbMatches(c1, c2));
+        assertEquals(0, h2h.getNbMatches(c1, c3));
+        assertEquals(List.of(c2), h2h.getOpponents(c1));
+        assertEquals(List.of(), h2h.getOpponents(c3));
+        assertSame(h2h, irh.trackHeadToHead());
+        assertThrows(IllegalArgumentException.class,
+                     () -> h2h.getNbWins(c1, new Competitor("Incognito")));
+    }
+
+    /* Check that head-to-head outcomes cannot be tracked once results were
+     * added */
+    @Test
+    public void trackHeadToHeadThrowsOnceResultsWereAdded() {
+        IndexedRankingHandler<Competitor> irh =
+            new IndexedRankingHandler<>(List.of(c1, c2, c3), 3, 0, 1);
+        irh.addResult(new SimpleResult<>(c1, c2, MatchOutcome.TIE));
+        assertThrows(IllegalStateException.class, () -> irh.trackHeadToHead());
+    }
+
+    /* Check that the sparse record of a large field gives the same counts
+     * and opponents as the matrix of a small one, and that records merge */
+    @Test
+    public void sparseRecordMatchesNaiveCounts() {
+        int n = HeadToHeadIndex.DENSE_LIMIT + 1;
+        List<Competitor> competitors = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            competitors.add(new Competitor("C" + i));
+        }
+        CompetitorIndex<Competitor> index = new CompetitorIndex<>(competitors);
+        HeadToHeadIndex<Competitor> first = new HeadToHeadIndex<>(index);
+        HeadToHeadIndex<Competitor> second = new HeadToHeadIndex<>(index);
+        List<Result<Competitor>> results = new ArrayList<>();
+        Random random = new Random(3);
+        MatchOutcome[] outcomes = MatchOutcome.values();
+        for (int k = 0; k < 20000; k++) {
+            int i = random.nextInt(40);
+            int j = random.nextInt(n);
+            MatchOutcome outcome = outcomes[random.nextInt(outcomes.length)];
+            (k % 2 == 0 ? first : second).record(i, j, outcome);
+            results.add(new SimpleResult<>(competitors.get(i), competitors.get(j), outcome));
+        }
+        first.merge(second);
+
+        for (int i = 0; i < 40; i++) {
+            Competitor a = competitors.get(i);
+            Set<Competitor> opponents = new LinkedHashSet<>();
+            for (Result<Competitor> r : results) {
+                if (r.getCompetitor1() == a) {
+                    opponents.add(r.getCompetitor2());
+                } else if (r.getCompetitor2() == a) {
+                    opponents.add(r.getCompetitor1());
+                }
+            }
+            assertEquals(opponents, new HashSet<>(first.getOpponents(a)));
+            assertEquals(opponents.size(), first.getNbOpponents(i));
+            for (Competitor b : opponents) {
+                int wins = 0, ties = 0, matches = 0;
+                for (Result<Competitor> r : results) {
+                    boolean direct = r.getCompetitor1() == a && r.getCompetitor2() == b;
+                    boolean reverse = r.getCompetitor1() == b && r.getCompetitor2() == a;
+                    if (!direct && !reverse) {
+                        continue;
+                    }
+                    matches++;
+                    if (r.getOutcome() == MatchOutcome.TIE) {
+                        ties++;
+                    } else if ((r.getOutcome() == MatchOutcome.FIRST_PLAYER_WIN) == direct) {
+                        wins++;
+                    }
+                }
+                assertEquals(wins, first.getNbWins(a, b));
+                assertEquals(ties, first.getNbTies(a, b));
+                assertEquals(matches, first.getNbMatches(a, b));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> first.merge(first));
+    }
+}
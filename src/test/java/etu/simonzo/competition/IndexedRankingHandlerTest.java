@@ -0,0 +1,97 @@
+package etu.simonzo.competition;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.match.MatchOutcome;
+import etu.simonzo.competition.ranking.IndexedRankingHandler;
+import etu.simonzo.competition.ranking.Result;
+import etu.simonzo.competition.ranking.SimpleRankingHandler;
+import etu.simonzo.competition.ranking.SimpleResult;
+
+import java.util.*;
+
+public class IndexedRankingHandlerTest {
+
+    protected Competitor c1, c2, c3;
+
+    @BeforeEach
+    public void setUp() {
+        this.c1 = new Competitor("Alice");
+        this.c2 = new Competitor("Bob");
+        this.c3 = new Competitor("Charlie");
+    }
+
+    protected IndexedRankingHandler<Competitor> createIndexedRankingHandler() {
+        return new IndexedRankingHandler<Competitor>(List.of(c1, c2, c3), 3, 0, 1);
+    }
+
+    /* Check that addResult throws when a result refers to an unknown competitor
+     * (missing from the list of competitors), and does not keep the result */
+    @Test
+    public void addResultThrowExceptionWhenGivenAResultWithUnknownCompetitor() {
+        IndexedRankingHandler<Competitor> irh = createIndexedRankingHandler();
+        Result<Competitor> res = new SimpleResult<>(
+            c1, new Competitor("Incognito"), MatchOutcome.SECOND_PLAYER_WIN);
+        assertThrows(IllegalArgumentException.class,
+                     () -> irh.addResult(res)
+            );
+        assertTrue(irh.getResults().isEmpty());
+    }
+
+    /* Check that the map returned by getRanking contains correct associations
+     * between competitors and scores, and follows the results added later */
+    @Test
+    public void getRankingReturnsLiveMapWithRightContent() {
+        IndexedRankingHandler<Competitor> irh = createIndexedRankingHandler();
+        Map<Competitor, Integer> ranking = irh.getRanking();
+        irh.addResult(new SimpleResult<>(this.c1, this.c2, MatchOutcome.FIRST_PLAYER_WIN));
+        irh.addResult(new SimpleResult<>(this.c1, this.c3, MatchOutcome.SECOND_PLAYER_WIN));
+        irh.addResult(new SimpleResult<>(this.c2, this.c3, MatchOutcome.TIE));
+
+        assertEquals(3, ranking.size());
+        assertTrue(ranking.containsKey(this.c1));
+        assertFalse(ranking.containsKey(new Competitor("Alice")));
+        assertEquals(3, ranking.get(this.c1));
+        assertEquals(1, ranking.get(this.c2));
+        assertEquals(4, ranking.get(this.c3));
+        assertNull(ranking.get(new Competitor("Alice")));
+        assertEquals(4, irh.getScore(irh.getIndex().indexOf(this.c3)));
+        assertEquals(3, irh.getResults().size());
+    }
+
+    /* Check that the ranking equals the one of a SimpleRankingHandler given the
+     * same results, and that it cannot be modified */
+    @Test
+    public void rankingEqualsSimpleRankingAndIsReadOnly() {
+        IndexedRankingHandler<Competitor> irh = createIndexedRankingHandler();
+        SimpleRankingHandler<Competitor> srh =
+            new SimpleRankingHandler<>(List.of(c1, c2, c3), 3, 0, 1);
+        for (Result<Competitor> r : List.of(
+                 new SimpleResult<>(c2, c1, MatchOutcome.FIRST_PLAYER_WIN),
+                 new SimpleResult<>(c3, c1, MatchOutcome.TIE))) {
+            irh.addResult(r);
+            srh.addResult(r);
+        }
+
+        assertEquals(srh.getRanking(), irh.getRanking());
+        assertEquals(irh.getRanking(), srh.getRanking());
+        assertThrows(UnsupportedOperationException.class,
+                     () -> irh.getRanking().put(c1, 10));
+    }
+
+    /* Check that duplicated competitors are ranked once */
+    @Test
+    public void duplicatedCompetitorsAreRankedOnce() {
+        IndexedRankingHandler<Competitor> irh =
+            new IndexedRankingHandler<>(List.of(c1, c2, c1), 3, 0, 1);
+        irh.addResult(new SimpleResult<>(c1, c2, MatchOutcome.FIRST_PLAYER_WIN));
+
+        assertEquals(2, irh.getRanking().size());
+        assertEquals(3, irh.getRanking().get(c1));
+        assertEquals(List.of(c1, c2), irh.getIndex().getCompetitors());
+    }
+}
@@ -0,0 +1,134 @@
+package etu.simonzo.competition;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.match.MatchOutcome;
+import etu.simonzo.competition.ranking.LeaderboardRankingHandler;
+import etu.simonzo.competition.ranking.Result;
+import etu.simonzo.competition.ranking.SimpleRankingHandler;
+import etu.simonzo.competition.ranking.SimpleResult;
+import etu.simonzo.competition.util.MapUtil;
+
+import java.util.*;
+
+public class LeaderboardRankingHandlerTest {
+
+    protected Competitor c1, c2, c3, c4;
+
+    @BeforeEach
+    public void setUp() {
+        this.c1 = new Competitor("Alice");
+        this.c2 = new Competitor("Bob");
+        this.c3 = new Competitor("Charlie");
+        this.c4 = new Competitor("Dave");
+    }
+
+    protected LeaderboardRankingHandler<Competitor> createLeaderboard() {
+        return new LeaderboardRankingHandler<Competitor>(List.of(c1, c2, c3, c4), 3, 0, 1);
+    }
+
+    /* Check that the ranking is iterated over by descending score, ties being
+     * broken by the order of the competitors, and follows later results */
+    @Test
+    public void rankingIsIteratedOverByDescendingScore() {
+        LeaderboardRankingHandler<Competitor> lrh = createLeaderboard();
+        Map<Competitor, Integer> ranking = lrh.getRanking();
+        assertEquals(List.of(c1, c2, c3, c4), new ArrayList<>(ranking.keySet()));
+
+        lrh.addResult(new SimpleResult<>(c3, c1, MatchOutcome.FIRST_PLAYER_WIN));
+        lrh.addResult(new SimpleResult<>(c4, c2, MatchOutcome.TIE));
+        assertEquals(List.of(c3, c2, c4, c1), new ArrayList<>(ranking.keySet()));
+        assertEquals(List.of(3, 1, 1, 0), new ArrayList<>(ranking.values()));
+        assertEquals(3, ranking.get(c3));
+    }
+
+    /* Check that the ranking equals the one of a SimpleRankingHandler sorted
+     * by MapUtil, in the same order, over many random results */
+    @Test
+    public void rankingMatchesSortedSimpleRanking() {
+        List<Competitor> competitors = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            competitors.add(new Competitor("C" + i));
+        }
+        LeaderboardRankingHandler<Competitor> lrh =
+            new LeaderboardRankingHandler<>(competitors, 3, 0, 1);
+        SimpleRankingHandler<Competitor> srh =
+            new SimpleRankingHandler<>(competitors, 3, 0, 1);
+        Random random = new Random(42);
+        MatchOutcome[] outcomes = MatchOutcome.values();
+        for (int k = 0; k < 2000; k++) {
+            Result<Competitor> r = new SimpleResult<>(
+                competitors.get(random.nextInt(50)), competitors.get(random.nextInt(50)),
+                outcomes[random.nextInt(outcomes.length)]);
+            lrh.addResult(r);
+            srh.addResult(r);
+        }
+
+        Map<Competitor, Integer> sorted = MapUtil.sortByDescendingValue(srh.getRanking());
+        assertEquals(sorted, lrh.getRanking());
+        assertEquals(new ArrayList<>(sorted.values()),
+                     new ArrayList<>(lrh.getRanking().values()));
+        for (int i = 0; i < 50; i++) {
+            assertEquals(new ArrayList<>(lrh.getRanking().keySet()).get(i), lrh.get(i));
+        }
+    }
+
+    /* Check that top gives the k first competitors, and every competitor when
+     * k is larger than their number */
+    @Test
+    public void topGivesFirstCompetitors() {
+        LeaderboardRankingHandler<Competitor> lrh = createLeaderboard();
+        lrh.addResult(new SimpleResult<>(c4, c1, MatchOutcome.FIRST_PLAYER_WIN));
+        lrh.addResult(new SimpleResult<>(c2, c3, MatchOutcome.FIRST_PLAYER_WIN));
+        lrh.addResult(new SimpleResult<>(c4, c2, MatchOutcome.FIRST_PLAYER_WIN));
+
+        assertEquals(List.of(), lrh.top(0));
+        assertEquals(List.of(c4, c2), lrh.top(2));
+        assertEquals(List.of(c4, c2, c1, c3), lrh.top(10));
+        assertThrows(IllegalArgumentException.class, () -> lrh.top(-1));
+    }
+
+    /* Check that rankOf gives the same rank to competitors with the same
+     * score, and throws for unknown competitors */
+    @Test
+    public void rankOfSharesRankBetweenTiedCompetitors() {
+        LeaderboardRankingHandler<Competitor> lrh = createLeaderboard();
+        lrh.addResult(new SimpleResult<>(c3, c1, MatchOutcome.FIRST_PLAYER_WIN));
+        lrh.addResult(new SimpleResult<>(c4, c2, MatchOutcome.FIRST_PLAYER_WIN));
+
+        assertEquals(1, lrh.rankOf(c3));
+        assertEquals(1, lrh.rankOf(c4));
+        assertEquals(3, lrh.rankOf(c1));
+        assertEquals(3, lrh.rankOf(c2));
+        assertThrows(IllegalArgumentException.class,
+                     () -> lrh.rankOf(new Competitor("Incognito")));
+    }
+
+    /* Check that MapUtil returns a copy of the ranking in the same order,
+     * since it is already sorted, and that the ranking cannot be modified */
+    @Test
+    public void rankingIsNotSortedAgainAndIsReadOnly() {
+        LeaderboardRankingHandler<Competitor> lrh = createLeaderboard();
+        Map<Competitor, Integer> sorted = MapUtil.sortByDescendingValue(lrh.getRanking());
+        assertNotSame(lrh.getRanking(), sorted);
+        assertEquals(new ArrayList<>(lrh.getRanking().keySet()), new ArrayList<>(sorted.keySet()));
+        sorted.put(c1, 10);
+        assertNotEquals(10, lrh.getRanking().get(c1));
+        assertThrows(UnsupportedOperationException.class,
+                     () -> lrh.getRanking().put(c1, 10));
+    }
+
+    /* Check that a result between a competitor and itself is handled */
+    @Test
+    public void resultAgainstItselfIsHandled() {
+        LeaderboardRankingHandler<Competitor> lrh = createLeaderboard();
+        lrh.addResult(new SimpleResult<>(c2, c2, MatchOutcome.TIE));
+
+        assertEquals(List.of(c2, c1, c3, c4), lrh.top(4));
+        assertEquals(2, lrh.getRanking().get(c2));
+    }
+}
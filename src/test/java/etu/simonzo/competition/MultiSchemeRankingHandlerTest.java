@@ -0,0 +1,119 @@
+package etu.simonzo.competition;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.match.MatchOutcome;
+import etu.simonzo.competition.ranking.ColumnarResultLog;
+import etu.simonzo.competition.ranking.MultiSchemeRankingHandler;
+import etu.simonzo.competition.ranking.PointScheme;
+import etu.simonzo.competition.ranking.Result;
+import etu.simonzo.competition.ranking.SimpleRankingHandler;
+import etu.simonzo.competition.ranking.SimpleResult;
+
+import java.util.*;
+
+public class MultiSchemeRankingHandlerTest {
+
+    protected List<Competitor> competitors;
+
+    protected List<Result<Competitor>> results;
+
+    @BeforeEach
+    public void setUp() {
+        this.competitors = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            this.competitors.add(new Competitor("C" + i));
+        }
+        this.results = new ArrayList<>();
+        Random random = new Random(11);
+        MatchOutcome[] outcomes = MatchOutcome.values();
+        for (int k = 0; k < 3000; k++) {
+            this.results.add(new SimpleResult<>(
+                this.competitors.get(random.nextInt(10)), this.competitors.get(random.nextInt(10)),
+                outcomes[random.nextInt(outcomes.length)]));
+        }
+    }
+
+    /* Check that the rankings under several point schemes equal the rankings
+     * of SimpleRankingHandlers given the same results */
+    @Test
+    public void rankingsMatchSimpleRankingsOfEachScheme() {
+        MultiSchemeRankingHandler<Competitor> msrh =
+            new MultiSchemeRankingHandler<>(this.competitors, new PointScheme(3, 0, 1));
+        Map<Competitor, Integer> live = msrh.getRanking();
+        this.results.forEach(msrh::addResult);
+
+        for (PointScheme scheme : List.of(new PointScheme(3, 0, 1), new PointScheme(3, 1, 0),
+                                          new PointScheme(2, -1, 1))) {
+            SimpleRankingHandler<Competitor> srh = new SimpleRankingHandler<>(
+                this.competitors, scheme.getVictoryPoints(), scheme.getDefeatPoints(),
+                scheme.getTiePoints());
+            this.results.forEach(srh::addResult);
+            assertEquals(srh.getRanking(), msrh.getRanking(scheme));
+            if (scheme.equals(msrh.getScheme())) {
+                assertEquals(srh.getRanking(), live);
+            }
+        }
+        assertEquals(this.results.size(), msrh.getResults().size());
+    }
+
+    /* Check that the victories, defeats and ties of a competitor are counted,
+     * and that unknown competitors are rejected */
+    @Test
+    public void countsOfACompetitor() {
+        Competitor a = this.competitors.get(0);
+        Competitor b = this.competitors.get(1);
+        MultiSchemeRankingHandler<Competitor> msrh =
+            new MultiSchemeRankingHandler<>(List.of(a, b), new PointScheme(3, 0, 1));
+        msrh.addResult(new SimpleResult<>(a, b, MatchOutcome.FIRST_PLAYER_WIN));
+        msrh.addResult(new SimpleResult<>(b, a, MatchOutcome.TIE));
+        msrh.addResult(new SimpleResult<>(b, a, MatchOutcome.FIRST_PLAYER_WIN));
+
+        assertEquals(1, msrh.getNbWins(a));
+        assertEquals(1, msrh.getNbDefeats(a));
+        assertEquals(1, msrh.getNbTies(b));
+        Result<Competitor> unknown = new SimpleResult<>(a, new Competitor("Incognito"), MatchOutcome.TIE);
+        assertThrows(IllegalArgumentException.class, () -> msrh.addResult(unknown));
+        assertEquals(3, msrh.getResults().size());
+    }
+
+    /* Check that rescoring stored results, in a list or in a columnar log,
+     * gives the ranking of a SimpleRankingHandler using the new scheme */
+    @Test
+    public void rescoreGivesRankingOfNewScheme() {
+        PointScheme scheme = new PointScheme(3, 1, 0);
+        SimpleRankingHandler<Competitor> srh = new SimpleRankingHandler<>(this.competitors, 3, 1, 0);
+        this.results.forEach(srh::addResult);
+        ColumnarResultLog<Competitor> log = new ColumnarResultLog<>(this.competitors);
+        log.addAll(this.results);
+
+        assertEquals(srh.getRanking(), scheme.rescore(this.competitors, this.results));
+        assertEquals(srh.getRanking(), scheme.rescore(this.competitors, log));
+        assertThrows(IllegalArgumentException.class,
+                     () -> scheme.rescore(this.competitors.subList(0, 5), this.results));
+    }
+
+    /* Check that merging handlers adds up their counts */
+    @Test
+    public void mergeAddsUpCounts() {
+        MultiSchemeRankingHandler<Competitor> all =
+            new MultiSchemeRankingHandler<>(this.competitors, new PointScheme(3, 0, 1));
+        MultiSchemeRankingHandler<Competitor> left =
+            new MultiSchemeRankingHandler<>(this.competitors, new PointScheme(3, 0, 1));
+        MultiSchemeRankingHandler<Competitor> right =
+            new MultiSchemeRankingHandler<>(this.competitors, new PointScheme(3, 0, 1));
+        for (int k = 0; k < this.results.size(); k++) {
+            all.addResult(this.results.get(k));
+            (k < 1000 ? left : right).addResult(this.results.get(k));
+        }
+
+        left.merge(right);
+        assertEquals(all.getRanking(), left.getRanking());
+        assertEquals(all.getRanking(new PointScheme(1, 1, 1)), left.getRanking(new PointScheme(1, 1, 1)));
+        assertEquals(this.results, new ArrayList<>(left.getResults()));
+    }
+}
@@ -0,0 +1,148 @@
+package etu.simonzo.competition;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.match.MatchOutcome;
+import etu.simonzo.competition.ranking.ConcurrentRankingHandler;
+import etu.simonzo.competition.ranking.IndexedRankingHandler;
+import etu.simonzo.competition.ranking.LeaderboardRankingHandler;
+import etu.simonzo.competition.ranking.RankingCollectors;
+import etu.simonzo.competition.ranking.Result;
+import etu.simonzo.competition.ranking.SimpleRankingHandler;
+import etu.simonzo.competition.ranking.SimpleResult;
+import etu.simonzo.competition.strategies.retention.KeepNoneRetentionStrategy;
+
+import java.util.*;
+
+public class RankingCollectorsTest {
+
+    protected List<Competitor> competitors;
+
+    protected List<Result<Competitor>> results;
+
+    @BeforeEach
+    public void setUp() {
+        this.competitors = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            this.competitors.add(new Competitor("C" + i));
+        }
+        this.results = new ArrayList<>();
+        Random random = new Random(7);
+        MatchOutcome[] outcomes = MatchOutcome.values();
+        for (int k = 0; k < 5000; k++) {
+            this.results.add(new SimpleResult<>(
+                this.competitors.get(random.nextInt(20)), this.competitors.get(random.nextInt(20)),
+                outcomes[random.nextInt(outcomes.length)]));
+        }
+    }
+
+    /* Check that the ranking of a parallel stream equals the ranking of a
+     * SimpleRankingHandler given the same results */
+    @Test
+    public void toRankingOfParallelStreamEqualsSequentialRanking() {
+        SimpleRankingHandler<Competitor> srh = new SimpleRankingHandler<>(this.competitors, 3, 0, 1);
+        this.results.forEach(srh::addResult);
+
+        Map<Competitor, Integer> ranking = this.results.parallelStream()
+            .collect(RankingCollectors.toRanking(this.competitors, 3, 0, 1));
+        assertEquals(srh.getRanking(), ranking);
+        assertThrows(UnsupportedOperationException.class, () -> ranking.put(this.competitors.get(0), 1));
+    }
+
+    /* Check that toRankingHandler keeps every result of a sequential stream in
+     * order, and that merged handlers of a parallel stream rank every result */
+    @Test
+    public void toRankingHandlerCollectsEveryResult() {
+        IndexedRankingHandler<Competitor> sequential = this.results.stream()
+            .collect(RankingCollectors.toRankingHandler(
+                         () -> new IndexedRankingHandler<>(this.competitors, 3, 0, 1)));
+        assertEquals(this.results, sequential.getResults());
+
+        LeaderboardRankingHandler<Competitor> parallel = this.results.parallelStream()
+            .collect(RankingCollectors.toRankingHandler(
+                         () -> new LeaderboardRankingHandler<>(this.competitors, 3, 0, 1)));
+        assertEquals(this.results.size(), parallel.getResults().size());
+        assertEquals(sequential.getRanking(), parallel.getRanking());
+        List<Integer> scores = new ArrayList<>(parallel.getRanking().values());
+        for (int i = 1; i < scores.size(); i++) {
+            assertTrue(scores.get(i - 1) >= scores.get(i));
+        }
+    }
+
+    /* Check that merging compatible handlers adds up their scores, even those
+     * of results which were not kept */
+    @Test
+    public void mergeAddsUpScoresOfResultsNotKept() {
+        IndexedRankingHandler<Competitor> left =
+            new IndexedRankingHandler<>(this.competitors, new KeepNoneRetentionStrategy(), 3, 0, 1);
+        IndexedRankingHandler<Competitor> right =
+            new IndexedRankingHandler<>(this.competitors, new KeepNoneRetentionStrategy(), 3, 0, 1);
+        SimpleRankingHandler<Competitor> srh = new SimpleRankingHandler<>(this.competitors, 3, 0, 1);
+        for (int k = 0; k < this.results.size(); k++) {
+            (k % 2 == 0 ? left : right).addResult(this.results.get(k));
+            srh.addResult(this.results.get(k));
+        }
+
+        left.merge(right);
+        assertEquals(srh.getRanking(), left.getRanking());
+        assertTrue(left.getResults().isEmpty());
+    }
+
+    /* Check that handlers which are not compatible are merged through their
+     * results, and that a handler cannot be merged into itself */
+    @Test
+    public void mergeFallsBackOnResults() {
+        IndexedRankingHandler<Competitor> irh = new IndexedRankingHandler<>(this.competitors, 3, 0, 1);
+        ConcurrentRankingHandler<Competitor> crh = new ConcurrentRankingHandler<>(this.competitors, 3, 0, 1);
+        SimpleRankingHandler<Competitor> srh = new SimpleRankingHandler<>(this.competitors, 3, 0, 1);
+        this.results.forEach(crh::addResult);
+        this.results.forEach(srh::addResult);
+
+        irh.merge(crh);
+        assertEquals(srh.getRanking(), irh.getRanking());
+        assertEquals(this.results.size(), irh.getResults().size());
+        assertThrows(IllegalArgumentException.class, () -> irh.merge(irh));
+        assertThrows(IllegalArgumentException.class, () -> srh.merge(srh));
+    }
+
+    /* Check that a handler which kept none of its results is merged through
+     * its scores when they are compatible, and rejected otherwise instead of
+     * silently losing its points */
+    @Test
+    public void mergeOfKeepNoneHandlerNeverDropsPoints() {
+        IndexedRankingHandler<Competitor> none =
+            new IndexedRankingHandler<>(this.competitors, new KeepNoneRetentionStrategy(), 3, 0, 1);
+        SimpleRankingHandler<Competitor> simpleNone =
+            new SimpleRankingHandler<>(this.competitors, new KeepNoneRetentionStrategy(), 3, 0, 1);
+        SimpleRankingHandler<Competitor> srh = new SimpleRankingHandler<>(this.competitors, 3, 0, 1);
+        this.results.forEach(none::addResult);
+        this.results.forEach(simpleNone::addResult);
+        this.results.forEach(srh::addResult);
+        assertFalse(none.keepsAllResults());
+        assertTrue(srh.keepsAllResults());
+
+        IndexedRankingHandler<Competitor> all = new IndexedRankingHandler<>(this.competitors, 3, 0, 1);
+        all.merge(none);
+        assertEquals(srh.getRanking(), all.getRanking());
+        assertFalse(all.keepsAllResults());
+
+        SimpleRankingHandler<Competitor> simple = new SimpleRankingHandler<>(this.competitors, 3, 0, 1);
+        simple.merge(simpleNone);
+        assertEquals(srh.getRanking(), simple.getRanking());
+        assertFalse(simple.keepsAllResults());
+
+        ConcurrentRankingHandler<Competitor> crh = new ConcurrentRankingHandler<>(this.competitors, 3, 0, 1);
+        IndexedRankingHandler<Competitor> otherPoints = new IndexedRankingHandler<>(this.competitors, 2, 0, 1);
+        assertThrows(IllegalArgumentException.class, () -> crh.merge(none));
+        assertThrows(IllegalArgumentException.class, () -> crh.merge(all));
+        assertThrows(IllegalArgumentException.class, () -> otherPoints.merge(none));
+        assertThrows(IllegalArgumentException.class, () -> srh.merge(none));
+
+        all.clear();
+        assertTrue(all.keepsAllResults());
+    }
+}
@@ -73,6 +73,8 @@ public abstract class CompetitionTest {
         assertEquals(1, this.cl1.nbCallsQualifiedCompetitorsSelected);
         competition.fireTournamentPhaseStartedEvent(0);
         assertEquals(1, this.cl1.nbCallsTournamentPhaseStarted);
+        competition.fireRoundStartedEvent(1, 1);
+        assertEquals(1, this.cl1.nbCallsRoundStarted);
     }
 
     /* Check that emitted events are not received by listeners which were
@@ -101,6 +103,9 @@ public abstract class CompetitionTest {
         competition.fireTournamentPhaseStartedEvent(0);
         assertEquals(1, this.cl1.nbCallsTournamentPhaseStarted);
         assertEquals(0, this.cl2.nbCallsTournamentPhaseStarted);
+        competition.fireRoundStartedEvent(1, 1);
+        assertEquals(1, this.cl1.nbCallsRoundStarted);
+        assertEquals(0, this.cl2.nbCallsRoundStarted);
     }
 
     /* Check that when the same listener is added multiple times to a
@@ -123,6 +128,8 @@ public abstract class CompetitionTest {
         assertEquals(1, this.cl1.nbCallsQualifiedCompetitorsSelected);
         competition.fireTournamentPhaseStartedEvent(0);
         assertEquals(1, this.cl1.nbCallsTournamentPhaseStarted);
+        competition.fireRoundStartedEvent(1, 1);
+        assertEquals(1, this.cl1.nbCallsRoundStarted);
     }
 
 }
@@ -3,16 +3,32 @@ package etu.simonzo.competition.competitions;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.match.AsyncMatchMock;
+import etu.simonzo.competition.match.BatchMatchMock;
+import etu.simonzo.competition.match.Match;
 import etu.simonzo.competition.match.MatchMock;
 import etu.simonzo.competition.match.MatchOutcome;
+import etu.simonzo.competition.observer.event.MatchEvent;
+import etu.simonzo.competition.observer.listener.CompetitionListenerMock;
+import etu.simonzo.competition.ranking.HeadToHeadIndex;
+import etu.simonzo.competition.ranking.MultiSchemeRankingHandler;
+import etu.simonzo.competition.ranking.PointScheme;
+import etu.simonzo.competition.ranking.RankingHandlerFactory;
 import etu.simonzo.competition.ranking.Result;
+import etu.simonzo.competition.strategies.retention.KeepNoneRetentionStrategy;
+import etu.simonzo.competition.strategies.schedule.CircleMethodSchedulingStrategy;
+import etu.simonzo.competition.strategies.schedule.RoundTripSchedulingStrategy;
+import etu.simonzo.competition.util.DescendingValueOrder;
 
 class LeagueTest extends CompetitionTest {
 
@@ -100,6 +116,312 @@ class LeagueTest extends CompetitionTest {
         assertEquals(bob, results.get(5).getCompetitor2());
     }
 
+    /* Check that a league played with an executor ends with the same ranking
+     * as a league played sequentially, when the match is deterministic */
+    @Test
+    public void concurrentPlayGivesSameRankingAsSequentialPlay() {
+        List<Competitor> competitors = createManyCompetitors(12);
+        League<Competitor> sequential = new League<>(
+            deterministicMatch(), competitors, "Sequential league",
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+        League<Competitor> concurrent = new League<>(
+            deterministicMatch(), competitors, "Concurrent league",
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        concurrent.setExecutor(executor);
+
+        sequential.play();
+        concurrent.play();
+        executor.shutdown();
+
+        assertEquals(sequential.ranking(), concurrent.ranking());
+    }
+
+    /* Check that a league given a factory of leaderboards ranks competitors
+     * like the default handler, and keeps its ranking sorted */
+    @Test
+    public void leaderboardFactoryKeepsRankingSorted() {
+        List<Competitor> competitors = createManyCompetitors(12);
+        League<Competitor> standard = new League<>(
+            deterministicMatch(), competitors, "Standard league",
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+        League<Competitor> leaderboard = new League<>(
+            deterministicMatch(), competitors, "Leaderboard league",
+            new RoundTripSchedulingStrategy(), RankingHandlerFactory.leaderboard(),
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+
+        standard.play();
+        leaderboard.play();
+
+        Map<Competitor, Integer> ranking = leaderboard.ranking();
+        assertEquals(standard.ranking(), ranking);
+        assertTrue(ranking instanceof DescendingValueOrder);
+        int previous = Integer.MAX_VALUE;
+        for (int score : ranking.values()) {
+            assertTrue(score <= previous);
+            previous = score;
+        }
+    }
+
+    /* Check that a league given a factory of multi-scheme handlers exposes
+     * the rankings of other point schemes through its handler */
+    @Test
+    public void multiSchemeFactoryRanksUnderOtherSchemes() {
+        List<Competitor> competitors = createManyCompetitors(10);
+        League<Competitor> league = new League<>(
+            deterministicMatch(), competitors, "Multi-scheme league",
+            new RoundTripSchedulingStrategy(), RankingHandlerFactory.multiScheme(),
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+        League<Competitor> other = new League<>(
+            deterministicMatch(), competitors, "Other league", 2, 0, 1);
+
+        league.play();
+        other.play();
+
+        MultiSchemeRankingHandler<Competitor> handler =
+            (MultiSchemeRankingHandler<Competitor>) league.getRankingHandler();
+        assertEquals(league.ranking(), handler.getRanking());
+        assertEquals(other.ranking(), handler.getRanking(new PointScheme(2, 0, 1)));
+    }
+
+    /* Check that a league records head-to-head outcomes once asked to, even
+     * when played concurrently, and refuses to start recording once played */
+    @Test
+    public void trackedHeadToHeadRecordsEveryMatch() {
+        List<Competitor> competitors = createManyCompetitors(8);
+        League<Competitor> league = new League<>(
+            deterministicMatch(), competitors, "Tracked league",
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+        HeadToHeadIndex<Competitor> headToHead = league.trackHeadToHead();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        league.setExecutor(executor);
+
+        league.play();
+        executor.shutdown();
+
+        assertSame(headToHead, league.trackHeadToHead());
+        for (Competitor c1 : competitors) {
+            for (Competitor c2 : competitors) {
+                if (c1 != c2) {
+                    assertEquals(2, headToHead.getNbMatches(c1, c2));
+                    assertEquals(2, headToHead.getNbWins(c1, c2) + headToHead.getNbWins(c2, c1)
+                                 + headToHead.getNbTies(c1, c2));
+                }
+            }
+        }
+        League<Competitor> played = new League<>(
+            deterministicMatch(), competitors, "Untracked league",
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+        played.play();
+        assertThrows(IllegalStateException.class, played::trackHeadToHead);
+    }
+
+    /* Check that a league played with an executor notifies its listeners of
+     * the matches in the same order as a league played sequentially */
+    @Test
+    public void concurrentPlayNotifiesMatchesInScheduleOrder() {
+        List<Competitor> competitors = createManyCompetitors(12);
+        League<Competitor> sequential = new League<>(
+            deterministicMatch(), competitors, "Sequential league",
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+        League<Competitor> concurrent = new League<>(
+            deterministicMatch(), competitors, "Concurrent league",
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+        CompetitionListenerMock<Competitor> sequentialListener = new CompetitionListenerMock<>();
+        CompetitionListenerMock<Competitor> concurrentListener = new CompetitionListenerMock<>();
+        sequential.addCompetitionListener(sequentialListener);
+        concurrent.addCompetitionListener(concurrentListener);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        concurrent.setExecutor(executor);
+
+        sequential.play();
+        concurrent.play();
+        executor.shutdown();
+
+        int n = competitors.size();
+        assertEquals(n * (n - 1), concurrentListener.matchEvents.size());
+        for (int i = 0; i < n * (n - 1); i++) {
+            MatchEvent<Competitor> expected = sequentialListener.matchEvents.get(i);
+            MatchEvent<Competitor> actual = concurrentListener.matchEvents.get(i);
+            assertSame(expected.getCompetitor1(), actual.getCompetitor1());
+            assertSame(expected.getCompetitor2(), actual.getCompetitor2());
+            assertEquals(expected.getOutcome(), actual.getOutcome());
+        }
+    }
+
+    /* Check that a league scheduled with the circle method announces each of
+     * its 2 * (n - 1) rounds, and ends with the same ranking as a league
+     * scheduled competitor after competitor */
+    @Test
+    public void roundBasedScheduleAnnouncesEachRound() {
+        List<Competitor> competitors = createManyCompetitors(10);
+        League<Competitor> roundTrip = new League<>(
+            deterministicMatch(), competitors, "Round trip league",
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+        League<Competitor> rounds = new League<>(
+            deterministicMatch(), competitors, "Round-based league",
+            new CircleMethodSchedulingStrategy(),
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+        CompetitionListenerMock<Competitor> listener = new CompetitionListenerMock<>();
+        rounds.addCompetitionListener(listener);
+
+        roundTrip.play();
+        rounds.play();
+
+        assertEquals(18, listener.nbCallsRoundStarted);
+        assertEquals(90, listener.nbCallsMatchPlayed);
+        assertEquals(roundTrip.ranking(), rounds.ranking());
+    }
+
+    /* Check that a round-based league played with an executor notifies the
+     * same sequence of events as a round-based league played sequentially */
+    @Test
+    public void concurrentRoundBasedPlayNotifiesEventsInScheduleOrder() {
+        List<Competitor> competitors = createManyCompetitors(11);
+        League<Competitor> sequential = new League<>(
+            deterministicMatch(), competitors, "Sequential league",
+            new CircleMethodSchedulingStrategy(),
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+        League<Competitor> concurrent = new League<>(
+            deterministicMatch(), competitors, "Concurrent league",
+            new CircleMethodSchedulingStrategy(),
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+        CompetitionListenerMock<Competitor> sequentialListener = new CompetitionListenerMock<>();
+        CompetitionListenerMock<Competitor> concurrentListener = new CompetitionListenerMock<>();
+        sequential.addCompetitionListener(sequentialListener);
+        concurrent.addCompetitionListener(concurrentListener);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        concurrent.setExecutor(executor);
+
+        sequential.play();
+        concurrent.play();
+        executor.shutdown();
+
+        assertEquals(sequentialListener.events.size(), concurrentListener.events.size());
+        for (int i = 0; i < sequentialListener.events.size(); i++) {
+            assertEquals(sequentialListener.events.get(i).getClass(),
+                         concurrentListener.events.get(i).getClass());
+        }
+        for (int i = 0; i < sequentialListener.matchEvents.size(); i++) {
+            MatchEvent<Competitor> expected = sequentialListener.matchEvents.get(i);
+            MatchEvent<Competitor> actual = concurrentListener.matchEvents.get(i);
+            assertSame(expected.getCompetitor1(), actual.getCompetitor1());
+            assertSame(expected.getCompetitor2(), actual.getCompetitor2());
+        }
+        assertEquals(sequential.ranking(), concurrent.ranking());
+    }
+
+    /* Check that a league which keeps no result ends with the same ranking as
+     * a league which keeps every result */
+    @Test
+    public void leagueWithoutRetainedResultsGivesSameRanking() {
+        List<Competitor> competitors = createManyCompetitors(12);
+        League<Competitor> keepAll = new League<>(
+            deterministicMatch(), competitors, "Keep all",
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+        League<Competitor> keepNone = new League<>(
+            deterministicMatch(), competitors, "Keep none",
+            new RoundTripSchedulingStrategy(), new KeepNoneRetentionStrategy(),
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+
+        keepAll.play();
+        keepNone.play();
+
+        assertEquals(keepAll.ranking(), keepNone.ranking());
+        assertEquals(12 * 11, keepAll.getRankingHandler().getResults().size());
+        assertTrue(keepNone.getRankingHandler().getResults().isEmpty());
+    }
+
+    /* Check that a round-based league gives each round to the match as one
+     * batch, and that a batch with a missing outcome is rejected */
+    @Test
+    public void roundsArePlayedAsBatches() {
+        BatchMatchMock<Competitor> match = new BatchMatchMock<>(MatchOutcome.TIE);
+        League<Competitor> rounds = new League<>(
+            match, createManyCompetitors(10), "Batched league",
+            new CircleMethodSchedulingStrategy(),
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+        CompetitionListenerMock<Competitor> listener = new CompetitionListenerMock<>();
+        rounds.addCompetitionListener(listener);
+
+        rounds.play();
+
+        assertEquals(Collections.nCopies(18, 5), match.getBatchSizes());
+        assertEquals(0, match.getNbSingleCalls());
+        assertEquals(90, listener.nbCallsMatchPlayed);
+        assertEquals(18 * TIE_POINTS, rounds.ranking().get(rounds.getCompetitors().get(0)));
+
+        match.setTruncated(true);
+        League<Competitor> truncated = new League<>(
+            match, createManyCompetitors(4), "Truncated league",
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+        assertThrows(IllegalStateException.class, () -> truncated.play());
+    }
+
+    /* Check that a league keeping matches in flight notifies the same
+     * sequence of events and ends with the same ranking as a sequential
+     * league, without exceeding the number of matches in flight */
+    @Test
+    public void pipelinedPlayBehavesLikeSequentialPlay() {
+        List<Competitor> competitors = createManyCompetitors(11);
+        League<Competitor> sequential = new League<>(
+            deterministicMatch(), competitors, "Sequential league",
+            new CircleMethodSchedulingStrategy(),
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+        try (AsyncMatchMock<Competitor> match = new AsyncMatchMock<>(deterministicMatch())) {
+            League<Competitor> pipelined = new League<>(
+                match, competitors, "Pipelined league",
+                new CircleMethodSchedulingStrategy(),
+                VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+            CompetitionListenerMock<Competitor> sequentialListener = new CompetitionListenerMock<>();
+            CompetitionListenerMock<Competitor> pipelinedListener = new CompetitionListenerMock<>();
+            sequential.addCompetitionListener(sequentialListener);
+            pipelined.addCompetitionListener(pipelinedListener);
+            pipelined.setMaxInFlight(4);
+
+            sequential.play();
+            pipelined.play();
+
+            assertEquals(sequentialListener.events.size(), pipelinedListener.events.size());
+            for (int i = 0; i < sequentialListener.events.size(); i++) {
+                assertEquals(sequentialListener.events.get(i).getClass(),
+                             pipelinedListener.events.get(i).getClass());
+            }
+            for (int i = 0; i < sequentialListener.matchEvents.size(); i++) {
+                MatchEvent<Competitor> expected = sequentialListener.matchEvents.get(i);
+                MatchEvent<Competitor> actual = pipelinedListener.matchEvents.get(i);
+                assertSame(expected.getCompetitor1(), actual.getCompetitor1());
+                assertSame(expected.getCompetitor2(), actual.getCompetitor2());
+                assertEquals(expected.getOutcome(), actual.getOutcome());
+            }
+            assertEquals(sequential.ranking(), pipelined.ranking());
+            assertTrue(match.getMaxInFlight() <= 4);
+            assertTrue(match.getMaxInFlight() > 1);
+        }
+        assertThrows(IllegalArgumentException.class, () -> sequential.setMaxInFlight(-1));
+    }
+
+    /* Match whose outcome only depends on the names of the competitors, and
+     * which can be played from several threads */
+    public static Match<Competitor> deterministicMatch() {
+        return (c1, c2) -> {
+            int cmp = (c1.getName().length() + c2.getName().length()) % 3;
+            if (cmp == 0) {
+                return MatchOutcome.TIE;
+            }
+            return c1.getName().compareTo(c2.getName()) < 0 ?
+                MatchOutcome.FIRST_PLAYER_WIN : MatchOutcome.SECOND_PLAYER_WIN;
+        };
+    }
+
+    public static List<Competitor> createManyCompetitors(int n) {
+        List<Competitor> competitors = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            competitors.add(new Competitor("Competitor " + i));
+        }
+        return competitors;
+    }
+
     public League<Competitor> createLeague() {
         return new League<>(matchMockDemo, competitorsDemo, "League for test",
                             VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
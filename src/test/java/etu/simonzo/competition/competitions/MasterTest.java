@@ -4,13 +4,22 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EventObject;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.match.Match;
 import etu.simonzo.competition.match.MatchMock;
 import etu.simonzo.competition.match.MatchOutcome;
+import etu.simonzo.competition.observer.dispatch.AsyncEventDispatcher;
+import etu.simonzo.competition.observer.dispatch.OverflowPolicy;
+import etu.simonzo.competition.observer.event.CompetitionStartEvent;
+import etu.simonzo.competition.observer.event.MatchEvent;
+import etu.simonzo.competition.observer.listener.CompetitionListenerMock;
 import etu.simonzo.competition.ranking.RankingHandler;
 import etu.simonzo.competition.ranking.Result;
 import etu.simonzo.competition.ranking.SimpleRankingHandler;
@@ -237,8 +246,114 @@ class MasterTest extends CompetitionTest {
         assertEquals(expectedRanking, ranking);
     }
 
+    /* Check that a master whose group phase is played concurrently gives the
+     * same group rankings, in the same order, as a sequential master */
+    @Test
+    public void concurrentGroupPhaseKeepsGroupOrder() {
+        List<Competitor> many = LeagueTest.createManyCompetitors(32);
+        Master<Competitor> sequential = createMaster(many, "Sequential master");
+        Master<Competitor> concurrent = createMaster(many, "Concurrent master");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        concurrent.setExecutor(executor);
+
+        sequential.play();
+        concurrent.play();
+        executor.shutdown();
+
+        assertEquals(new ArrayList<>(sequential.groupPhaseRankings()),
+                     new ArrayList<>(concurrent.groupPhaseRankings()));
+        assertEquals(sequential.ranking(), concurrent.ranking());
+    }
+
+    /* Check that listeners of a master whose group phase is played
+     * concurrently receive the same sequence of events as listeners of a
+     * sequential master */
+    @Test
+    public void concurrentGroupPhaseNotifiesEventsInSequentialOrder() {
+        List<Competitor> many = LeagueTest.createManyCompetitors(32);
+        Master<Competitor> sequential = createMaster(many, "Master");
+        Master<Competitor> concurrent = createMaster(many, "Master");
+        CompetitionListenerMock<Competitor> sequentialListener = new CompetitionListenerMock<>();
+        CompetitionListenerMock<Competitor> concurrentListener = new CompetitionListenerMock<>();
+        sequential.addCompetitionListener(sequentialListener);
+        concurrent.addCompetitionListener(concurrentListener);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        concurrent.setExecutor(executor);
+
+        sequential.play();
+        concurrent.play();
+        executor.shutdown();
+
+        List<EventObject> expected = sequentialListener.events;
+        List<EventObject> actual = concurrentListener.events;
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getClass(), actual.get(i).getClass());
+            if (expected.get(i) instanceof CompetitionStartEvent) {
+                assertEquals(
+                    ((CompetitionStartEvent<?>) expected.get(i)).getCompetitionId(),
+                    ((CompetitionStartEvent<?>) actual.get(i)).getCompetitionId());
+            }
+            if (expected.get(i) instanceof MatchEvent) {
+                MatchEvent<?> e = (MatchEvent<?>) expected.get(i);
+                MatchEvent<?> a = (MatchEvent<?>) actual.get(i);
+                assertSame(e.getCompetitor1(), a.getCompetitor1());
+                assertSame(e.getCompetitor2(), a.getCompetitor2());
+            }
+        }
+    }
+
+    /* Check that a master delivering its events through an asynchronous
+     * dispatcher, which never discards them, notifies the same sequence of
+     * events as a master delivering them synchronously, and that every event
+     * is delivered when play returns */
+    @Test
+    public void asyncDispatcherDeliversEveryEventInOrder() {
+        List<Competitor> many = LeagueTest.createManyCompetitors(32);
+        Master<Competitor> sequential = createMaster(many, "Master");
+        Master<Competitor> async = createMaster(many, "Master");
+        Master<Competitor> concurrentAsync = createMaster(many, "Master");
+        CompetitionListenerMock<Competitor> sequentialListener = new CompetitionListenerMock<>();
+        CompetitionListenerMock<Competitor> asyncListener = new CompetitionListenerMock<>();
+        CompetitionListenerMock<Competitor> concurrentAsyncListener = new CompetitionListenerMock<>();
+        sequential.addCompetitionListener(sequentialListener);
+        async.addCompetitionListener(asyncListener);
+        concurrentAsync.addCompetitionListener(concurrentAsyncListener);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        concurrentAsync.setExecutor(executor);
+
+        sequential.play();
+        try (AsyncEventDispatcher dispatcher = new AsyncEventDispatcher(8, OverflowPolicy.BLOCK)) {
+            async.setEventDispatcher(dispatcher);
+            concurrentAsync.setEventDispatcher(dispatcher);
+            async.play();
+            concurrentAsync.play();
+        }
+        executor.shutdown();
+
+        List<EventObject> expected = sequentialListener.events;
+        for (List<EventObject> actual : List.of(asyncListener.events, concurrentAsyncListener.events)) {
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getClass(), actual.get(i).getClass());
+            }
+        }
+    }
+
     /* Ancillary methods */
 
+    /* Master of 4 groups, 2 qualified per group, whose match never ends with
+     * a tie and can be played from several threads */
+    protected Master<Competitor> createMaster(List<Competitor> competitors, String id) {
+        Match<Competitor> m = (c1, c2) -> c1.getName().compareTo(c2.getName()) < 0 ?
+            MatchOutcome.FIRST_PLAYER_WIN : MatchOutcome.SECOND_PLAYER_WIN;
+        return new Master<>(m, competitors, id,
+                            new MakeNGroupsStrategy(4),
+                            new TakeNFirstFilteringStrategy(2),
+                            new ArbitrarySortingStrategy(),
+                            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+    }
+
     protected Master<Competitor> createMaster() {
         String id = "Master for test";
         return new Master<>(match, competitors, id, gstrat, fstrat, sstrat,
@@ -0,0 +1,131 @@
+package etu.simonzo.competition.competitions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.match.MatchMock;
+import etu.simonzo.competition.match.MatchOutcome;
+import etu.simonzo.competition.observer.event.MatchEvent;
+import etu.simonzo.competition.observer.listener.CompetitionListenerMock;
+
+class SwissSystemTest extends CompetitionTest {
+
+    private static final int TIE_POINTS = 1;
+    private static final int DEFEAT_POINTS = 0;
+    private static final int VICTORY_POINTS = 3;
+
+    /* Implement factory method */
+    public Competition<Competitor> createCompetition() {
+        return new SwissSystem<>(new MatchMock<>(MatchOutcome.FIRST_PLAYER_WIN),
+                                 LeagueTest.createManyCompetitors(6), "Swiss for test", 3,
+                                 VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+    }
+
+    /* Check that each round is announced, and that every competitor plays
+     * exactly once per round with an even number of competitors */
+    @Test
+    public void everyCompetitorPlaysOncePerRound() {
+        List<Competitor> competitors = LeagueTest.createManyCompetitors(16);
+        SwissSystem<Competitor> swiss = new SwissSystem<>(
+            LeagueTest.deterministicMatch(), competitors, "Swiss", 5,
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+        CompetitionListenerMock<Competitor> listener = new CompetitionListenerMock<>();
+        swiss.addCompetitionListener(listener);
+
+        swiss.play();
+
+        assertEquals(5, listener.nbCallsRoundStarted);
+        assertEquals(5 * 8, listener.nbCallsMatchPlayed);
+        for (int round = 0; round < 5; round++) {
+            Set<Competitor> seen = new HashSet<>();
+            for (MatchEvent<Competitor> event : listener.matchEvents.subList(8 * round, 8 * (round + 1))) {
+                assertTrue(seen.add(event.getCompetitor1()));
+                assertTrue(seen.add(event.getCompetitor2()));
+            }
+        }
+    }
+
+    /* Check that no match is a rematch when there are few enough rounds */
+    @Test
+    public void noRematchWhenRoundsAreFewEnough() {
+        List<Competitor> competitors = LeagueTest.createManyCompetitors(20);
+        SwissSystem<Competitor> swiss = new SwissSystem<>(
+            LeagueTest.deterministicMatch(), competitors, "Swiss", 6,
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+        CompetitionListenerMock<Competitor> listener = new CompetitionListenerMock<>();
+        swiss.addCompetitionListener(listener);
+
+        swiss.play();
+
+        Set<Set<Competitor>> pairs = new HashSet<>();
+        for (MatchEvent<Competitor> event : listener.matchEvents) {
+            assertNotSame(event.getCompetitor1(), event.getCompetitor2());
+            assertTrue(pairs.add(Set.of(event.getCompetitor1(), event.getCompetitor2())));
+        }
+    }
+
+    /* Check that competitors are paired by score: in the second round, the
+     * winners of the first round play against each other */
+    @Test
+    public void secondRoundPairsWinnersTogether() {
+        List<Competitor> competitors = LeagueTest.createManyCompetitors(8);
+        SwissSystem<Competitor> swiss = new SwissSystem<>(
+            new MatchMock<>(MatchOutcome.FIRST_PLAYER_WIN), competitors, "Swiss", 2,
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+        CompetitionListenerMock<Competitor> listener = new CompetitionListenerMock<>();
+        swiss.addCompetitionListener(listener);
+
+        swiss.play();
+
+        Set<Competitor> winners = new HashSet<>();
+        for (MatchEvent<Competitor> event : listener.matchEvents.subList(0, 4)) {
+            winners.add(event.getCompetitor1());
+        }
+        for (MatchEvent<Competitor> event : listener.matchEvents.subList(4, 6)) {
+            assertTrue(winners.contains(event.getCompetitor1()));
+            assertTrue(winners.contains(event.getCompetitor2()));
+        }
+        assertEquals(2 * VICTORY_POINTS, swiss.ranking().get(competitors.get(0)));
+    }
+
+    /* Check that with an odd number of competitors, one competitor is left
+     * out of each round, and never twice before everyone was */
+    @Test
+    public void oddNumberOfCompetitorsGivesDistinctByes() {
+        List<Competitor> competitors = LeagueTest.createManyCompetitors(5);
+        SwissSystem<Competitor> swiss = new SwissSystem<>(
+            LeagueTest.deterministicMatch(), competitors, "Swiss", 5,
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS);
+        CompetitionListenerMock<Competitor> listener = new CompetitionListenerMock<>();
+        swiss.addCompetitionListener(listener);
+
+        swiss.play();
+
+        assertEquals(5 * 2, listener.nbCallsMatchPlayed);
+        Set<Competitor> byes = new HashSet<>();
+        for (int round = 0; round < 5; round++) {
+            Set<Competitor> left = new HashSet<>(competitors);
+            for (MatchEvent<Competitor> event : listener.matchEvents.subList(2 * round, 2 * (round + 1))) {
+                left.remove(event.getCompetitor1());
+                left.remove(event.getCompetitor2());
+            }
+            assertEquals(1, left.size());
+            assertTrue(byes.addAll(left));
+        }
+    }
+
+    /* Check that the number of rounds must be positive */
+    @Test
+    public void nonPositiveNumberOfRoundsThrows() {
+        List<Competitor> competitors = LeagueTest.createManyCompetitors(4);
+        assertThrows(IllegalArgumentException.class, () -> new SwissSystem<>(
+            LeagueTest.deterministicMatch(), competitors, "Swiss", 0,
+            VICTORY_POINTS, DEFEAT_POINTS, TIE_POINTS));
+    }
+}
@@ -6,12 +6,18 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.match.AsyncMatchMock;
+import etu.simonzo.competition.match.BatchMatchMock;
 import etu.simonzo.competition.match.Match;
 import etu.simonzo.competition.match.MatchMock;
 import etu.simonzo.competition.match.MatchOutcome;
+import etu.simonzo.competition.observer.listener.CompetitionListenerMock;
 import etu.simonzo.competition.ranking.Result;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 public class TournamentTest extends CompetitionTest {
 
@@ -96,4 +102,160 @@ public class TournamentTest extends CompetitionTest {
         assertEquals(0, this.tournament.ranking().get(this.competitors.get(3)));
     }
 
+    /* Check that in a larger bracket the winner of each match advances, by
+     * using a match where the competitor with the smallest name always wins */
+    @Test
+    public void winnersAdvanceInLargeBracket() {
+        List<Competitor> many = LeagueTest.createManyCompetitors(16);
+        Tournament<Competitor> t = new Tournament<>(
+            smallestNameWins(), many, "Large tournament", 3, 0, 1);
+        CompetitionListenerMock<Competitor> listener = new CompetitionListenerMock<>();
+        t.addCompetitionListener(listener);
+
+        t.play();
+
+        assertEquals(15, listener.nbCallsMatchPlayed);
+        assertEquals(4, listener.nbCallsTournamentPhaseStarted);
+        // "Competitor 0" is the smallest name: it wins its 4 matches
+        assertEquals(4 * 3, t.ranking().get(many.get(0)));
+        // "Competitor 1" loses its first match against "Competitor 0"
+        assertEquals(0, t.ranking().get(many.get(1)));
+        // "Competitor 10" is the smallest name of the second half of the
+        // bracket: it only loses the final
+        assertEquals(3 * 3, t.ranking().get(many.get(10)));
+    }
+
+    /* Check that play throws when a match ends with a tie, since nobody can
+     * advance to the next round */
+    @Test
+    public void playThrowsWhenAMatchIsTied() {
+        this.match.setOutcome(MatchOutcome.TIE);
+        assertThrows(IllegalStateException.class,
+                     () -> this.tournament.play(this.competitors));
+    }
+
+    /* Check that a tournament whose bracket is played on a fork/join pool
+     * gives the same ranking and notifies the same sequence of events as a
+     * sequential tournament */
+    @Test
+    public void concurrentPlayBehavesLikeSequentialPlay() {
+        List<Competitor> many = LeagueTest.createManyCompetitors(64);
+        Collections.shuffle(many, new Random(42));
+        Tournament<Competitor> sequential = new Tournament<>(
+            smallestNameWins(), many, "Tournament", 3, 0, 1);
+        Tournament<Competitor> concurrent = new Tournament<>(
+            smallestNameWins(), many, "Tournament", 3, 0, 1);
+        CompetitionListenerMock<Competitor> sequentialListener = new CompetitionListenerMock<>();
+        CompetitionListenerMock<Competitor> concurrentListener = new CompetitionListenerMock<>();
+        sequential.addCompetitionListener(sequentialListener);
+        concurrent.addCompetitionListener(concurrentListener);
+        ExecutorService pool = new ForkJoinPool(4);
+        concurrent.setExecutor(pool);
+        concurrent.setLeafSize(4);
+
+        sequential.play();
+        concurrent.play();
+        pool.shutdown();
+
+        assertEquals(sequential.ranking(), concurrent.ranking());
+        List<EventObject> expected = sequentialListener.events;
+        List<EventObject> actual = concurrentListener.events;
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getClass(), actual.get(i).getClass());
+        }
+        assertEquals(63, concurrentListener.matchEvents.size());
+        for (int i = 0; i < 63; i++) {
+            assertSame(sequentialListener.matchEvents.get(i).getCompetitor1(),
+                       concurrentListener.matchEvents.get(i).getCompetitor1());
+            assertSame(sequentialListener.matchEvents.get(i).getCompetitor2(),
+                       concurrentListener.matchEvents.get(i).getCompetitor2());
+        }
+    }
+
+    /* Check that each round of the bracket is given to the match as one
+     * batch */
+    @Test
+    public void roundsArePlayedAsBatches() {
+        BatchMatchMock<Competitor> batchMatch = new BatchMatchMock<>(MatchOutcome.FIRST_PLAYER_WIN);
+        Tournament<Competitor> t = new Tournament<>(
+            batchMatch, LeagueTest.createManyCompetitors(16), "Batched tournament", 3, 0, 1);
+
+        t.play();
+
+        assertEquals(List.of(8, 4, 2, 1), batchMatch.getBatchSizes());
+        assertEquals(0, batchMatch.getNbSingleCalls());
+        assertEquals(4 * 3, t.ranking().get(t.getCompetitors().get(0)));
+    }
+
+    /* Check that a tournament keeping the matches of a round in flight gives
+     * the same ranking and the same sequence of matches as a sequential
+     * tournament */
+    @Test
+    public void pipelinedPlayBehavesLikeSequentialPlay() {
+        List<Competitor> many = LeagueTest.createManyCompetitors(64);
+        Collections.shuffle(many, new Random(7));
+        Tournament<Competitor> sequential = new Tournament<>(
+            smallestNameWins(), many, "Tournament", 3, 0, 1);
+        CompetitionListenerMock<Competitor> sequentialListener = new CompetitionListenerMock<>();
+        sequential.addCompetitionListener(sequentialListener);
+        sequential.play();
+        try (AsyncMatchMock<Competitor> match = new AsyncMatchMock<>(smallestNameWins())) {
+            Tournament<Competitor> pipelined = new Tournament<>(
+                match, many, "Tournament", 3, 0, 1);
+            CompetitionListenerMock<Competitor> pipelinedListener = new CompetitionListenerMock<>();
+            pipelined.addCompetitionListener(pipelinedListener);
+            pipelined.setMaxInFlight(8);
+
+            pipelined.play();
+
+            assertEquals(sequential.ranking(), pipelined.ranking());
+            assertEquals(sequentialListener.events.size(), pipelinedListener.events.size());
+            for (int i = 0; i < 63; i++) {
+                assertSame(sequentialListener.matchEvents.get(i).getCompetitor1(),
+                           pipelinedListener.matchEvents.get(i).getCompetitor1());
+                assertSame(sequentialListener.matchEvents.get(i).getCompetitor2(),
+                           pipelinedListener.matchEvents.get(i).getCompetitor2());
+            }
+            assertTrue(match.getMaxInFlight() <= 8);
+        }
+    }
+
+    /* Check that a tournament given both an executor and a number of matches
+     * kept in flight plays its matches pipelined, like a league */
+    @Test
+    public void pipelinedPlayTakesPrecedenceOverExecutor() {
+        List<Competitor> many = LeagueTest.createManyCompetitors(32);
+        Tournament<Competitor> sequential = new Tournament<>(
+            smallestNameWins(), many, "Tournament", 3, 0, 1);
+        sequential.play();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (AsyncMatchMock<Competitor> match = new AsyncMatchMock<>(smallestNameWins())) {
+            Tournament<Competitor> both = new Tournament<>(match, many, "Tournament", 3, 0, 1);
+            both.setExecutor(executor);
+            both.setMaxInFlight(4);
+
+            both.play();
+
+            assertEquals(sequential.ranking(), both.ranking());
+            assertTrue(match.getMaxInFlight() > 0);
+            assertTrue(match.getMaxInFlight() <= 4);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /* Check that setLeafSize throws when the leaf size is not positive */
+    @Test
+    public void setLeafSizeThrowsIfNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> this.tournament.setLeafSize(0));
+    }
+
+    /* Match where the competitor with the smallest name wins, which can be
+     * played from several threads */
+    public static Match<Competitor> smallestNameWins() {
+        return (c1, c2) -> c1.getName().compareTo(c2.getName()) < 0 ?
+            MatchOutcome.FIRST_PLAYER_WIN : MatchOutcome.SECOND_PLAYER_WIN;
+    }
+
 }
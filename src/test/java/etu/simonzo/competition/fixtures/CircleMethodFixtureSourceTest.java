@@ -0,0 +1,83 @@
+package etu.simonzo.competition.fixtures;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import etu.simonzo.competition.competitors.Competitor;
+
+public class CircleMethodFixtureSourceTest {
+
+    /* Check the number of rounds and of fixtures with an even number of
+     * competitors */
+    @Test
+    public void evenNumberOfCompetitorsGivesTwoTimesNMinusOneRounds() {
+        CircleMethodFixtureSource<Competitor> source =
+            new CircleMethodFixtureSource<>(createCompetitors(6));
+        assertEquals(10, source.getNbRounds());
+        assertEquals(30, source.size());
+        assertEquals(30, source.getRoundStart(10));
+    }
+
+    /* Check the number of rounds and of fixtures with an odd number of
+     * competitors */
+    @Test
+    public void oddNumberOfCompetitorsGivesTwoTimesNRounds() {
+        CircleMethodFixtureSource<Competitor> source =
+            new CircleMethodFixtureSource<>(createCompetitors(7));
+        assertEquals(14, source.getNbRounds());
+        assertEquals(42, source.size());
+    }
+
+    /* Check that there is no round with less than two competitors */
+    @Test
+    public void noRoundWithLessThanTwoCompetitors() {
+        assertEquals(0, new CircleMethodFixtureSource<>(createCompetitors(1)).getNbRounds());
+        assertEquals(0, new CircleMethodFixtureSource<>(createCompetitors(0)).size());
+    }
+
+    /* Check that every competitor faces each opponent exactly once as first
+     * competitor and once as second competitor */
+    @Test
+    public void everyOrderedPairIsScheduledOnce() {
+        for (int n = 2; n <= 9; n++) {
+            List<Competitor> competitors = createCompetitors(n);
+            Set<List<Competitor>> pairs = new HashSet<>();
+            for (Fixture<Competitor> f : new CircleMethodFixtureSource<>(competitors)) {
+                assertNotSame(f.getCompetitor1(), f.getCompetitor2());
+                assertTrue(pairs.add(List.of(f.getCompetitor1(), f.getCompetitor2())));
+            }
+            assertEquals(n * (n - 1), pairs.size());
+        }
+    }
+
+    /* Check that each competitor plays at most once in each round */
+    @Test
+    public void eachCompetitorPlaysAtMostOncePerRound() {
+        for (int n = 2; n <= 9; n++) {
+            CircleMethodFixtureSource<Competitor> source =
+                new CircleMethodFixtureSource<>(createCompetitors(n));
+            for (int r = 0; r < source.getNbRounds(); r++) {
+                Set<Competitor> playing = new HashSet<>();
+                for (long i = source.getRoundStart(r); i < source.getRoundStart(r + 1); i++) {
+                    Fixture<Competitor> f = source.get(i);
+                    assertTrue(playing.add(f.getCompetitor1()));
+                    assertTrue(playing.add(f.getCompetitor2()));
+                }
+            }
+        }
+    }
+
+    private static List<Competitor> createCompetitors(int n) {
+        List<Competitor> competitors = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            competitors.add(new Competitor("Competitor " + i));
+        }
+        return competitors;
+    }
+}
@@ -0,0 +1,101 @@
+package etu.simonzo.competition.fixtures;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import etu.simonzo.competition.competitors.Competitor;
+
+public class RoundTripFixtureSourceTest {
+
+    private List<Competitor> competitors;
+
+    @BeforeEach
+    public void setUp() {
+        this.competitors = new ArrayList<>();
+        this.competitors.add(new Competitor("Alice"));
+        this.competitors.add(new Competitor("Bob"));
+        this.competitors.add(new Competitor("Charlie"));
+    }
+
+    /* Check that the schedule has n * (n - 1) fixtures */
+    @Test
+    public void sizeIsNTimesNMinusOne() {
+        assertEquals(6, new RoundTripFixtureSource<>(this.competitors).size());
+        assertEquals(0, new RoundTripFixtureSource<>(new ArrayList<Competitor>()).size());
+        assertEquals(0, new RoundTripFixtureSource<>(this.competitors.subList(0, 1)).size());
+    }
+
+    /* Check that the iterator follows the order (A, B), (A, C), (B, A),
+     * (B, C), (C, A), (C, B) */
+    @Test
+    public void iteratorFollowsRoundTripOrder() {
+        Competitor a = this.competitors.get(0);
+        Competitor b = this.competitors.get(1);
+        Competitor c = this.competitors.get(2);
+        Competitor[][] expected = {{a, b}, {a, c}, {b, a}, {b, c}, {c, a}, {c, b}};
+
+        Iterator<Fixture<Competitor>> it =
+            new RoundTripFixtureSource<>(this.competitors).iterator();
+        for (Competitor[] pair : expected) {
+            Fixture<Competitor> fixture = it.next();
+            assertSame(pair[0], fixture.getCompetitor1());
+            assertSame(pair[1], fixture.getCompetitor2());
+        }
+        assertFalse(it.hasNext());
+    }
+
+    /* Check that get throws when the position is out of the schedule */
+    @Test
+    public void getThrowsOutOfTheSchedule() {
+        FixtureSource<Competitor> source = new RoundTripFixtureSource<>(this.competitors);
+        assertThrows(IndexOutOfBoundsException.class, () -> source.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> source.get(6));
+    }
+
+    /* Check that the spliterator splits evenly and keeps exact sizes */
+    @Test
+    public void spliteratorSplitsEvenly() {
+        List<Competitor> many = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            many.add(new Competitor("Competitor " + i));
+        }
+        Spliterator<Fixture<Competitor>> suffix =
+            new RoundTripFixtureSource<>(many).spliterator();
+        assertTrue(suffix.hasCharacteristics(Spliterator.SUBSIZED));
+        assertEquals(9900, suffix.getExactSizeIfKnown());
+
+        Spliterator<Fixture<Competitor>> prefix = suffix.trySplit();
+
+        assertEquals(4950, prefix.getExactSizeIfKnown());
+        assertEquals(4950, suffix.getExactSizeIfKnown());
+        Fixture<Competitor> first = new RoundTripFixtureSource<>(many).get(4950);
+        suffix.tryAdvance(f -> {
+            assertSame(first.getCompetitor1(), f.getCompetitor1());
+            assertSame(first.getCompetitor2(), f.getCompetitor2());
+        });
+    }
+
+    /* Check that a parallel stream sees every fixture exactly once */
+    @Test
+    public void parallelStreamSeesEveryFixture() {
+        List<Competitor> many = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            many.add(new Competitor("Competitor " + i));
+        }
+        FixtureSource<Competitor> source = new RoundTripFixtureSource<>(many);
+        assertEquals(50 * 49, source.parallelStream().count());
+        assertEquals(0, source.parallelStream()
+                     .filter(f -> f.getCompetitor1() == f.getCompetitor2())
+                     .count());
+        assertEquals(49, source.parallelStream()
+                     .filter(f -> f.getCompetitor1() == many.get(7))
+                     .count());
+    }
+}
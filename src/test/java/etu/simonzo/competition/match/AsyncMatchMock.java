@@ -0,0 +1,55 @@
+package etu.simonzo.competition.match;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import etu.simonzo.competition.competitors.Competitor;
+
+/**
+ * A mock implementing Match which plays matches asynchronously: the outcome
+ * of a match is given by another match, but the future returned by playAsync
+ * is completed after a random delay, so that matches end in any order. This
+ * class keeps track of the largest number of matches in flight at once.
+ */
+public class AsyncMatchMock<T extends Competitor> implements Match<T>, AutoCloseable {
+    private Match<T> match;
+
+    private ScheduledExecutorService timer;
+
+    private AtomicInteger inFlight;
+
+    private AtomicInteger maxInFlight;
+
+    public AsyncMatchMock(Match<T> match) {
+        this.match = match;
+        this.timer = Executors.newScheduledThreadPool(2);
+        this.inFlight = new AtomicInteger();
+        this.maxInFlight = new AtomicInteger();
+    }
+
+    public int getMaxInFlight() {
+        return this.maxInFlight.get();
+    }
+
+    public MatchOutcome playWith(T c1, T c2) {
+        return this.match.playWith(c1, c2);
+    }
+
+    public CompletableFuture<MatchOutcome> playAsync(T c1, T c2) {
+        this.maxInFlight.accumulateAndGet(this.inFlight.incrementAndGet(), Math::max);
+        CompletableFuture<MatchOutcome> future = new CompletableFuture<>();
+        this.timer.schedule(() -> {
+                this.inFlight.decrementAndGet();
+                future.complete(this.match.playWith(c1, c2));
+            }, ThreadLocalRandom.current().nextInt(200), TimeUnit.MICROSECONDS);
+        return future;
+    }
+
+    public void close() {
+        this.timer.shutdown();
+    }
+}
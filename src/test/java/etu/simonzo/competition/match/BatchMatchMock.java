@@ -0,0 +1,54 @@
+package etu.simonzo.competition.match;
+
+import java.util.*;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.fixtures.Fixture;
+
+/**
+ * A mock implementing Match which plays batches of matches at once. Every
+ * match ends with the same outcome. This class keeps track of the size of
+ * each batch it was given, and of the number of matches played one by one.
+ * It can also be told to return too few outcomes, to check that competitions
+ * reject such batches.
+ */
+public class BatchMatchMock<T extends Competitor> implements Match<T> {
+    private int nbSingleCalls;
+
+    private MatchOutcome outcome;
+
+    private List<Integer> batchSizes;
+
+    private boolean truncated;
+
+    public BatchMatchMock(MatchOutcome outcome) {
+        this.nbSingleCalls = 0;
+        this.outcome = outcome;
+        this.batchSizes = new ArrayList<>();
+        this.truncated = false;
+    }
+
+    public int getNbSingleCalls() {
+        return this.nbSingleCalls;
+    }
+
+    public synchronized List<Integer> getBatchSizes() {
+        return new ArrayList<>(this.batchSizes);
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public MatchOutcome playWith(T c1, T c2) {
+        this.nbSingleCalls++;
+        return this.outcome;
+    }
+
+    public synchronized MatchOutcome[] playAll(List<Fixture<T>> fixtures) {
+        this.batchSizes.add(fixtures.size());
+        MatchOutcome[] outcomes = new MatchOutcome[this.truncated ? 0 : fixtures.size()];
+        Arrays.fill(outcomes, this.outcome);
+        return outcomes;
+    }
+}
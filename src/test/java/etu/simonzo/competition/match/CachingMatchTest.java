@@ -0,0 +1,128 @@
+package etu.simonzo.competition.match;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import etu.simonzo.competition.competitors.Competitor;
+
+public class CachingMatchTest {
+
+    /* Check that a pairing played again is not played by the decorated match,
+     * and that hits and misses are counted */
+    @Test
+    void samePairingIsPlayedOnce() {
+        MatchMock<Competitor> mock = new MatchMock<>(MatchOutcome.FIRST_PLAYER_WIN);
+        CachingMatch<Competitor> cm = new CachingMatch<>(mock, 10);
+        Competitor c1 = new Competitor("Alpha");
+        Competitor c2 = new Competitor("Bravo");
+
+        assertEquals(MatchOutcome.FIRST_PLAYER_WIN, cm.playWith(c1, c2));
+        mock.setOutcome(MatchOutcome.TIE);
+        assertEquals(MatchOutcome.FIRST_PLAYER_WIN, cm.playWith(c1, c2));
+        assertEquals(MatchOutcome.TIE, cm.playWith(c2, c1));
+        assertEquals(2, mock.getNbCalls());
+        assertEquals(1, cm.getNbHits());
+        assertEquals(2, cm.getNbMisses());
+        assertEquals(2, cm.size());
+    }
+
+    /* Check that a mirrored cache deduces the outcome of (B, A) from the
+     * outcome of (A, B) */
+    @Test
+    void mirroredPairingIsDeduced() {
+        MatchMock<Competitor> mock = new MatchMock<>(MatchOutcome.FIRST_PLAYER_WIN);
+        CachingMatch<Competitor> cm = new CachingMatch<>(mock, 10, EvictionPolicy.LRU, true);
+        Competitor c1 = new Competitor("Alpha");
+        Competitor c2 = new Competitor("Bravo");
+
+        assertEquals(MatchOutcome.FIRST_PLAYER_WIN, cm.playWith(c1, c2));
+        assertEquals(MatchOutcome.SECOND_PLAYER_WIN, cm.playWith(c2, c1));
+        assertEquals(1, mock.getNbCalls());
+        assertEquals(1, cm.getNbHits());
+    }
+
+    /* Check that the LRU policy forgets the least recently used pairing */
+    @Test
+    void lruForgetsLeastRecentlyUsedPairing() {
+        MatchMock<Competitor> mock = new MatchMock<>(MatchOutcome.TIE);
+        CachingMatch<Competitor> cm = new CachingMatch<>(mock, 2);
+        List<Competitor> cs = createCompetitors(4);
+
+        cm.playWith(cs.get(0), cs.get(1));
+        cm.playWith(cs.get(1), cs.get(2));
+        cm.playWith(cs.get(0), cs.get(1));
+        cm.playWith(cs.get(2), cs.get(3));
+        assertEquals(2, cm.size());
+        assertEquals(1, cm.getNbEvictions());
+        cm.playWith(cs.get(0), cs.get(1));
+        assertEquals(3, mock.getNbCalls());
+        cm.playWith(cs.get(1), cs.get(2));
+        assertEquals(4, mock.getNbCalls());
+        assertThrows(IllegalArgumentException.class, () -> new CachingMatch<>(mock, 0));
+    }
+
+    /* Check that the TinyLFU policy keeps pairings played again and again
+     * while many pairings are played only once, unlike the LRU policy, and
+     * never exceeds its size */
+    @Test
+    void tinyLfuKeepsFrequentPairings() {
+        int lruMisses = missesOnFrequentPairings(EvictionPolicy.LRU);
+        int tinyLfuMisses = missesOnFrequentPairings(EvictionPolicy.TINY_LFU);
+        assertTrue(tinyLfuMisses < lruMisses / 4);
+    }
+
+    /**
+     * Play 50 pairings again and again, with 100 new pairings between each
+     * repetition, through a cache of 100 outcomes
+     * @param policy eviction policy of the cache
+     * @return number of times the 50 pairings were not found in the cache
+     */
+    static int missesOnFrequentPairings(EvictionPolicy policy) {
+        MatchMock<Competitor> mock = new MatchMock<>(MatchOutcome.TIE);
+        CachingMatch<Competitor> cm = new CachingMatch<>(mock, 100, policy, false);
+        List<Competitor> frequent = createCompetitors(2 * 50);
+        int misses = 0;
+        for (int round = 0; round < 50; round++) {
+            int before = mock.getNbCalls();
+            for (int k = 0; k < 50; k++) {
+                cm.playWith(frequent.get(2 * k), frequent.get(2 * k + 1));
+            }
+            misses += mock.getNbCalls() - before;
+            List<Competitor> rare = createCompetitors(2 * 100);
+            for (int k = 0; k < 100; k++) {
+                cm.playWith(rare.get(2 * k), rare.get(2 * k + 1));
+                assertTrue(cm.size() <= 100);
+            }
+        }
+        return misses;
+    }
+
+    /* Check that a TinyLFU cache may be given the largest maximum size, and
+     * still keeps frequent pairings */
+    @Test
+    void hugeTinyLfuCacheWorks() {
+        MatchMock<Competitor> mock = new MatchMock<>(MatchOutcome.TIE);
+        CachingMatch<Competitor> cm = new CachingMatch<>(
+            mock, Integer.MAX_VALUE, EvictionPolicy.TINY_LFU, false);
+        List<Competitor> competitors = createCompetitors(20);
+        for (int round = 0; round < 3; round++) {
+            for (int k = 0; k < 10; k++) {
+                assertEquals(MatchOutcome.TIE,
+                             cm.playWith(competitors.get(2 * k), competitors.get(2 * k + 1)));
+            }
+        }
+        assertEquals(10, mock.getNbCalls());
+    }
+
+    static List<Competitor> createCompetitors(int n) {
+        List<Competitor> competitors = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            competitors.add(new Competitor("C" + i));
+        }
+        return competitors;
+    }
+}
@@ -0,0 +1,188 @@
+package etu.simonzo.competition.match;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import etu.simonzo.competition.competitions.League;
+import etu.simonzo.competition.competitors.Competitor;
+
+public class DeadlineMatchTest {
+
+    /* Check that matches over in time give their own outcome, and that
+     * exceptions of the decorated match are rethrown */
+    @Test
+    void fastMatchesAreNotChanged() {
+        Competitor a = new Competitor("Alpha");
+        Competitor b = new Competitor("Bravo");
+        try (DeadlineMatch<Competitor> dm = new DeadlineMatch<>(
+                 new MatchMock<>(MatchOutcome.TIE), 1000, 2)) {
+            assertEquals(MatchOutcome.TIE, dm.playWith(a, b));
+            assertEquals(0, dm.getNbTimeouts());
+        }
+        Match<Competitor> failing = (c1, c2) -> {
+            throw new UnsupportedOperationException();
+        };
+        try (DeadlineMatch<Competitor> dm = new DeadlineMatch<>(failing, 1000, 2)) {
+            assertThrows(UnsupportedOperationException.class, () -> dm.playWith(a, b));
+        }
+    }
+
+    /* Check that a hung match gives the fallback outcome, and is interrupted */
+    @Test
+    void hungMatchGivesFallbackOutcome() {
+        AtomicInteger nbInterrupted = new AtomicInteger();
+        Match<Competitor> hung = (c1, c2) -> {
+            try {
+                Thread.sleep(60000);
+            } catch (InterruptedException e) {
+                nbInterrupted.incrementAndGet();
+            }
+            return MatchOutcome.FIRST_PLAYER_WIN;
+        };
+        try (DeadlineMatch<Competitor> dm = new DeadlineMatch<>(
+                 hung, 50, 2, TimeoutPolicy.FALLBACK, MatchOutcome.TIE, 0)) {
+            assertEquals(MatchOutcome.TIE,
+                         dm.playWith(new Competitor("Alpha"), new Competitor("Bravo")));
+            assertEquals(1, dm.getNbTimeouts());
+            assertEquals(1, dm.getNbFallbacks());
+            assertEquals(0, dm.getNbAborts());
+        }
+        long end = System.currentTimeMillis() + 5000;
+        while (nbInterrupted.get() == 0 && System.currentTimeMillis() < end) {
+            Thread.yield();
+        }
+        assertEquals(1, nbInterrupted.get());
+    }
+
+    /* Check that a match is retried after a timeout, and that the competition
+     * is aborted once the retries are exhausted */
+    @Test
+    void hungMatchIsRetriedThenAborted() {
+        Competitor a = new Competitor("Alpha");
+        Competitor b = new Competitor("Bravo");
+        AtomicInteger nbCalls = new AtomicInteger();
+        Match<Competitor> hungOnce = (c1, c2) -> {
+            if (nbCalls.getAndIncrement() == 0) {
+                sleep(60000);
+            }
+            return MatchOutcome.SECOND_PLAYER_WIN;
+        };
+        try (DeadlineMatch<Competitor> dm = new DeadlineMatch<>(
+                 hungOnce, 50, 2, TimeoutPolicy.RETRY, null, 2)) {
+            assertEquals(MatchOutcome.SECOND_PLAYER_WIN, dm.playWith(a, b));
+            assertEquals(1, dm.getNbRetries());
+        }
+        Match<Competitor> hung = (c1, c2) -> {
+            sleep(60000);
+            return MatchOutcome.SECOND_PLAYER_WIN;
+        };
+        try (DeadlineMatch<Competitor> dm = new DeadlineMatch<>(
+                 hung, 20, 2, TimeoutPolicy.RETRY, null, 2)) {
+            assertThrows(IllegalStateException.class, () -> dm.playWith(a, b));
+            assertEquals(3, dm.getNbTimeouts());
+            assertEquals(2, dm.getNbRetries());
+            assertEquals(1, dm.getNbAborts());
+        }
+    }
+
+    /* Check that a hung match aborts the league playing it */
+    @Test
+    void hungMatchAbortsLeague() {
+        List<Competitor> cs = CachingMatchTest.createCompetitors(4);
+        Match<Competitor> hungOnC3 = (c1, c2) -> {
+            if (c1 == cs.get(3) || c2 == cs.get(3)) {
+                sleep(60000);
+            }
+            return MatchOutcome.TIE;
+        };
+        try (DeadlineMatch<Competitor> dm = new DeadlineMatch<>(hungOnC3, 50, 2)) {
+            League<Competitor> league = new League<>(dm, cs, "League", 3, 0, 1);
+            assertThrows(IllegalStateException.class, league::play);
+            assertEquals(1, dm.getNbAborts());
+        }
+    }
+
+    /* Check that no more matches than allowed by the bulkhead are played at
+     * once */
+    @Test
+    void bulkheadLimitsConcurrentMatches() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Match<Competitor> slow = (c1, c2) -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(5);
+            inFlight.decrementAndGet();
+            return MatchOutcome.TIE;
+        };
+        ExecutorService callers = Executors.newFixedThreadPool(6);
+        try (DeadlineMatch<Competitor> dm = new DeadlineMatch<>(slow, 5000, 2)) {
+            List<Future<MatchOutcome>> futures = new ArrayList<>();
+            for (int k = 0; k < 60; k++) {
+                futures.add(callers.submit(
+                    () -> dm.playWith(new Competitor("Alpha"), new Competitor("Bravo"))));
+            }
+            for (Future<MatchOutcome> future : futures) {
+                assertEquals(MatchOutcome.TIE, future.get());
+            }
+            assertTrue(maxInFlight.get() <= 2);
+            assertEquals(0, dm.getNbTimeouts());
+        } finally {
+            callers.shutdown();
+        }
+    }
+
+    /* Check that matches given up before their thread even started them give
+     * their place in the bulkhead back */
+    @Test
+    void timedOutMatchesFreeTheirPlaces() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(6);
+        try (DeadlineMatch<Competitor> dm = new DeadlineMatch<>(
+                 (c1, c2) -> MatchOutcome.TIE, 1, 2, TimeoutPolicy.FALLBACK,
+                 MatchOutcome.FIRST_PLAYER_WIN, 0)) {
+            List<Future<MatchOutcome>> futures = new ArrayList<>();
+            for (int k = 0; k < 3000; k++) {
+                futures.add(callers.submit(
+                    () -> dm.playWith(new Competitor("Alpha"), new Competitor("Bravo"))));
+            }
+            for (Future<MatchOutcome> future : futures) {
+                assertNotNull(future.get());
+            }
+            assertTrue(dm.getNbTimeouts() > 0);
+            long end = System.currentTimeMillis() + 5000;
+            while (dm.getNbFreePlaces() < 2 && System.currentTimeMillis() < end) {
+                sleep(1);
+            }
+            assertEquals(2, dm.getNbFreePlaces());
+        } finally {
+            callers.shutdown();
+        }
+    }
+
+    /* Check that invalid settings are rejected */
+    @Test
+    void invalidSettingsAreRejected() {
+        Match<Competitor> match = new MatchMock<>(MatchOutcome.TIE);
+        assertThrows(IllegalArgumentException.class, () -> new DeadlineMatch<>(match, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new DeadlineMatch<>(match, 10, 0));
+        assertThrows(IllegalArgumentException.class,
+            () -> new DeadlineMatch<>(match, 10, 1, TimeoutPolicy.FALLBACK, null, 0));
+        assertThrows(IllegalArgumentException.class,
+            () -> new DeadlineMatch<>(match, 10, 1, TimeoutPolicy.RETRY, null, -1));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package etu.simonzo.competition.match;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import etu.simonzo.competition.competitors.Competitor;
+
+public class ProbabilityMatchTest {
+
+    /* Check that certain outcomes of the matrix are always drawn, for both
+     * orders of the competitors */
+    @Test
+    void certainOutcomesAreAlwaysDrawn() {
+        List<Competitor> cs = CachingMatchTest.createCompetitors(3);
+        double[][] wins = {{0, 1, 0}, {0, 0, 0}, {0, 0, 0}};
+        double[][] ties = {{0, 0, 1}, {0, 0, 0}, {1, 0, 0}};
+        ProbabilityMatch<Competitor> pm = new ProbabilityMatch<>(cs, wins, ties);
+
+        for (int k = 0; k < 100; k++) {
+            assertEquals(MatchOutcome.FIRST_PLAYER_WIN, pm.playWith(cs.get(0), cs.get(1)));
+            assertEquals(MatchOutcome.SECOND_PLAYER_WIN, pm.playWith(cs.get(1), cs.get(0)));
+            assertEquals(MatchOutcome.TIE, pm.playWith(cs.get(0), cs.get(2)));
+            assertEquals(MatchOutcome.TIE, pm.playIndices(2, 0));
+        }
+    }
+
+    /* Check that the frequencies of the outcomes match the Bradley-Terry
+     * probabilities */
+    @Test
+    void frequenciesFollowStrengths() {
+        List<Competitor> cs = CachingMatchTest.createCompetitors(2);
+        ProbabilityMatch<Competitor> pm = new ProbabilityMatch<>(cs, new double[] {3, 1}, 0.2);
+        int[] counts = new int[3];
+        int n = 100000;
+        for (int k = 0; k < n; k++) {
+            counts[pm.playWith(cs.get(0), cs.get(1)).ordinal()]++;
+        }
+        assertEquals(0.8 * 0.75, (double) counts[MatchOutcome.FIRST_PLAYER_WIN.ordinal()] / n, 0.01);
+        assertEquals(0.2, (double) counts[MatchOutcome.TIE.ordinal()] / n, 0.01);
+        assertEquals(0.8 * 0.25, (double) counts[MatchOutcome.SECOND_PLAYER_WIN.ordinal()] / n, 0.01);
+    }
+
+    /* Check that a competitor rated 400 more Elo points wins 10 times out of
+     * 11 */
+    @Test
+    void eloRatingsGiveExpectedScore() {
+        List<Competitor> cs = CachingMatchTest.createCompetitors(2);
+        ProbabilityMatch<Competitor> pm = ProbabilityMatch.fromElo(cs, new double[] {2400, 2000}, 0);
+        int wins = 0;
+        int n = 100000;
+        for (int k = 0; k < n; k++) {
+            if (pm.playIndices(0, 1) == MatchOutcome.FIRST_PLAYER_WIN) {
+                wins++;
+            }
+        }
+        assertEquals(10.0 / 11, (double) wins / n, 0.01);
+    }
+
+    /* Check that seeded matches are reproducible and that split streams
+     * differ */
+    @Test
+    void seededMatchesAreReproducible() {
+        List<Competitor> cs = CachingMatchTest.createCompetitors(20);
+        double[] strengths = new double[20];
+        Arrays.fill(strengths, 1);
+        ProbabilityMatch<Competitor> pm = new ProbabilityMatch<>(cs, strengths, 0);
+        ProbabilityMatch<Competitor> a = pm.withSeed(42);
+        ProbabilityMatch<Competitor> b = pm.withSeed(42);
+        ProbabilityMatch<Competitor> c = a.split(1);
+        int differences = 0;
+        for (int i = 0; i < 20; i++) {
+            for (int j = 0; j < 20; j++) {
+                MatchOutcome outcome = a.playIndices(i, j);
+                assertEquals(outcome, b.playWith(cs.get(i), cs.get(j)));
+                if (outcome != c.playIndices(i, j)) {
+                    differences++;
+                }
+            }
+        }
+        assertTrue(differences > 0);
+    }
+
+    /* Check that rematches of a seeded match get their own outcomes, which
+     * are reproducible with the same seed */
+    @Test
+    void seededRematchesGetNewOutcomes() {
+        List<Competitor> cs = CachingMatchTest.createCompetitors(2);
+        ProbabilityMatch<Competitor> pm = new ProbabilityMatch<>(cs, new double[] {1, 1}, 0);
+        ProbabilityMatch<Competitor> a = pm.withSeed(9);
+        ProbabilityMatch<Competitor> b = pm.withSeed(9);
+        int wins = 0;
+        for (int k = 0; k < 200; k++) {
+            MatchOutcome outcome = a.playIndices(0, 1);
+            assertEquals(outcome, b.playIndices(0, 1));
+            if (outcome == MatchOutcome.FIRST_PLAYER_WIN) {
+                wins++;
+            }
+        }
+        assertTrue(wins > 60 && wins < 140);
+    }
+
+    /* Check that a seeded Bradley-Terry match between more competitors than
+     * a table of all pairs could hold can be created and played */
+    @Test
+    void seededMatchScalesToManyCompetitors() {
+        int n = 60000;
+        List<Competitor> cs = CachingMatchTest.createCompetitors(n);
+        double[] strengths = new double[n];
+        Arrays.fill(strengths, 1);
+        ProbabilityMatch<Competitor> pm = new ProbabilityMatch<>(cs, strengths, 0.1);
+        ProbabilityMatch<Competitor> a = pm.withSeed(4);
+        ProbabilityMatch<Competitor> b = pm.withSeed(4);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(a.playIndices(n - 1, i), b.playIndices(n - 1, i));
+            assertEquals(a.playIndices(i, n - 1), b.playIndices(i, n - 1));
+        }
+    }
+
+    /* Check that invalid probabilities and unknown competitors are rejected */
+    @Test
+    void invalidArgumentsAreRejected() {
+        List<Competitor> cs = CachingMatchTest.createCompetitors(2);
+        double[][] zeros = new double[2][2];
+        assertThrows(IllegalArgumentException.class,
+            () -> new ProbabilityMatch<>(cs, new double[][] {{0, 0.7}, {0, 0}},
+                                         new double[][] {{0, 0.7}, {0, 0}}));
+        assertThrows(IllegalArgumentException.class,
+            () -> new ProbabilityMatch<>(cs, new double[1][1], zeros));
+        assertThrows(IllegalArgumentException.class,
+            () -> new ProbabilityMatch<>(cs, new double[] {1, 0}, 0));
+        assertThrows(IllegalArgumentException.class,
+            () -> new ProbabilityMatch<>(cs, new double[] {1, 1}, 1.5));
+        assertThrows(IllegalArgumentException.class,
+            () -> new ProbabilityMatch<>(List.of(cs.get(0), cs.get(0)), new double[] {1, 1}, 0));
+        ProbabilityMatch<Competitor> pm = new ProbabilityMatch<>(cs, zeros, zeros);
+        assertThrows(IllegalArgumentException.class,
+            () -> pm.playWith(cs.get(0), new Competitor("Stranger")));
+    }
+}
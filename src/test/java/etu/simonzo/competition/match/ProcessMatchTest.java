@@ -0,0 +1,107 @@
+package etu.simonzo.competition.match;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import etu.simonzo.competition.competitions.League;
+import etu.simonzo.competition.competitors.Competitor;
+
+public class ProcessMatchTest {
+
+    /* Check that outcomes are the ones given by the worker, including for
+     * names which need escaping */
+    @Test
+    void outcomesComeFromWorker() {
+        try (ProcessMatch<Competitor> pm = new ProcessMatch<>(standInCommand(), 1, 4)) {
+            Competitor a = new Competitor("A\tlpha\\");
+            Competitor b = new Competitor("B\nravo");
+            assertEquals(MatchOutcome.SECOND_PLAYER_WIN, pm.playWith(a, b));
+            assertEquals(MatchOutcome.FIRST_PLAYER_WIN, pm.playWith(b, a));
+            assertEquals(MatchOutcome.TIE, pm.playWith(a, new Competitor("A\tlpha\\")));
+        }
+    }
+
+    /* Check that many pipelined requests on several workers all get the
+     * outcome of their own match */
+    @Test
+    void pipelinedRequestsGetTheirOwnOutcome() {
+        List<Competitor> cs = CachingMatchTest.createCompetitors(30);
+        try (ProcessMatch<Competitor> pm = new ProcessMatch<>(standInCommand(), 2, 8)) {
+            assertEquals(2, pm.getPoolSize());
+            assertEquals(8, pm.getMaxPending());
+            List<CompletableFuture<MatchOutcome>> futures = new ArrayList<>();
+            for (Competitor c1 : cs) {
+                for (Competitor c2 : cs) {
+                    futures.add(pm.playAsync(c1, c2));
+                }
+            }
+            int k = 0;
+            for (Competitor c1 : cs) {
+                for (Competitor c2 : cs) {
+                    int cmp = c1.getName().compareTo(c2.getName());
+                    MatchOutcome expected = cmp > 0 ? MatchOutcome.FIRST_PLAYER_WIN
+                        : cmp < 0 ? MatchOutcome.SECOND_PLAYER_WIN : MatchOutcome.TIE;
+                    assertEquals(expected, futures.get(k++).join());
+                }
+            }
+        }
+    }
+
+    /* Check that a league can be played through a pool of workers with
+     * matches in flight */
+    @Test
+    void leagueIsPlayedThroughWorkers() {
+        List<Competitor> cs = CachingMatchTest.createCompetitors(6);
+        try (ProcessMatch<Competitor> pm = new ProcessMatch<>(standInCommand(), 2, 4)) {
+            League<Competitor> league = new League<>(pm, cs, "League", 3, 0, 1);
+            league.setMaxInFlight(8);
+            league.play();
+            Map<Competitor, Integer> ranking = league.ranking();
+            assertEquals(0, ranking.get(cs.get(0)));
+            assertEquals(Collections.max(ranking.values()), ranking.get(cs.get(5)));
+            assertTrue(ranking.get(cs.get(5)) > ranking.get(cs.get(4)));
+        }
+    }
+
+    /* Check that a crashed worker fails its match and is restarted for the
+     * next ones */
+    @Test
+    void crashedWorkerIsRestarted() {
+        Competitor a = new Competitor("A");
+        Competitor b = new Competitor("B");
+        try (ProcessMatch<Competitor> pm = new ProcessMatch<>(standInCommand(), 1, 4)) {
+            assertEquals(MatchOutcome.FIRST_PLAYER_WIN, pm.playWith(b, a));
+            assertThrows(UncheckedIOException.class, () -> pm.playWith(a, new Competitor("crash")));
+            assertEquals(MatchOutcome.SECOND_PLAYER_WIN, pm.playWith(a, b));
+            assertEquals(1, pm.getNbRestarts());
+        }
+    }
+
+    /* Check that invalid tunables are rejected, and that a closed match cannot
+     * be played */
+    @Test
+    void invalidUsesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ProcessMatch<>(List.of(), 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ProcessMatch<>(standInCommand(), 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ProcessMatch<>(standInCommand(), 1, 0));
+        ProcessMatch<Competitor> pm = new ProcessMatch<>(standInCommand(), 1, 1);
+        pm.close();
+        assertThrows(IllegalStateException.class,
+            () -> pm.playWith(new Competitor("A"), new Competitor("B")));
+    }
+
+    static List<String> standInCommand() {
+        return List.of(Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                       "-cp", System.getProperty("java.class.path"),
+                       StandInWorker.class.getName());
+    }
+}
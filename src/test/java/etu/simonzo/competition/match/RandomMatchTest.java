@@ -2,9 +2,16 @@ package etu.simonzo.competition.match;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.junit.jupiter.api.Test;
 
+import etu.simonzo.competition.competitions.League;
 import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.fixtures.Fixture;
 
 public class RandomMatchTest {
 
@@ -20,4 +27,184 @@ public class RandomMatchTest {
                    ret == MatchOutcome.SECOND_PLAYER_WIN);
     }
 
+    /* Check that two matches with the same seed give the same outcomes, and
+     * that each competitor wins about half of the time */
+    @Test
+    void sameSeedGivesSameOutcomes() {
+        List<Competitor> competitors = createCompetitors(40);
+        RandomMatch<Competitor> m1 = new RandomMatch<>(competitors, 42);
+        RandomMatch<Competitor> m2 = new RandomMatch<>(competitors, 42);
+        int firstWins = 0;
+        int nbMatches = 0;
+        for (Competitor c1 : competitors) {
+            for (Competitor c2 : competitors) {
+                MatchOutcome outcome = m1.playWith(c1, c2);
+                assertEquals(outcome, m2.playWith(c1, c2));
+                assertNotEquals(MatchOutcome.TIE, outcome);
+                if (outcome == MatchOutcome.FIRST_PLAYER_WIN) {
+                    firstWins++;
+                }
+                nbMatches++;
+            }
+        }
+        assertTrue(firstWins > 0.45 * nbMatches && firstWins < 0.55 * nbMatches);
+    }
+
+    /* Check that split streams give outcomes different from each other, and
+     * reproducible */
+    @Test
+    void splitStreamsAreIndependentAndReproducible() {
+        List<Competitor> competitors = createCompetitors(20);
+        RandomMatch<Competitor> match = new RandomMatch<>(competitors, 7);
+        RandomMatch<Competitor> s1 = match.split(1);
+        RandomMatch<Competitor> s2 = match.split(2);
+        RandomMatch<Competitor> s1Again = new RandomMatch<>(competitors, 7).split(1);
+        int differences = 0;
+        for (Competitor c1 : competitors) {
+            for (Competitor c2 : competitors) {
+                MatchOutcome outcome = s1.playWith(c1, c2);
+                assertEquals(outcome, s1Again.playWith(c1, c2));
+                if (outcome != s2.playWith(c1, c2)) {
+                    differences++;
+                }
+            }
+        }
+        assertTrue(differences > 0);
+    }
+
+    /* Check that a seeded league ends with the same ranking whether it is
+     * played sequentially or concurrently */
+    @Test
+    void seededLeagueIsReproducibleConcurrently() {
+        List<Competitor> competitors = createCompetitors(30);
+        League<Competitor> sequential = new League<>(
+            new RandomMatch<>(competitors, 123), competitors, "Sequential", 3, 0, 1);
+        League<Competitor> concurrent = new League<>(
+            new RandomMatch<>(competitors, 123), competitors, "Concurrent", 3, 0, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        concurrent.setExecutor(executor);
+
+        sequential.play();
+        concurrent.play();
+        executor.shutdown();
+
+        assertEquals(sequential.ranking(), concurrent.ranking());
+    }
+
+    /* Check that distinct competitors sharing a name get independent
+     * outcomes, and that an unknown competitor cannot play a seeded match */
+    @Test
+    void sameNameCompetitorsAreIndependent() {
+        List<Competitor> competitors = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            competitors.add(new Competitor("Twin"));
+        }
+        RandomMatch<Competitor> match = new RandomMatch<>(competitors, 11);
+        Competitor first = competitors.get(0);
+        int firstWins = 0;
+        for (Competitor opponent : competitors.subList(1, competitors.size())) {
+            if (match.playWith(first, opponent) == MatchOutcome.FIRST_PLAYER_WIN) {
+                firstWins++;
+            }
+        }
+        assertTrue(firstWins > 0 && firstWins < competitors.size() - 1);
+        assertThrows(IllegalArgumentException.class,
+                     () -> match.playWith(first, new Competitor("Twin")));
+    }
+
+    /* Check that rematches between the same competitors get their own
+     * outcomes, which are reproducible with the same seed */
+    @Test
+    void rematchesGetNewOutcomes() {
+        List<Competitor> competitors = createCompetitors(2);
+        Competitor c1 = competitors.get(0);
+        Competitor c2 = competitors.get(1);
+        RandomMatch<Competitor> m1 = new RandomMatch<>(competitors, 3);
+        RandomMatch<Competitor> m2 = new RandomMatch<>(competitors, 3);
+        int firstWins = 0;
+        for (int k = 0; k < 200; k++) {
+            MatchOutcome outcome = m1.playWith(c1, c2);
+            assertEquals(outcome, m2.playWith(c1, c2));
+            if (outcome == MatchOutcome.FIRST_PLAYER_WIN) {
+                firstWins++;
+            }
+        }
+        assertTrue(firstWins > 60 && firstWins < 140);
+    }
+
+    /* Check that a seeded match between more competitors than a table of
+     * all pairs could hold can be created and played */
+    @Test
+    void seededMatchScalesToManyCompetitors() {
+        List<Competitor> competitors = createCompetitors(70000);
+        RandomMatch<Competitor> match = new RandomMatch<>(competitors, 17);
+        RandomMatch<Competitor> again = new RandomMatch<>(competitors, 17);
+        Competitor last = competitors.get(competitors.size() - 1);
+        for (Competitor competitor : competitors.subList(0, 1000)) {
+            assertEquals(match.playWith(last, competitor), again.playWith(last, competitor));
+            assertEquals(match.playWith(competitor, last), again.playWith(competitor, last));
+        }
+    }
+
+    /* Check that buffered matches and batches of unseeded matches give both
+     * outcomes about half of the time, and never a tie */
+    @Test
+    void bulkOutcomesAreBalanced() {
+        Competitor c1 = new Competitor("Alpha");
+        Competitor c2 = new Competitor("Bravo");
+        RandomMatch<Competitor> buffered = new RandomMatch<>(true);
+        int firstWins = 0;
+        for (int k = 0; k < 10000; k++) {
+            MatchOutcome outcome = buffered.playWith(c1, c2);
+            assertNotEquals(MatchOutcome.TIE, outcome);
+            if (outcome == MatchOutcome.FIRST_PLAYER_WIN) {
+                firstWins++;
+            }
+        }
+        assertTrue(firstWins > 4500 && firstWins < 5500);
+
+        List<Fixture<Competitor>> fixtures = new ArrayList<>();
+        for (int k = 0; k < 10000; k++) {
+            fixtures.add(new Fixture<>(c1, c2));
+        }
+        MatchOutcome[] outcomes = new RandomMatch<Competitor>().playAll(fixtures);
+        assertEquals(10000, outcomes.length);
+        firstWins = 0;
+        for (MatchOutcome outcome : outcomes) {
+            assertNotEquals(MatchOutcome.TIE, outcome);
+            if (outcome == MatchOutcome.FIRST_PLAYER_WIN) {
+                firstWins++;
+            }
+        }
+        assertTrue(firstWins > 4500 && firstWins < 5500);
+    }
+
+    /* Check that a seeded batch gives the same outcomes as matches played one
+     * by one */
+    @Test
+    void seededBatchMatchesSingleMatches() {
+        List<Competitor> competitors = createCompetitors(10);
+        RandomMatch<Competitor> match = new RandomMatch<>(competitors, 5);
+        RandomMatch<Competitor> single = new RandomMatch<>(competitors, 5);
+        List<Fixture<Competitor>> fixtures = new ArrayList<>();
+        for (Competitor c1 : competitors) {
+            for (Competitor c2 : competitors) {
+                fixtures.add(new Fixture<>(c1, c2));
+            }
+        }
+        MatchOutcome[] outcomes = match.playAll(fixtures);
+        for (int k = 0; k < outcomes.length; k++) {
+            Fixture<Competitor> fixture = fixtures.get(k);
+            assertEquals(single.playWith(fixture.getCompetitor1(), fixture.getCompetitor2()),
+                         outcomes[k]);
+        }
+    }
+
+    private static List<Competitor> createCompetitors(int n) {
+        List<Competitor> competitors = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            competitors.add(new Competitor("Competitor " + i));
+        }
+        return competitors;
+    }
 }
@@ -0,0 +1,61 @@
+package etu.simonzo.competition.match;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A stand-in for a match engine, speaking the protocol of ProcessMatch. The
+ * competitor whose name comes last in alphabetical order wins, and equal
+ * names tie. Requests are answered by a few threads after a random delay, so
+ * that responses come in any order. A competitor named "crash" makes the
+ * worker exit at once.
+ */
+public class StandInWorker {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        PrintStream out = new PrintStream(System.out, true, "UTF-8");
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        String line;
+        while ((line = in.readLine()) != null) {
+            String[] fields = line.split("\t", -1);
+            String id = fields[0];
+            String name1 = unescape(fields[1]);
+            String name2 = unescape(fields[2]);
+            if (name1.equals("crash") || name2.equals("crash")) {
+                System.exit(3);
+            }
+            pool.execute(() -> {
+                    try {
+                        Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    int cmp = name1.compareTo(name2);
+                    out.println(id + "\t" + (cmp > 0 ? "1" : cmp < 0 ? "2" : "0"));
+                });
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    static String unescape(String field) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '\\') {
+                c = field.charAt(++i);
+                c = c == 't' ? '\t' : c == 'n' ? '\n' : c == 'r' ? '\r' : c;
+            }
+            name.append(c);
+        }
+        return name.toString();
+    }
+}
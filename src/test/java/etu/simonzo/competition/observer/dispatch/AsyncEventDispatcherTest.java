@@ -0,0 +1,135 @@
+package etu.simonzo.competition.observer.dispatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+class AsyncEventDispatcherTest {
+
+    /* Check that deliveries are run in the order they were dispatched, and
+     * that none is lost with the BLOCK policy */
+    @Test
+    public void blockPolicyRunsEveryDeliveryInOrder() {
+        List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        try (AsyncEventDispatcher dispatcher = new AsyncEventDispatcher(4, OverflowPolicy.BLOCK)) {
+            for (int i = 0; i < 1000; i++) {
+                final int n = i;
+                dispatcher.dispatch(() -> delivered.add(n), true);
+            }
+            dispatcher.awaitDrained();
+
+            assertEquals(1000, delivered.size());
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(i, delivered.get(i));
+            }
+            assertEquals(0, dispatcher.getNbDiscarded());
+        }
+    }
+
+    /* Check that, with the DROP policy, discardable deliveries are dropped
+     * when the buffer is full, but the other ones are not */
+    @Test
+    public void dropPolicyKeepsOldestAndEssentialDeliveries() throws InterruptedException {
+        List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (AsyncEventDispatcher dispatcher = new AsyncEventDispatcher(2, OverflowPolicy.DROP)) {
+            dispatcher.dispatch(() -> block(started, release), false);
+            started.await();
+            for (int i = 0; i < 5; i++) {
+                final int n = i;
+                dispatcher.dispatch(() -> delivered.add(n), true);
+            }
+            release.countDown();
+            dispatcher.dispatch(() -> delivered.add(100), false);
+            dispatcher.awaitDrained();
+
+            assertEquals(List.of(0, 1, 100), delivered);
+            assertEquals(3, dispatcher.getNbDiscarded());
+        }
+    }
+
+    /* Check that, with the REPLACE_NEWEST policy, the newest pending delivery
+     * is replaced, so that the most recent delivery is always run */
+    @Test
+    public void replaceNewestPolicyKeepsNewestDelivery() throws InterruptedException {
+        List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (AsyncEventDispatcher dispatcher = new AsyncEventDispatcher(2, OverflowPolicy.REPLACE_NEWEST)) {
+            dispatcher.dispatch(() -> block(started, release), false);
+            started.await();
+            for (int i = 0; i < 5; i++) {
+                final int n = i;
+                dispatcher.dispatch(() -> delivered.add(n), true);
+            }
+            release.countDown();
+            dispatcher.awaitDrained();
+
+            assertEquals(List.of(0, 4), delivered);
+            assertEquals(3, dispatcher.getNbDiscarded());
+        }
+    }
+
+    /* Check that an exception thrown by a delivery does not stop the
+     * following ones, and is rethrown once by awaitDrained */
+    @Test
+    public void failureIsRethrownByAwaitDrained() {
+        List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        try (AsyncEventDispatcher dispatcher = new AsyncEventDispatcher(8, OverflowPolicy.BLOCK)) {
+            dispatcher.dispatch(() -> { throw new UnsupportedOperationException(); }, false);
+            dispatcher.dispatch(() -> delivered.add(1), false);
+
+            assertThrows(UnsupportedOperationException.class, dispatcher::awaitDrained);
+            dispatcher.awaitDrained();
+            assertEquals(List.of(1), delivered);
+        }
+    }
+
+    /* Check that an error thrown by a delivery does not stop the consumer
+     * thread, is rethrown by awaitDrained, and lets the dispatcher close */
+    @Test
+    public void errorIsRethrownByAwaitDrained() {
+        List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        AsyncEventDispatcher dispatcher = new AsyncEventDispatcher(8, OverflowPolicy.BLOCK);
+        dispatcher.dispatch(() -> { throw new AssertionError("listener failed"); }, false);
+        dispatcher.dispatch(() -> delivered.add(1), false);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                assertThrows(AssertionError.class, dispatcher::awaitDrained);
+                dispatcher.dispatch(() -> delivered.add(2), false);
+                dispatcher.awaitDrained();
+                dispatcher.close();
+            });
+        assertEquals(List.of(1, 2), delivered);
+    }
+
+    /* Check that a closed dispatcher refuses deliveries, and that the
+     * capacity must be positive */
+    @Test
+    public void invalidUsesThrow() {
+        AsyncEventDispatcher dispatcher = new AsyncEventDispatcher(1, OverflowPolicy.BLOCK);
+        dispatcher.close();
+        dispatcher.close();
+
+        assertThrows(IllegalStateException.class, () -> dispatcher.dispatch(() -> {}, false));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new AsyncEventDispatcher(0, OverflowPolicy.DROP));
+    }
+
+    /* Delivery which waits until it is released */
+    private static void block(CountDownLatch started, CountDownLatch release) {
+        started.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package etu.simonzo.competition.observer.listener;
 
+import java.util.ArrayList;
+import java.util.EventObject;
+import java.util.List;
+
 import etu.simonzo.competition.observer.event.*;
 import etu.simonzo.competition.competitors.Competitor;
 
@@ -12,30 +16,45 @@ public class CompetitionListenerMock<T extends Competitor> implements Competitio
         this.nbCallsGroupsFormed = 0;
         this.nbCallsQualifiedCompetitorsSelected = 0;
         this.nbCallsTournamentPhaseStarted = 0;
+        this.nbCallsRoundStarted = 0;
+        this.matchEvents = new ArrayList<>();
+        this.events = new ArrayList<>();
     }
 
     public void matchPlayed(MatchEvent<T> event) {
         this.nbCallsMatchPlayed++;
+        this.events.add(event);
+        this.matchEvents.add(event);
     }
 
     public void competitionStarted(CompetitionStartEvent<T> event) {
         this.nbCallsCompetitionStarted++;
+        this.events.add(event);
     }
 
     public void competitionEnded(CompetitionEndEvent<T> event) {
         this.nbCallsCompetitionEnded++;
+        this.events.add(event);
     }
 
     public void groupsFormed(GroupsFormedEvent<T> event) {
         this.nbCallsGroupsFormed++;
+        this.events.add(event);
     }
 
     public void qualifiedCompetitorsSelected(QualifiedCompetitorsSelectedEvent<T> event) {
         this.nbCallsQualifiedCompetitorsSelected++;
+        this.events.add(event);
     }
 
     public void tournamentPhaseStarted(TournamentPhaseStartedEvent<T> event) {
         this.nbCallsTournamentPhaseStarted++;
+        this.events.add(event);
+    }
+
+    public void roundStarted(RoundStartedEvent<T> event) {
+        this.nbCallsRoundStarted++;
+        this.events.add(event);
     }
 
     public int nbCallsMatchPlayed;
@@ -50,4 +69,10 @@ public class CompetitionListenerMock<T extends Competitor> implements Competitio
 
     public int nbCallsTournamentPhaseStarted;
 
+    public int nbCallsRoundStarted;
+
+    public List<MatchEvent<T>> matchEvents;
+
+    public List<EventObject> events;
+
 }
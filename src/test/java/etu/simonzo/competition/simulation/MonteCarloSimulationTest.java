@@ -0,0 +1,179 @@
+package etu.simonzo.competition.simulation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import etu.simonzo.competition.competitions.League;
+import etu.simonzo.competition.competitions.Master;
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.match.Match;
+import etu.simonzo.competition.match.MatchMock;
+import etu.simonzo.competition.match.MatchOutcome;
+import etu.simonzo.competition.strategies.filter.TakeNFirstFilteringStrategy;
+import etu.simonzo.competition.strategies.group.MakeNGroupsStrategy;
+import etu.simonzo.competition.strategies.sort.ArbitrarySortingStrategy;
+
+class MonteCarloSimulationTest {
+
+    /* Check that with a deterministic match, every run ends the same way, so
+     * probabilities are 0 or 1 and expected points are the points of a single
+     * run */
+    @Test
+    public void deterministicRunsGiveCertainOutcome() {
+        List<Competitor> competitors = createCompetitors(6);
+        League<Competitor> reference = createLeague(competitors);
+        reference.play();
+        MonteCarloSimulation<Competitor> simulation =
+            new MonteCarloSimulation<>(competitors, run -> createLeague(competitors));
+
+        SimulationReport<Competitor> report = simulation.run(50);
+
+        assertEquals(50, report.getNbRuns());
+        for (Competitor c : competitors) {
+            assertEquals(reference.ranking().get(c), report.getExpectedPoints(c), 1e-9);
+            long[] histogram = report.getPositionHistogram(c);
+            assertEquals(competitors.size(), histogram.length);
+            long total = 0;
+            for (long count : histogram) {
+                assertTrue(count == 0 || count == 50);
+                total += count;
+            }
+            assertEquals(50, total);
+            assertEquals(histogram[0] == 50 ? 1.0 : 0.0, report.getWinProbability(c));
+        }
+    }
+
+    /* Check that ties share their position, and that every tied competitor
+     * wins */
+    @Test
+    public void tiedCompetitorsShareFirstPosition() {
+        List<Competitor> competitors = createCompetitors(4);
+        MonteCarloSimulation<Competitor> simulation = new MonteCarloSimulation<>(
+            competitors, run -> new League<>(new MatchMock<>(MatchOutcome.TIE), competitors,
+                                             "League " + run, 3, 0, 1));
+
+        SimulationReport<Competitor> report = simulation.run(10);
+
+        for (Competitor c : competitors) {
+            assertEquals(1.0, report.getWinProbability(c));
+            assertEquals(6.0, report.getExpectedPoints(c));
+            assertEquals(10, report.getPositionHistogram(c)[0]);
+        }
+    }
+
+    /* Check that competitors missing from the final ranking of a master share
+     * the position after the last ranked competitor */
+    @Test
+    public void eliminatedCompetitorsShareLastPosition() {
+        List<Competitor> competitors = createCompetitors(16);
+        MonteCarloSimulation<Competitor> simulation = new MonteCarloSimulation<>(
+            competitors, run -> new Master<>(nameMatch(), competitors, "Master " + run,
+                                new MakeNGroupsStrategy(4),
+                                new TakeNFirstFilteringStrategy(2),
+                                new ArbitrarySortingStrategy(), 3, 0, 1));
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        simulation.setExecutor(executor);
+
+        SimulationReport<Competitor> report = simulation.run(7);
+        executor.shutdown();
+
+        long eliminated = 0;
+        double wins = 0;
+        for (Competitor c : competitors) {
+            eliminated += report.getPositionHistogram(c)[8];
+            wins += report.getWinProbability(c);
+        }
+        assertEquals(7 * 8, eliminated);
+        assertEquals(1.0, wins, 1e-9);
+    }
+
+    /* Check that a competition reused by each thread gives the statistics of
+     * fresh competitions, while being built at most once per task */
+    @Test
+    public void reusedCompetitionsGiveSameStatistics() {
+        List<Competitor> competitors = createCompetitors(6);
+        AtomicInteger built = new AtomicInteger();
+        MonteCarloSimulation<Competitor> fresh =
+            new MonteCarloSimulation<>(competitors, run -> createLeague(competitors));
+        MonteCarloSimulation<Competitor> reused = new MonteCarloSimulation<>(competitors, () -> {
+            built.incrementAndGet();
+            return createLeague(competitors);
+        });
+
+        SimulationReport<Competitor> expected = fresh.run(100);
+        SimulationReport<Competitor> report = reused.run(100);
+
+        assertTrue(built.get() <= Runtime.getRuntime().availableProcessors());
+        assertEquals(100, report.getNbRuns());
+        for (Competitor c : competitors) {
+            assertEquals(expected.getExpectedPoints(c), report.getExpectedPoints(c), 1e-9);
+            assertArrayEquals(expected.getPositionHistogram(c), report.getPositionHistogram(c));
+        }
+    }
+
+    /* Check that a master can be reset and played again, and that its second
+     * play ends like the first one */
+    @Test
+    public void reusedMasterGivesSameStatistics() {
+        List<Competitor> competitors = createCompetitors(16);
+        MonteCarloSimulation<Competitor> simulation = new MonteCarloSimulation<>(
+            competitors, () -> new Master<>(nameMatch(), competitors, "Master",
+                               new MakeNGroupsStrategy(4),
+                               new TakeNFirstFilteringStrategy(2),
+                               new ArbitrarySortingStrategy(), 3, 0, 1));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        simulation.setExecutor(executor);
+
+        SimulationReport<Competitor> report = simulation.run(5);
+        executor.shutdown();
+
+        double wins = 0;
+        for (Competitor c : competitors) {
+            double win = report.getWinProbability(c);
+            assertTrue(win == 0.0 || win == 1.0);
+            wins += win;
+        }
+        assertEquals(1.0, wins, 1e-9);
+    }
+
+    /* Check that the number of runs cannot be negative, and that statistics
+     * cannot be asked for an unknown competitor */
+    @Test
+    public void invalidArgumentsThrow() {
+        List<Competitor> competitors = createCompetitors(4);
+        MonteCarloSimulation<Competitor> simulation =
+            new MonteCarloSimulation<>(competitors, run -> createLeague(competitors));
+
+        assertThrows(IllegalArgumentException.class, () -> simulation.run(-1));
+        SimulationReport<Competitor> report = simulation.run(0);
+        assertEquals(0.0, report.getWinProbability(competitors.get(0)));
+        assertThrows(IllegalArgumentException.class,
+                     () -> report.getExpectedPoints(new Competitor("Stranger")));
+    }
+
+    private static League<Competitor> createLeague(List<Competitor> competitors) {
+        return new League<>(nameMatch(), competitors, "League", 3, 0, 1);
+    }
+
+    /* Match won by the competitor whose name comes first, which can be played
+     * from several threads */
+    private static Match<Competitor> nameMatch() {
+        return (c1, c2) -> c1.getName().compareTo(c2.getName()) < 0 ?
+            MatchOutcome.FIRST_PLAYER_WIN : MatchOutcome.SECOND_PLAYER_WIN;
+    }
+
+    private static List<Competitor> createCompetitors(int n) {
+        List<Competitor> competitors = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            competitors.add(new Competitor("Competitor " + i));
+        }
+        return competitors;
+    }
+}
@@ -0,0 +1,155 @@
+package etu.simonzo.competition.strategies.retention;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import etu.simonzo.competition.competitors.Competitor;
+import etu.simonzo.competition.match.MatchOutcome;
+import etu.simonzo.competition.ranking.ColumnarResultLog;
+import etu.simonzo.competition.ranking.IndexedRankingHandler;
+import etu.simonzo.competition.ranking.RankingHandler;
+import etu.simonzo.competition.ranking.Result;
+import etu.simonzo.competition.ranking.SimpleRankingHandler;
+import etu.simonzo.competition.ranking.SimpleResult;
+import etu.simonzo.competition.ranking.SpilledResultLog;
+
+class RetentionStrategyTest {
+
+    private Competitor a, b, c;
+    private List<Competitor> competitors;
+    private List<Result<Competitor>> results;
+
+    @BeforeEach
+    void setUp() {
+        a = new Competitor("A");
+        b = new Competitor("B");
+        c = new Competitor("C");
+        competitors = List.of(a, b, c);
+        results = new ArrayList<>();
+        MatchOutcome[] outcomes = MatchOutcome.values();
+        for (int i = 0; i < 10000; i++) {
+            results.add(new SimpleResult<>(competitors.get(i % 3), competitors.get((i + 1) % 3),
+                                           outcomes[i % outcomes.length]));
+        }
+    }
+
+    /* Check that every result is kept by default */
+    @Test
+    public void keepAllKeepsEveryResult() {
+        RankingHandler<Competitor> handler = addAll(
+            new IndexedRankingHandler<>(competitors, new KeepAllRetentionStrategy(), 3, 0, 1));
+        assertEquals(results, new ArrayList<>(handler.getResults()));
+    }
+
+    /* Check that no result is kept, but that scores are the same */
+    @Test
+    public void keepNoneKeepsScoresOnly() {
+        RankingHandler<Competitor> all = addAll(new SimpleRankingHandler<>(competitors, 3, 0, 1));
+        RankingHandler<Competitor> none = addAll(
+            new SimpleRankingHandler<>(competitors, new KeepNoneRetentionStrategy(), 3, 0, 1));
+        assertTrue(none.getResults().isEmpty());
+        assertEquals(all.getRanking(), none.getRanking());
+    }
+
+    /* Check that only the most recent results are kept, from the oldest to
+     * the newest */
+    @Test
+    public void keepRecentKeepsLastResultsInOrder() {
+        RankingHandler<Competitor> handler = addAll(
+            new IndexedRankingHandler<>(competitors, new KeepRecentRetentionStrategy(7), 3, 0, 1));
+        assertEquals(results.subList(results.size() - 7, results.size()),
+                     new ArrayList<>(handler.getResults()));
+        assertThrows(IllegalArgumentException.class, () -> new KeepRecentRetentionStrategy(0));
+    }
+
+    /* Check that results written to a file are read back in order */
+    @Test
+    public void spillToFileReadsResultsBack(@TempDir Path dir) {
+        RankingHandler<Competitor> handler = addAll(new IndexedRankingHandler<>(
+            competitors, new SpillToFileRetentionStrategy(dir.resolve("results")), 3, 0, 1));
+        Collection<Result<Competitor>> spilled = handler.getResults();
+
+        assertEquals(results.size(), spilled.size());
+        int i = 0;
+        for (Result<Competitor> r : spilled) {
+            assertSame(results.get(i).getCompetitor1(), r.getCompetitor1());
+            assertSame(results.get(i).getCompetitor2(), r.getCompetitor2());
+            assertEquals(results.get(i).getOutcome(), r.getOutcome());
+            i++;
+        }
+        assertEquals(results.size(), i);
+    }
+
+    /* Check that an iteration over spilled results given up early holds no
+     * handle on the file, and that the log shares the index of the handler */
+    @Test
+    public void spillToFileIterationCanStopEarly(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("results");
+        IndexedRankingHandler<Competitor> handler = new IndexedRankingHandler<>(
+            competitors, new SpillToFileRetentionStrategy(file), 3, 0, 1);
+        addAll(handler);
+        SpilledResultLog<Competitor> log = (SpilledResultLog<Competitor>) handler.getResults();
+        assertSame(handler.getIndex(), log.getIndex());
+
+        for (int k = 0; k < 3; k++) {
+            Iterator<Result<Competitor>> iterator = log.iterator();
+            assertEquals(results.get(0).getOutcome(), iterator.next().getOutcome());
+            assertEquals(results.get(1).getOutcome(), iterator.next().getOutcome());
+        }
+
+        Path descriptors = Paths.get("/proc/self/fd");
+        Assumptions.assumeTrue(Files.isDirectory(descriptors));
+        try (Stream<Path> open = Files.list(descriptors)) {
+            assertFalse(open.anyMatch(fd -> {
+                try {
+                    return Files.readSymbolicLink(fd).equals(file.toRealPath());
+                } catch (IOException e) {
+                    return false;
+                }
+            }));
+        }
+    }
+
+    /* Check that every result is kept in columns, and read back in order
+     * through views and through the columns */
+    @Test
+    public void keepAllColumnarKeepsEveryResultInOrder() {
+        RankingHandler<Competitor> handler = addAll(new IndexedRankingHandler<>(
+            competitors, new KeepAllColumnarRetentionStrategy(), 3, 0, 1));
+        ColumnarResultLog<Competitor> log = (ColumnarResultLog<Competitor>) handler.getResults();
+
+        assertEquals(results.size(), log.size());
+        int i = 0;
+        for (Result<Competitor> r : log) {
+            assertSame(results.get(i).getCompetitor1(), r.getCompetitor1());
+            assertSame(results.get(i).getCompetitor2(), r.getCompetitor2());
+            assertEquals(results.get(i).getOutcome(), r.getOutcome());
+            assertEquals(results.get(i).getOutcome(), log.getOutcome(i));
+            assertSame(results.get(i).getCompetitor1(),
+                       log.getIndex().get(log.getCompetitor1Index(i)));
+            i++;
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> log.get(results.size()));
+    }
+
+    private RankingHandler<Competitor> addAll(RankingHandler<Competitor> handler) {
+        for (Result<Competitor> r : results) {
+            handler.addResult(r);
+        }
+        return handler;
+    }
+}